@@ -0,0 +1,219 @@
+package org.example.analytics;
+
+import org.example.entities.Course;
+import org.example.entities.EnrollmentListener;
+import org.example.entities.Student;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Live "hottest courses" board fed by enrollment events.
+ * <p>
+ * Each {@link Metric} has its own top-K set ordered in a {@link TreeSet}, so an event
+ * costs O(log K) under a short per-metric lock. Readers never lock: {@link #top(Metric)}
+ * returns the last published immutable snapshot and only republishes when it can take the
+ * lock without waiting. Enrollment counts and fill rates only grow, so their boards ignore
+ * offers below a course's listed value: counters are read outside the board lock and a
+ * concurrent enrollment may offer its older, lower value last. This keeps their top-K exact;
+ * the per-minute rate decays over time and is recomputed by {@link #refresh()}.
+ */
+public class CourseLeaderboard implements EnrollmentListener {
+
+    private static final int WINDOW_SECONDS = 60;
+
+    /**
+     * Ranking criteria of the board.
+     */
+    public enum Metric {
+        ENROLLMENTS,
+        FILL_RATE,
+        ENROLLMENTS_PER_MINUTE
+    }
+
+    /**
+     * One course on the board with its metric value.
+     */
+    public record Ranking(Course course, double value) {
+    }
+
+    private final int k;
+    private final ToIntFunction<Course> capacity;
+    private final LongSupplier clockMillis;
+    private final Map<Course, CourseStats> stats = new ConcurrentHashMap<>();
+    private final EnumMap<Metric, TopK> boards = new EnumMap<>(Metric.class);
+
+    public CourseLeaderboard(int k, ToIntFunction<Course> capacity) {
+        this(k, capacity, System::currentTimeMillis);
+    }
+
+    public CourseLeaderboard(int k, ToIntFunction<Course> capacity, LongSupplier clockMillis) {
+        if (k <= 0) throw new IllegalArgumentException("k must be positive.");
+        this.k = k;
+        this.capacity = Objects.requireNonNull(capacity, "Capacity function cannot be null");
+        this.clockMillis = Objects.requireNonNull(clockMillis, "Clock cannot be null");
+        for (Metric m : Metric.values()) boards.put(m, new TopK(k, m != Metric.ENROLLMENTS_PER_MINUTE));
+    }
+
+    /**
+     * Seeds the board with the current enrollment counts of {@code courses}.
+     */
+    public void addCourses(Collection<Course> courses) {
+        for (Course c : courses) {
+            CourseStats s = statsOf(c);
+            s.enrollments.set(c.getEnrollmentCount());
+            boards.get(Metric.ENROLLMENTS).offer(c, s.enrollments.get());
+            boards.get(Metric.FILL_RATE).offer(c, fillRate(c, s.enrollments.get()));
+        }
+    }
+
+    @Override
+    public void studentEnrolled(Course course, Student student) {
+        long second = clockMillis.getAsLong() / 1000;
+        CourseStats s = statsOf(course);
+        int enrolled = s.enrollments.incrementAndGet();
+        int perMinute = s.record(second);
+
+        boards.get(Metric.ENROLLMENTS).offer(course, enrolled);
+        boards.get(Metric.FILL_RATE).offer(course, fillRate(course, enrolled));
+        boards.get(Metric.ENROLLMENTS_PER_MINUTE).offer(course, perMinute);
+    }
+
+    /**
+     * Returns the current top-K for {@code metric}, best first. Never blocks.
+     */
+    public List<Ranking> top(Metric metric) {
+        return boards.get(metric).snapshot();
+    }
+
+    /**
+     * Rebuilds the per-minute board so that courses without recent enrollments drop out.
+     * Meant to be called by the board's refresh timer, e.g. once per second.
+     */
+    public void refresh() {
+        long second = clockMillis.getAsLong() / 1000;
+        TopK rebuilt = new TopK(k, false);
+        stats.forEach((course, s) -> rebuilt.offer(course, s.perMinute(second)));
+        boards.get(Metric.ENROLLMENTS_PER_MINUTE).replaceWith(rebuilt);
+    }
+
+    private CourseStats statsOf(Course course) {
+        return stats.computeIfAbsent(course, c -> new CourseStats());
+    }
+
+    private double fillRate(Course course, int enrolled) {
+        int max = capacity.applyAsInt(course);
+        return max <= 0 ? 0.0 : (double) enrolled / max;
+    }
+
+    /**
+     * Enrollment count plus a ring of per-second counters for the sliding window.
+     */
+    private static final class CourseStats {
+        private final AtomicInteger enrollments = new AtomicInteger();
+        private final long[] slotSeconds = new long[WINDOW_SECONDS];
+        private final int[] slotCounts = new int[WINDOW_SECONDS];
+
+        synchronized int record(long second) {
+            int slot = (int) (second % WINDOW_SECONDS);
+            if (slotSeconds[slot] != second) {
+                slotSeconds[slot] = second;
+                slotCounts[slot] = 0;
+            }
+            slotCounts[slot]++;
+            return perMinute(second);
+        }
+
+        synchronized int perMinute(long second) {
+            int total = 0;
+            for (int i = 0; i < WINDOW_SECONDS; i++) {
+                if (second - slotSeconds[i] < WINDOW_SECONDS) total += slotCounts[i];
+            }
+            return total;
+        }
+    }
+
+    /**
+     * Bounded ordered set of the K best courses with a lock-free published snapshot.
+     */
+    private static final class TopK {
+        private final int k;
+        private final boolean monotonic;
+        private final TreeSet<Entry> entries = new TreeSet<>();
+        private final Map<Course, Entry> members = new HashMap<>();
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile List<Ranking> published = List.of();
+        private volatile boolean dirty;
+        private long sequence;
+
+        /**
+         * @param monotonic whether values only grow; lower offers for a listed course are then
+         *                  stale (computed before a concurrent higher one) and ignored
+         */
+        TopK(int k, boolean monotonic) {
+            this.k = k;
+            this.monotonic = monotonic;
+        }
+
+        void offer(Course course, double value) {
+            lock.lock();
+            try {
+                Entry current = members.get(course);
+                if (current != null) {
+                    if (current.value == value || (monotonic && value < current.value)) return;
+                    entries.remove(current);
+                } else if (entries.size() >= k) {
+                    Entry worst = entries.last();
+                    if (value <= worst.value) return;
+                    entries.pollLast();
+                    members.remove(worst.course);
+                }
+                Entry entry = new Entry(course, value, sequence++);
+                entries.add(entry);
+                members.put(course, entry);
+                dirty = true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void replaceWith(TopK other) {
+            lock.lock();
+            try {
+                entries.clear();
+                members.clear();
+                entries.addAll(other.entries);
+                members.putAll(other.members);
+                dirty = true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        List<Ranking> snapshot() {
+            if (dirty && lock.tryLock()) {
+                try {
+                    List<Ranking> list = new ArrayList<>(entries.size());
+                    for (Entry e : entries) list.add(new Ranking(e.course, e.value));
+                    published = List.copyOf(list);
+                    dirty = false;
+                } finally {
+                    lock.unlock();
+                }
+            }
+            return published;
+        }
+    }
+
+    private record Entry(Course course, double value, long sequence) implements Comparable<Entry> {
+        @Override
+        public int compareTo(Entry o) {
+            int cmp = Double.compare(o.value, value);
+            return cmp != 0 ? cmp : Long.compare(sequence, o.sequence);
+        }
+    }
+}
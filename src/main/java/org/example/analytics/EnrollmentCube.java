@@ -0,0 +1,320 @@
+package org.example.analytics;
+
+import org.example.entities.Course;
+import org.example.entities.Enrollment;
+import org.example.entities.EnrollmentStatusListener;
+import org.example.entities.Professor;
+import org.example.enums.CourseLevel;
+import org.example.enums.EnrollmentStatus;
+import org.example.enums.GradeType;
+import org.example.enums.Semester;
+import org.example.utils.IntIntMap;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Precomputed aggregate cube of enrollment counts.
+ * <p>
+ * The base cuboid is a dense {@code int[]} indexed by course × semester × status × grade
+ * (240 cells per course); professor and course level are attributes of the course, so two
+ * rolled-up cuboids (professor × semester × status × grade and level × semester × status
+ * × grade) are maintained next to it. Every query is answered from the smallest cuboid
+ * that contains all dimensions it groups or filters by, and every add/remove touches
+ * exactly one cell per cuboid.
+ * <p>
+ * A cube built by {@link #of} is a snapshot. After {@link #attach} it follows every grade and
+ * status change made through {@code Enrollment.withGrade}/{@code withStatus} and every bulk
+ * semester close, until {@link #close}. New enrollments are still counted with {@link #add}.
+ */
+public class EnrollmentCube implements AutoCloseable {
+
+    /**
+     * Dimensions a query can group or filter by.
+     */
+    public enum Dimension {
+        SEMESTER, LEVEL, STATUS, GRADE, PROFESSOR, COURSE
+    }
+
+    private static final Semester[] SEMESTERS = Semester.values();
+    private static final CourseLevel[] LEVELS = CourseLevel.values();
+    private static final EnrollmentStatus[] STATUSES = EnrollmentStatus.values();
+    private static final GradeType[] GRADES = GradeType.values();
+    private static final int CELLS = SEMESTERS.length * STATUSES.length * GRADES.length;
+
+    private final Map<Course, Integer> courseIds = new HashMap<>();
+    private final List<Course> courses = new ArrayList<>();
+    private final IntIntMap professorIds = new IntIntMap();
+    private final List<Professor> professors = new ArrayList<>();
+    private int[] courseProfessor = new int[16];
+
+    private int[] byCourse = new int[16 * CELLS];
+    private int[] byProfessor = new int[16 * CELLS];
+    private final int[] byLevel = new int[LEVELS.length * CELLS];
+
+    private final EnrollmentStatusListener listener = new EnrollmentStatusListener() {
+        @Override
+        public void statusChanged(Enrollment before, Enrollment after) {
+            // counted in enrollmentChanged, which also sees grade-only changes
+        }
+
+        @Override
+        public void enrollmentChanged(Enrollment before, Enrollment after) {
+            update(before, after);
+        }
+
+        @Override
+        public void semesterClosed(Semester semester, long completed, long failed, LocalDateTime closedAt) {
+            closeSemester(semester);
+        }
+    };
+
+    public static EnrollmentCube of(Collection<Course> courses, Collection<Enrollment> enrollments) {
+        EnrollmentCube cube = new EnrollmentCube();
+        for (Course c : courses) cube.courseId(c);
+        for (Enrollment e : enrollments) cube.add(e);
+        return cube;
+    }
+
+    /**
+     * Registers this cube as an enrollment status listener so its counts follow grading and
+     * semester closes. The cube must already count every enrollment that is changed.
+     */
+    public EnrollmentCube attach() {
+        Enrollment.addStatusListener(listener);
+        return this;
+    }
+
+    /**
+     * Stops following enrollment changes; the counts stay queryable.
+     */
+    @Override
+    public void close() {
+        Enrollment.removeStatusListener(listener);
+    }
+
+    public synchronized void add(Enrollment enrollment) {
+        apply(enrollment, 1);
+    }
+
+    public synchronized void remove(Enrollment enrollment) {
+        apply(enrollment, -1);
+    }
+
+    /**
+     * Moves one enrollment from its old cell to its new cell, e.g. after grading.
+     */
+    public synchronized void update(Enrollment before, Enrollment after) {
+        apply(before, -1);
+        apply(after, 1);
+    }
+
+    /**
+     * Moves all {@code ACTIVE} counts of {@code semester} to {@code COMPLETED} (passing grade)
+     * or {@code FAILED}, mirroring {@code EnrollmentStore.closeSemester} in one pass over the
+     * cube instead of one {@link #update} per enrollment.
+     */
+    public synchronized void closeSemester(Semester semester) {
+        Objects.requireNonNull(semester, "Semester cannot be null");
+        closeSemester(byCourse, courses.size(), semester);
+        closeSemester(byProfessor, professors.size(), semester);
+        closeSemester(byLevel, LEVELS.length, semester);
+    }
+
+    public long count(Slice slice) {
+        return query(slice, List.of(), false).values().stream().mapToLong(c -> c[0]).sum();
+    }
+
+    /**
+     * Counts enrollments inside {@code slice}, grouped by {@code groupBy} (roll-up/drill-down).
+     * Keys list the group's values in {@code groupBy} order.
+     */
+    public Map<List<Object>, Long> countBy(Slice slice, Dimension... groupBy) {
+        Map<List<Object>, Long> result = new LinkedHashMap<>();
+        query(slice, List.of(groupBy), false).forEach((k, v) -> result.put(k, v[0]));
+        return result;
+    }
+
+    /**
+     * Returns the share of passed enrollments (completed with a passing grade) per group.
+     */
+    public Map<List<Object>, Double> passRateBy(Slice slice, Dimension... groupBy) {
+        Map<List<Object>, Double> result = new LinkedHashMap<>();
+        query(slice, List.of(groupBy), true).forEach((k, v) ->
+                result.put(k, v[0] == 0 ? 0.0 : (double) v[1] / v[0]));
+        return result;
+    }
+
+    private synchronized Map<List<Object>, long[]> query(Slice slice, List<Dimension> groupBy, boolean passes) {
+        Objects.requireNonNull(slice, "Slice cannot be null");
+        EnumSet<Dimension> used = EnumSet.noneOf(Dimension.class);
+        used.addAll(groupBy);
+        used.addAll(slice.filtered());
+
+        Map<List<Object>, long[]> result = new LinkedHashMap<>();
+        if (used.contains(Dimension.COURSE) ||
+                (used.contains(Dimension.PROFESSOR) && used.contains(Dimension.LEVEL))) {
+            for (int c = 0; c < courses.size(); c++) {
+                Course course = courses.get(c);
+                if (!slice.matchesCourse(course)) continue;
+                scan(byCourse, c, slice, groupBy, passes, result, course, course.getProfessor(), course.getLevel());
+            }
+        } else if (used.contains(Dimension.PROFESSOR)) {
+            for (int p = 0; p < professors.size(); p++) {
+                Professor professor = professors.get(p);
+                if (!slice.matchesProfessor(professor)) continue;
+                scan(byProfessor, p, slice, groupBy, passes, result, null, professor, null);
+            }
+        } else {
+            for (CourseLevel level : LEVELS) {
+                if (!slice.matchesLevel(level)) continue;
+                scan(byLevel, level.ordinal(), slice, groupBy, passes, result, null, null, level);
+            }
+        }
+        return result;
+    }
+
+    private void scan(int[] cuboid, int member, Slice slice, List<Dimension> groupBy, boolean passes,
+                      Map<List<Object>, long[]> result, Course course, Professor professor, CourseLevel level) {
+        int base = member * CELLS;
+        for (Semester semester : SEMESTERS) {
+            if (!slice.matchesSemester(semester)) continue;
+            for (EnrollmentStatus status : STATUSES) {
+                if (!slice.matchesStatus(status)) continue;
+                for (GradeType grade : GRADES) {
+                    if (!slice.matchesGrade(grade)) continue;
+                    int n = cuboid[base + cell(semester, status, grade)];
+                    if (n == 0) continue;
+
+                    Object[] key = new Object[groupBy.size()];
+                    for (int i = 0; i < key.length; i++) {
+                        key[i] = switch (groupBy.get(i)) {
+                            case SEMESTER -> semester;
+                            case LEVEL -> level;
+                            case STATUS -> status;
+                            case GRADE -> grade;
+                            case PROFESSOR -> professor;
+                            case COURSE -> course;
+                        };
+                    }
+                    long[] totals = result.computeIfAbsent(List.of(key), k -> new long[2]);
+                    totals[0] += n;
+                    if (passes && status == EnrollmentStatus.COMPLETED && grade.isPassing()) totals[1] += n;
+                }
+            }
+        }
+    }
+
+    private static void closeSemester(int[] cuboid, int members, Semester semester) {
+        for (int m = 0; m < members; m++) {
+            int base = m * CELLS;
+            for (GradeType grade : GRADES) {
+                int from = base + cell(semester, EnrollmentStatus.ACTIVE, grade);
+                int to = base + cell(semester, grade.isPassing() ? EnrollmentStatus.COMPLETED : EnrollmentStatus.FAILED, grade);
+                cuboid[to] += cuboid[from];
+                cuboid[from] = 0;
+            }
+        }
+    }
+
+    private void apply(Enrollment e, int delta) {
+        Objects.requireNonNull(e, "Enrollment cannot be null");
+        int c = courseId(e.course());
+        int cell = cell(e.semester(), e.status(), e.grade());
+        byCourse[c * CELLS + cell] += delta;
+        byProfessor[courseProfessor[c] * CELLS + cell] += delta;
+        byLevel[e.course().getLevel().ordinal() * CELLS + cell] += delta;
+    }
+
+    private int courseId(Course course) {
+        Integer id = courseIds.get(course);
+        if (id != null) return id;
+
+        int c = courses.size();
+        courses.add(course);
+        courseIds.put(course, c);
+
+        Professor professor = course.getProfessor();
+        int p = professorIds.get(professor.getID(), -1);
+        if (p < 0) {
+            p = professors.size();
+            professors.add(professor);
+            professorIds.put(professor.getID(), p);
+        }
+
+        if (c >= courseProfessor.length) {
+            courseProfessor = Arrays.copyOf(courseProfessor, courseProfessor.length * 2);
+            byCourse = Arrays.copyOf(byCourse, courseProfessor.length * CELLS);
+        }
+        if ((p + 1) * CELLS > byProfessor.length) byProfessor = Arrays.copyOf(byProfessor, byProfessor.length * 2);
+        courseProfessor[c] = p;
+        return c;
+    }
+
+    private static int cell(Semester semester, EnrollmentStatus status, GradeType grade) {
+        return (semester.ordinal() * STATUSES.length + status.ordinal()) * GRADES.length + grade.ordinal();
+    }
+
+    /**
+     * Selection of cube members; an unrestricted dimension matches everything.
+     */
+    public static final class Slice {
+        private final EnumSet<Semester> semesters = EnumSet.allOf(Semester.class);
+        private final EnumSet<CourseLevel> levels = EnumSet.allOf(CourseLevel.class);
+        private final EnumSet<EnrollmentStatus> statuses = EnumSet.allOf(EnrollmentStatus.class);
+        private final EnumSet<GradeType> grades = EnumSet.allOf(GradeType.class);
+        private Set<Professor> professors;
+        private Set<Course> courses;
+        private final EnumSet<Dimension> filtered = EnumSet.noneOf(Dimension.class);
+
+        public static Slice all() {
+            return new Slice();
+        }
+
+        public Slice semesters(Semester... values) {
+            return restrict(semesters, values, Dimension.SEMESTER);
+        }
+
+        public Slice levels(CourseLevel... values) {
+            return restrict(levels, values, Dimension.LEVEL);
+        }
+
+        public Slice statuses(EnrollmentStatus... values) {
+            return restrict(statuses, values, Dimension.STATUS);
+        }
+
+        public Slice grades(GradeType... values) {
+            return restrict(grades, values, Dimension.GRADE);
+        }
+
+        public Slice professors(Professor... values) {
+            professors = Set.of(values);
+            filtered.add(Dimension.PROFESSOR);
+            return this;
+        }
+
+        public Slice courses(Course... values) {
+            courses = Set.of(values);
+            filtered.add(Dimension.COURSE);
+            return this;
+        }
+
+        private <E extends Enum<E>> Slice restrict(EnumSet<E> set, E[] values, Dimension dimension) {
+            set.retainAll(Arrays.asList(values));
+            filtered.add(dimension);
+            return this;
+        }
+
+        EnumSet<Dimension> filtered() { return filtered; }
+        boolean matchesSemester(Semester s) { return semesters.contains(s); }
+        boolean matchesStatus(EnrollmentStatus s) { return statuses.contains(s); }
+        boolean matchesGrade(GradeType g) { return grades.contains(g); }
+        boolean matchesLevel(CourseLevel l) { return levels.contains(l); }
+        boolean matchesProfessor(Professor p) { return professors == null || professors.contains(p); }
+
+        boolean matchesCourse(Course c) {
+            return (courses == null || courses.contains(c)) &&
+                    matchesProfessor(c.getProfessor()) && matchesLevel(c.getLevel());
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package org.example.analytics;
+
+import org.example.entities.GradeChange;
+import org.example.entities.GradeListener;
+import org.example.entities.Student;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-bucket GPA histogram with 0.01 resolution over the 0.0-5.0 scale.
+ * <p>
+ * Counts are kept in an {@link AtomicLongArray}, so updates from several threads never
+ * block and readers always see a usable (if momentarily approximate) distribution.
+ * Registered as a {@link GradeListener}, the histogram follows every grade change.
+ * Queries scan at most 501 buckets, independent of the number of students.
+ * A GPA of 0.0 counts as "not graded", as in {@code GradingService}.
+ */
+public class GpaHistogram implements GradeListener {
+
+    private static final int SCALE = 100;
+    private static final int BUCKETS = 5 * SCALE + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    public static GpaHistogram of(Collection<Student> students) {
+        GpaHistogram histogram = new GpaHistogram();
+        for (Student s : students) histogram.add(s.calculateGPA());
+        return histogram;
+    }
+
+    public void add(double gpa) {
+        counts.incrementAndGet(bucketOf(gpa));
+    }
+
+    public void remove(double gpa) {
+        counts.decrementAndGet(bucketOf(gpa));
+    }
+
+    public void move(double oldGPA, double newGPA) {
+        int from = bucketOf(oldGPA);
+        int to = bucketOf(newGPA);
+        if (from == to) return;
+        counts.incrementAndGet(to);
+        counts.decrementAndGet(from);
+    }
+
+    @Override
+    public void gradeChanged(GradeChange change) {
+        move(change.oldGPA(), change.newGPA());
+    }
+
+    /**
+     * Adds the counts of another histogram, e.g. one filled by a different thread or partition.
+     */
+    public void merge(GpaHistogram other) {
+        Objects.requireNonNull(other, "Histogram cannot be null");
+        for (int i = 0; i < BUCKETS; i++) {
+            long n = other.counts.get(i);
+            if (n != 0) counts.addAndGet(i, n);
+        }
+    }
+
+    public long count() {
+        return countBetween(0, BUCKETS);
+    }
+
+    public long gradedCount() {
+        return countBetween(1, BUCKETS);
+    }
+
+    /**
+     * Counts students with {@code from <= GPA < to}.
+     */
+    public long countInRange(double from, double to) {
+        return countBetween(bucketOf(from), to > 5.0 ? BUCKETS : bucketOf(to));
+    }
+
+    /**
+     * Returns the GPA below or at which {@code percentile}% of graded students fall.
+     */
+    public double percentile(double percentile) {
+        if (percentile < 0 || percentile > 100)
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+
+        long graded = gradedCount();
+        if (graded == 0) return 0.0;
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * graded));
+        long seen = 0;
+        for (int i = 1; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) return (double) i / SCALE;
+        }
+        return 5.0;
+    }
+
+    /**
+     * Returns the fraction of graded students with a GPA at or below {@code gpa}.
+     */
+    public double cdf(double gpa) {
+        long graded = gradedCount();
+        if (graded == 0) return 0.0;
+        return (double) countBetween(1, bucketOf(gpa) + 1) / graded;
+    }
+
+    /**
+     * Counts students in the ranges used by {@code GradingService.groupStudentsByGPARange}.
+     */
+    public Map<String, Long> rangeCounts() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        result.put("Excellent (4.5-5.0)", countBetween(450, BUCKETS));
+        result.put("Very Good (3.5-4.4)", countBetween(350, 450));
+        result.put("Good (2.5-3.4)", countBetween(250, 350));
+        result.put("Satisfactory (2.0-2.4)", countBetween(200, 250));
+        result.put("Poor (<2.0)", countBetween(1, 200));
+        result.put("Not Graded", counts.get(0));
+        return result;
+    }
+
+    private long countBetween(int fromBucket, int toBucket) {
+        long total = 0;
+        for (int i = Math.max(0, fromBucket); i < Math.min(BUCKETS, toBucket); i++) total += counts.get(i);
+        return total;
+    }
+
+    /**
+     * Maps a GPA to its bucket; any positive GPA lands above the "not graded" bucket.
+     */
+    private static int bucketOf(double gpa) {
+        if (gpa <= 0.0) return 0;
+        if (gpa >= 5.0) return BUCKETS - 1;
+        return Math.max(1, (int) Math.floor(gpa * SCALE + 1e-9));
+    }
+}
@@ -0,0 +1,155 @@
+package org.example.analytics;
+
+import org.example.entities.Course;
+import org.example.entities.EnrollmentListener;
+import org.example.entities.Lesson;
+import org.example.entities.Professor;
+import org.example.entities.Student;
+import org.example.utils.IntObjectMap;
+
+import java.util.*;
+
+/**
+ * Professor ID → courses multimap with running per-professor workload totals.
+ * <p>
+ * Registering a course and recording an enrollment are O(1) updates of the owning
+ * professor's entry, so workload queries never scan the course list. Lesson minutes
+ * are refreshed lazily: each course remembers the {@link Course#getLessonVersion()} its
+ * minutes were summed at, and a query re-sums only courses whose lessons changed.
+ * <p>
+ * Enrollments are counted while the index is {@linkplain #attach() attached} to the course
+ * enrollment hook; {@link #close} detaches it, so a discarded index is not kept alive by
+ * the hook.
+ */
+public class ProfessorWorkloadIndex implements EnrollmentListener, AutoCloseable {
+
+    /**
+     * Workload of one professor across all registered courses.
+     */
+    public record Workload(Professor professor, int courses, int students, int ects, long lessonMinutes) {
+    }
+
+    private final IntObjectMap<Entry> byProfessor = new IntObjectMap<>();
+    private final Set<Course> registered = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    public static ProfessorWorkloadIndex of(Collection<Course> courses) {
+        ProfessorWorkloadIndex index = new ProfessorWorkloadIndex();
+        for (Course c : courses) index.addCourse(c);
+        return index;
+    }
+
+    /**
+     * Starts counting enrollments made through {@link Course#enrollStudent}.
+     */
+    public ProfessorWorkloadIndex attach() {
+        Course.addEnrollmentListener(this);
+        return this;
+    }
+
+    /**
+     * Stops counting enrollments; the totals stay queryable.
+     */
+    @Override
+    public void close() {
+        Course.removeEnrollmentListener(this);
+    }
+
+    /**
+     * Registers a newly created course under its professor; ignores courses already registered.
+     */
+    public synchronized void addCourse(Course course) {
+        Objects.requireNonNull(course, "Course cannot be null");
+        if (!registered.add(course)) return;
+        Professor professor = course.getProfessor();
+        Entry entry = byProfessor.get(professor.getID());
+        if (entry == null) {
+            entry = new Entry(professor);
+            byProfessor.put(professor.getID(), entry);
+        }
+
+        entry.courses.add(course);
+        entry.lessonVersions.add(course.getLessonVersion());
+        long minutes = lessonMinutes(course);
+        entry.courseMinutes.add(minutes);
+        entry.students += course.getEnrollmentCount();
+        entry.ects += course.getECTS();
+        entry.lessonMinutes += minutes;
+    }
+
+    @Override
+    public synchronized void studentEnrolled(Course course, Student student) {
+        if (registered.contains(course)) byProfessor.get(course.getProfessor().getID()).students++;
+    }
+
+    /**
+     * Returns the courses taught by the professor, in registration order.
+     */
+    public synchronized List<Course> getCourses(int professorId) {
+        Entry entry = byProfessor.get(professorId);
+        return entry == null ? List.of() : List.copyOf(entry.courses);
+    }
+
+    /**
+     * Returns the professor's workload, or {@code null} if none of their courses is registered.
+     */
+    public synchronized Workload getWorkload(int professorId) {
+        Entry entry = byProfessor.get(professorId);
+        if (entry == null) return null;
+        entry.refreshLessonMinutes();
+        return new Workload(entry.professor, entry.courses.size(), entry.students, entry.ects, entry.lessonMinutes);
+    }
+
+    /**
+     * Returns every professor's workload.
+     */
+    public synchronized List<Workload> getWorkloads() {
+        List<Workload> result = new ArrayList<>(byProfessor.size());
+        byProfessor.forEach((id, entry) -> {
+            entry.refreshLessonMinutes();
+            result.add(new Workload(entry.professor, entry.courses.size(), entry.students, entry.ects, entry.lessonMinutes));
+        });
+        return result;
+    }
+
+    /**
+     * Returns the courses grouped by professor ID. Keys are IDs rather than professors
+     * because professors compare by username, which two professors can share.
+     */
+    public synchronized Map<Integer, List<Course>> groupByProfessor() {
+        Map<Integer, List<Course>> result = new LinkedHashMap<>();
+        byProfessor.forEach((id, entry) -> result.put(id, List.copyOf(entry.courses)));
+        return result;
+    }
+
+    private static long lessonMinutes(Course course) {
+        long total = 0;
+        for (Lesson l : course.getLessons()) total += l.getLengthMinutes();
+        return total;
+    }
+
+    private static final class Entry {
+        private final Professor professor;
+        private final List<Course> courses = new ArrayList<>(4);
+        private final List<Long> lessonVersions = new ArrayList<>(4);
+        private final List<Long> courseMinutes = new ArrayList<>(4);
+        private int students;
+        private int ects;
+        private long lessonMinutes;
+
+        Entry(Professor professor) {
+            this.professor = professor;
+        }
+
+        void refreshLessonMinutes() {
+            for (int i = 0; i < courses.size(); i++) {
+                Course c = courses.get(i);
+                long version = c.getLessonVersion();
+                if (version == lessonVersions.get(i)) continue;
+                long minutes = lessonMinutes(c);
+                lessonMinutes += minutes - courseMinutes.get(i);
+                courseMinutes.set(i, minutes);
+                lessonVersions.set(i, version);
+            }
+        }
+    }
+}
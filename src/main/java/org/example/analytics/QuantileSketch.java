@@ -0,0 +1,146 @@
+package org.example.analytics;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Mergeable quantile sketch with bounded relative error (DDSketch-style).
+ * <p>
+ * Positive values are counted in logarithmic buckets whose width guarantees that every
+ * reported quantile is within {@code relativeAccuracy} of a true value; zero and negative
+ * values share one bucket. Sketches with the same accuracy merge by adding bucket counts,
+ * so each thread or partition can fill its own sketch and combine them afterwards.
+ */
+public class QuantileSketch {
+
+    private final double relativeAccuracy;
+    private final double gamma;
+    private final double logGamma;
+
+    private long[] counts = new long[0];
+    private int minIndex;
+    private long zeroCount;
+    private long count;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public QuantileSketch(double relativeAccuracy) {
+        if (!(relativeAccuracy > 0 && relativeAccuracy < 1))
+            throw new IllegalArgumentException("Relative accuracy must be between 0 and 1");
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+    }
+
+    public synchronized void add(double value) {
+        add(value, 1);
+    }
+
+    public synchronized void add(double value, long times) {
+        if (times <= 0) return;
+        if (value <= 0) {
+            zeroCount += times;
+        } else {
+            int index = (int) Math.ceil(Math.log(value) / logGamma);
+            ensureIndex(index);
+            counts[index - minIndex] += times;
+        }
+        count += times;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Adds all values of {@code other}, which must use the same relative accuracy.
+     */
+    public void merge(QuantileSketch other) {
+        Objects.requireNonNull(other, "Sketch cannot be null");
+        if (other.relativeAccuracy != relativeAccuracy)
+            throw new IllegalArgumentException("Cannot merge sketches with different accuracy.");
+
+        long[] otherCounts;
+        int otherMin;
+        long otherZero;
+        long otherCount;
+        double otherLow;
+        double otherHigh;
+        synchronized (other) {
+            otherCounts = other.counts.clone();
+            otherMin = other.minIndex;
+            otherZero = other.zeroCount;
+            otherCount = other.count;
+            otherLow = other.min;
+            otherHigh = other.max;
+        }
+
+        synchronized (this) {
+            for (int i = 0; i < otherCounts.length; i++) {
+                if (otherCounts[i] == 0) continue;
+                ensureIndex(otherMin + i);
+                counts[otherMin + i - minIndex] += otherCounts[i];
+            }
+            zeroCount += otherZero;
+            count += otherCount;
+            min = Math.min(min, otherLow);
+            max = Math.max(max, otherHigh);
+        }
+    }
+
+    /**
+     * Returns an estimate of the {@code q}-quantile ({@code 0 <= q <= 1}), or NaN if empty.
+     */
+    public synchronized double quantile(double q) {
+        if (q < 0 || q > 1) throw new IllegalArgumentException("Quantile must be between 0 and 1");
+        if (count == 0) return Double.NaN;
+        if (q == 0) return min;
+        if (q == 1) return max;
+
+        long rank = (long) Math.ceil(q * count);
+        long seen = zeroCount;
+        if (seen >= rank) return Math.min(Math.max(0.0, min), max);
+
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                double estimate = 2 * Math.pow(gamma, minIndex + i) / (gamma + 1);
+                return Math.min(Math.max(estimate, min), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Returns the fraction of values at or below {@code value}, within the sketch's accuracy.
+     */
+    public synchronized double cdf(double value) {
+        if (count == 0) return 0.0;
+        if (value <= 0) return value >= min ? (double) zeroCount / count : 0.0;
+
+        int index = (int) Math.ceil(Math.log(value) / logGamma);
+        long seen = zeroCount;
+        for (int i = 0; i < counts.length && minIndex + i <= index; i++) seen += counts[i];
+        return (double) seen / count;
+    }
+
+    public synchronized long count() { return count; }
+    public synchronized double min() { return count == 0 ? Double.NaN : min; }
+    public synchronized double max() { return count == 0 ? Double.NaN : max; }
+    public double relativeAccuracy() { return relativeAccuracy; }
+
+    private void ensureIndex(int index) {
+        if (counts.length == 0) {
+            counts = new long[16];
+            minIndex = index - 8;
+            return;
+        }
+        if (index < minIndex) {
+            int shift = Math.max(minIndex - index, counts.length / 2);
+            long[] grown = new long[counts.length + shift];
+            System.arraycopy(counts, 0, grown, shift, counts.length);
+            counts = grown;
+            minIndex -= shift;
+        } else if (index >= minIndex + counts.length) {
+            counts = Arrays.copyOf(counts, Math.max(index - minIndex + 1, counts.length * 3 / 2));
+        }
+    }
+}
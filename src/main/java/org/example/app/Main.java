@@ -1,39 +1,63 @@
 package org.example.app;
 
+import org.example.analytics.ProfessorWorkloadIndex;
 import org.example.entities.*;
 import org.example.exceptions.*;
 import org.example.services.*;
+import org.example.storage.ShardedRegistry;
 import org.example.utils.CollectionUtils;
 import org.example.utils.InputHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Path;
 import java.util.*;
 
 public class Main {
 
     private static final Logger logger = LoggerFactory.getLogger(Main.class);
 
+    /**
+     * Runs the interactive flow. {@code --script <file>} replays answers from a file (see
+     * {@link ScriptGenerator}); {@code --headless} also silences console output and prints
+     * the elapsed time as {@code elapsed_ms=<n>} at the end.
+     */
     static void main(String[] args) {
         logger.info("\n=== Online Learning System Started ===");
+        long start = System.nanoTime();
+        PrintStream console = System.out;
+        boolean headless = Arrays.asList(args).contains("--headless");
 
         try {
+            configureInput(args, headless);
+
             Set<Professor> professors = UserService.createProfessors();
             Set<Student> students = UserService.createStudents();
             List<User> users = UserService.mergeUsers(professors, students);
 
             int cNum = InputHelper.readPositiveInt("How many courses would you like to input?: ");
-            List<Course> courses = CourseService.createCourses(cNum, users);
+            List<Course> courses;
+            List<Enrollment> enrollments;
+            try (ProfessorWorkloadIndex workload = CourseService.trackProfessorWorkload(List.of())) {
+                courses = CourseService.createCourses(cNum, users, workload);
 
-            List<Enrollment> enrollments = EnrollmentService.enrollStudents(students, courses);
-            enrollments = GradingService.assignRandomGrades(enrollments);
+                enrollments = EnrollmentService.enrollStudents(students, courses);
+                enrollments = GradingService.assignRandomGrades(enrollments);
+                ShardedRegistry registry = ShardedRegistry.of(students, courses, enrollments,
+                        Runtime.getRuntime().availableProcessors(), ShardedRegistry.Partitioning.STUDENT);
 
-            demonstrateFeatures(students, courses, enrollments);
+                demonstrateFeatures(students, courses, enrollments, registry, workload);
+            }
+            RegistrySnapshotter snapshotter = new RegistrySnapshotter(students, courses);
 
             SearchService.searchLoop(students, professors, courses);
 
-            PrintService.printUsers(users, courses);
-            PrintService.printStudentStatistics(students);
-            PrintService.printCourseStatistics(courses);
+            RegistrySnapshot snapshot = snapshotter.snapshot();
+            PrintService.printUsers(users, snapshot);
+            PrintService.printStudentStatistics(snapshot);
+            PrintService.printCourseStatistics(snapshot);
 
             logger.info("✅ Program finished successfully!");
 
@@ -45,19 +69,38 @@ public class Main {
             System.err.println("An unexpected error occurred: " + e.getMessage());
         } finally {
             InputHelper.closeScanner();
+            if (headless) {
+                System.setOut(console);
+                System.out.println("elapsed_ms=" + (System.nanoTime() - start) / 1_000_000);
+            }
+        }
+    }
+
+    private static void configureInput(String[] args, boolean headless) throws IOException {
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--script")) {
+                if (i + 1 == args.length) throw new IllegalArgumentException("--script requires a file.");
+                InputHelper.setInput(Path.of(args[++i]));
+                logger.info("Replaying input script {}", args[i]);
+            }
+        }
+        if (headless) {
+            InputHelper.setHeadless(true);
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
         }
     }
 
     private static void demonstrateFeatures(Set<Student> students,
                                             List<Course> courses,
-                                            List<Enrollment> enrollments) {
+                                            List<Enrollment> enrollments,
+                                            ShardedRegistry registry,
+                                            ProfessorWorkloadIndex workload) {
         System.out.println("\n" + "=".repeat(50));
         System.out.println("📊 SYSTEM OVERVIEW & FEATURES");
         System.out.println("=".repeat(50));
 
         System.out.println("\n1️⃣  Top 3 Students by GPA (Lambda + Comparator):");
-        UserService.sortStudentsByGPA(students).stream()
-                .limit(3)
+        UserService.topStudentsByGPA(registry, 3)
                 .forEach(s -> System.out.println("   - " + s.getFirstName() + " " +
                         s.getLastName() + ": " + String.format("%.2f", s.calculateGPA())));
 
@@ -68,14 +111,24 @@ public class Main {
                         System.out.println("   " + level + ": " + list.size() + " course(s)"));
 
 
+        System.out.println("\n   Courses by Professor (workload index):");
+        CourseService.groupCoursesByProfessor(workload)
+                .forEach((professorId, list) ->
+                        System.out.println("   Professor " + professorId + ": " + list.size() + " course(s)"));
+
+
         System.out.println("\n3️⃣  Enrollments by Passing Status (partitioningBy):");
         Map<Boolean, List<Enrollment>> partitioned =
                 EnrollmentService.partitionEnrollmentsByPassing(enrollments);
         System.out.println("   ✅ Passed: " + partitioned.get(true).size());
         System.out.println("   ❌ Failed: " + partitioned.get(false).size());
 
+        System.out.println("\n   Grade Distribution (" + registry.getShardCount() + " shard(s)):");
+        GradingService.getGradeDistribution(registry)
+                .forEach((grade, count) -> System.out.println("   " + grade + ": " + count));
+
         System.out.println("\n4️⃣  Top Student (Optional):");
-        GradingService.findTopStudentByGPA(students)
+        GradingService.findTopStudentByGPA(registry)
                 .ifPresentOrElse(
                         s -> System.out.println("   " + s.getFirstName() + " " +
                                 s.getLastName() + " (GPA: " +
@@ -91,9 +144,10 @@ public class Main {
                 " " + s.getLastName()));
 
         System.out.println("\n6️⃣  Student Names (Generic Map):");
-        List<String> names = CollectionUtils.map(
-                students, s -> s.getFirstName() + " " + s.getLastName());
-        names.stream().limit(3).forEach(name -> System.out.println("   - " + name));
+        CollectionUtils.pipeline(students)
+                .map(s -> s.getFirstName() + " " + s.getLastName())
+                .limit(3)
+                .forEach(name -> System.out.println("   - " + name));
 
         System.out.println("\n7️⃣  Most Popular Course (Bounded Generic):");
         CourseService.findMostPopularCourse(courses)
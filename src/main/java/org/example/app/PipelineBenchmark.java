@@ -0,0 +1,167 @@
+package org.example.app;
+
+import org.example.utils.CollectionUtils;
+import org.example.utils.Pipeline;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Compares {@link Pipeline} with {@link Stream} on the same list of boxed integers.
+ * <p>
+ * Each workload is written once against each API: filter + map + collect, filter + count,
+ * a short-circuiting map + limit, and counting per key. Every workload runs sequentially
+ * and in parallel, first {@code warmup} times unmeasured and then {@code iterations} times
+ * measured; the median is reported. Each run folds its result into a checksum, which must be
+ * the same for both APIs, so the JIT cannot drop the work and a mismatch fails the run.
+ * <p>
+ * Run with {@code key=value} arguments overriding {@link Config#defaults()}, e.g.
+ * {@code size=10000000 iterations=10}. Each workload is printed as one line of
+ * {@code key=value} pairs. With the default 10M elements the list needs roughly 250 MB of heap.
+ */
+public final class PipelineBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(PipelineBenchmark.class);
+
+    /**
+     * Benchmark parameters.
+     *
+     * @param size number of elements in the source list
+     * @param warmup unmeasured runs per workload and API
+     * @param iterations measured runs per workload and API
+     * @param seed seed of the source values
+     */
+    public record Config(int size, int warmup, int iterations, long seed) {
+
+        public Config {
+            if (size <= 0 || iterations <= 0) throw new IllegalArgumentException("Counts must be positive.");
+            if (warmup < 0) throw new IllegalArgumentException("Warm-up cannot be negative.");
+        }
+
+        public static Config defaults() {
+            return new Config(10_000_000, 5, 10, 42L);
+        }
+    }
+
+    /**
+     * Median times of one workload, in milliseconds.
+     */
+    public record Result(String workload, boolean parallel, double pipelineMillis, double streamMillis) {
+
+        public double speedup() {
+            return pipelineMillis == 0 ? 0.0 : streamMillis / pipelineMillis;
+        }
+    }
+
+    private record Workload(String name, ToLongFunction<List<Integer>> pipeline, ToLongFunction<List<Integer>> stream) { }
+
+    private PipelineBenchmark() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    static void main(String[] args) {
+        Config d = Config.defaults();
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq <= 0) throw new IllegalArgumentException("Expected key=value, got: " + arg);
+            options.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        Config config = new Config(
+                Integer.parseInt(options.getOrDefault("size", String.valueOf(d.size()))),
+                Integer.parseInt(options.getOrDefault("warmup", String.valueOf(d.warmup()))),
+                Integer.parseInt(options.getOrDefault("iterations", String.valueOf(d.iterations()))),
+                Long.parseLong(options.getOrDefault("seed", String.valueOf(d.seed()))));
+
+        System.out.println("available_processors=" + Runtime.getRuntime().availableProcessors());
+        for (Result r : run(config)) {
+            System.out.printf(Locale.ROOT, "workload=%s parallel=%b size=%d pipeline_ms=%.1f stream_ms=%.1f speedup=%.2f%n",
+                    r.workload(), r.parallel(), config.size(), r.pipelineMillis(), r.streamMillis(), r.speedup());
+        }
+    }
+
+    /**
+     * Runs every workload sequentially and in parallel against both APIs.
+     *
+     * @throws IllegalStateException if the two APIs disagree on a result
+     */
+    public static List<Result> run(Config config) {
+        Objects.requireNonNull(config, "Config cannot be null");
+        Random random = new Random(config.seed());
+        List<Integer> source = new ArrayList<>(config.size());
+        for (int i = 0; i < config.size(); i++) source.add(random.nextInt(1_000_000));
+
+        List<Result> results = new ArrayList<>();
+        for (boolean parallel : new boolean[]{false, true}) {
+            for (Workload w : workloads(parallel)) {
+                long expected = w.stream().applyAsLong(source);
+                double pipeline = measure(config, source, w.name(), w.pipeline(), expected);
+                double stream = measure(config, source, w.name(), w.stream(), expected);
+                results.add(new Result(w.name(), parallel, pipeline, stream));
+                logger.info("Pipeline benchmark {} (parallel {}): pipeline {} ms, stream {} ms",
+                        w.name(), parallel, String.format("%.1f", pipeline), String.format("%.1f", stream));
+            }
+        }
+        return results;
+    }
+
+    private static List<Workload> workloads(boolean parallel) {
+        return List.of(
+                new Workload("filter_map_toList",
+                        list -> checksum(pipeline(list, parallel).filter(v -> (v & 1) == 0).map(v -> v * 3L).toList()),
+                        list -> checksum(stream(list, parallel).filter(v -> (v & 1) == 0).map(v -> v * 3L).toList())),
+                new Workload("filter_count",
+                        list -> pipeline(list, parallel).filter(v -> v % 3 == 0).count(),
+                        list -> stream(list, parallel).filter(v -> v % 3 == 0).count()),
+                new Workload("map_limit_toList",
+                        list -> checksum(pipeline(list, parallel).map(v -> v + 1L).limit(1_000).toList()),
+                        list -> checksum(stream(list, parallel).map(v -> v + 1L).limit(1_000).toList())),
+                new Workload("count_by_key",
+                        list -> checksum(pipeline(list, parallel).countBy(v -> v % 16)),
+                        list -> checksum(stream(list, parallel)
+                                .collect(Collectors.groupingBy(v -> v % 16, Collectors.counting())))));
+    }
+
+    private static double measure(Config config, List<Integer> source, String name,
+                                  ToLongFunction<List<Integer>> workload, long expected) {
+        for (int i = 0; i < config.warmup(); i++) check(name, workload.applyAsLong(source), expected);
+        double[] millis = new double[config.iterations()];
+        for (int i = 0; i < millis.length; i++) {
+            long t0 = System.nanoTime();
+            long result = workload.applyAsLong(source);
+            millis[i] = (System.nanoTime() - t0) / 1_000_000.0;
+            check(name, result, expected);
+        }
+        Arrays.sort(millis);
+        return millis[millis.length / 2];
+    }
+
+    private static void check(String name, long actual, long expected) {
+        if (actual != expected)
+            throw new IllegalStateException("Pipeline and stream disagree on " + name + ": " + actual + " vs " + expected);
+    }
+
+    private static Pipeline<Integer> pipeline(List<Integer> list, boolean parallel) {
+        return parallel ? CollectionUtils.pipeline(list).parallel() : CollectionUtils.pipeline(list);
+    }
+
+    private static Stream<Integer> stream(List<Integer> list, boolean parallel) {
+        return parallel ? list.parallelStream() : list.stream();
+    }
+
+    private static long checksum(List<Long> values) {
+        long sum = values.size();
+        for (long v : values) sum = sum * 31 + v;
+        return sum;
+    }
+
+    private static long checksum(Map<Integer, Long> counts) {
+        long sum = 0;
+        for (Map.Entry<Integer, Long> e : counts.entrySet()) sum += e.getKey() * 1_000_003L ^ e.getValue();
+        return sum;
+    }
+}
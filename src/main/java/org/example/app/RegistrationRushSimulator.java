@@ -0,0 +1,271 @@
+package org.example.app;
+
+import org.example.analytics.QuantileSketch;
+import org.example.entities.Course;
+import org.example.entities.Professor;
+import org.example.entities.Student;
+import org.example.enums.CourseLevel;
+import org.example.enums.Semester;
+import org.example.exceptions.DuplicateEnrollmentException;
+import org.example.exceptions.LimitExceededException;
+import org.example.services.EnrollmentService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.Level;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Replays a registration window against the real enrollment path
+ * ({@link EnrollmentService#enrollStudent}) to measure behaviour under contention.
+ * <p>
+ * Every student is a virtual thread. All threads wait for the window to open, then make a
+ * fixed number of enrollment attempts separated by exponentially distributed think time.
+ * Courses are picked from a Zipf distribution, so a few hot courses take most of the
+ * traffic. Each student records the latency of its own attempts in a {@link QuantileSketch};
+ * the sketches are merged into the report afterwards, so recording never contends.
+ * <p>
+ * Run with {@code key=value} arguments overriding {@link Config#defaults()}, e.g.
+ * {@code students=20000 courses=200 skew=1.2 thinkMicros=500}. The report is printed as
+ * one {@code key=value} pair per line so runs can be compared by script.
+ * <p>
+ * {@code EnrollmentService} logs every accepted enrollment at INFO and the root logger
+ * defaults to TRACE, so with the default configuration the latencies would mostly measure
+ * console and file appenders. The run therefore sets the {@code EnrollmentService} logger
+ * to {@link Config#logLevel()} (WARN unless overridden with {@code logLevel=INFO}) and
+ * restores it afterwards; the report records that level and the root level.
+ */
+public final class RegistrationRushSimulator {
+
+    private static final Logger logger = LoggerFactory.getLogger(RegistrationRushSimulator.class);
+    private static final double SKETCH_ACCURACY = 0.01;
+
+    /**
+     * Simulation parameters.
+     *
+     * @param students number of concurrent students (virtual threads)
+     * @param courses number of courses on offer
+     * @param attemptsPerStudent enrollment attempts made by each student
+     * @param maxCoursesPerStudent course limit of each student
+     * @param skew Zipf exponent of course popularity; 0 picks courses uniformly
+     * @param thinkTime mean pause before each attempt; zero for back-to-back attempts
+     * @param seed seed of the course popularity ranking
+     * @param logLevel level of the enrollment path's logger during the run
+     */
+    public record Config(int students, int courses, int attemptsPerStudent, int maxCoursesPerStudent,
+                         double skew, Duration thinkTime, long seed, Level logLevel) {
+
+        public Config {
+            if (students <= 0 || courses <= 0 || attemptsPerStudent <= 0 || maxCoursesPerStudent <= 0)
+                throw new IllegalArgumentException("Counts must be positive.");
+            if (skew < 0) throw new IllegalArgumentException("Skew cannot be negative.");
+            Objects.requireNonNull(thinkTime, "Think time cannot be null");
+            if (thinkTime.isNegative()) throw new IllegalArgumentException("Think time cannot be negative.");
+            Objects.requireNonNull(logLevel, "Log level cannot be null");
+        }
+
+        public static Config defaults() {
+            return new Config(10_000, 100, 8, 5, 1.1, Duration.ofMillis(1), 42L, Level.WARN);
+        }
+    }
+
+    /**
+     * Outcome of one run; latencies are in microseconds. {@code logLevel} and
+     * {@code rootLogLevel} are the levels in effect for the enrollment path and the root
+     * logger during the run.
+     */
+    public record Report(Config config, long attempts, long enrolled, long duplicates, long limitRejections,
+                         Duration elapsed, double p50, double p99, double p999, double max,
+                         String logLevel, String rootLogLevel) {
+
+        public double throughput() {
+            long nanos = elapsed.toNanos();
+            return nanos == 0 ? 0.0 : attempts * 1_000_000_000.0 / nanos;
+        }
+
+        public double rejectionRate() {
+            return attempts == 0 ? 0.0 : (double) (duplicates + limitRejections) / attempts;
+        }
+
+        /**
+         * Formats the report as {@code key=value} lines.
+         */
+        public String toKeyValues() {
+            StringBuilder sb = new StringBuilder();
+            kv(sb, "students", config.students());
+            kv(sb, "courses", config.courses());
+            kv(sb, "skew", config.skew());
+            kv(sb, "think_us", config.thinkTime().toNanos() / 1_000);
+            kv(sb, "attempts", attempts);
+            kv(sb, "enrolled", enrolled);
+            kv(sb, "duplicates", duplicates);
+            kv(sb, "limit_rejections", limitRejections);
+            kv(sb, "rejection_rate", String.format(Locale.ROOT, "%.4f", rejectionRate()));
+            kv(sb, "elapsed_ms", elapsed.toMillis());
+            kv(sb, "throughput_ops", String.format(Locale.ROOT, "%.1f", throughput()));
+            kv(sb, "p50_us", String.format(Locale.ROOT, "%.1f", p50));
+            kv(sb, "p99_us", String.format(Locale.ROOT, "%.1f", p99));
+            kv(sb, "p999_us", String.format(Locale.ROOT, "%.1f", p999));
+            kv(sb, "max_us", String.format(Locale.ROOT, "%.1f", max));
+            kv(sb, "log_level", logLevel);
+            kv(sb, "root_log_level", rootLogLevel);
+            return sb.toString();
+        }
+
+        private static void kv(StringBuilder sb, String key, Object value) {
+            sb.append(key).append('=').append(value).append('\n');
+        }
+    }
+
+    private RegistrationRushSimulator() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    static void main(String[] args) throws InterruptedException {
+        Config d = Config.defaults();
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq <= 0) throw new IllegalArgumentException("Expected key=value, got: " + arg);
+            options.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        Config config = new Config(
+                Integer.parseInt(options.getOrDefault("students", String.valueOf(d.students()))),
+                Integer.parseInt(options.getOrDefault("courses", String.valueOf(d.courses()))),
+                Integer.parseInt(options.getOrDefault("attempts", String.valueOf(d.attemptsPerStudent()))),
+                Integer.parseInt(options.getOrDefault("maxCourses", String.valueOf(d.maxCoursesPerStudent()))),
+                Double.parseDouble(options.getOrDefault("skew", String.valueOf(d.skew()))),
+                Duration.ofNanos(1_000 * Long.parseLong(options.getOrDefault("thinkMicros",
+                        String.valueOf(d.thinkTime().toNanos() / 1_000)))),
+                Long.parseLong(options.getOrDefault("seed", String.valueOf(d.seed()))),
+                Level.valueOf(options.getOrDefault("logLevel", d.logLevel().name()).toUpperCase(Locale.ROOT)));
+        System.out.print(run(config).toKeyValues());
+    }
+
+    /**
+     * Runs one registration window with fresh students and courses and waits for all students to finish.
+     */
+    public static Report run(Config config) throws InterruptedException {
+        Objects.requireNonNull(config, "Config cannot be null");
+
+        Professor professor = new Professor.ProfessorBuilder("Rush", "Professor", 1)
+                .username("rush").maxCourses(config.courses()).build();
+        List<Course> courses = new ArrayList<>(config.courses());
+        for (int c = 0; c < config.courses(); c++) {
+            courses.add(new Course("Course " + c, professor, 10, 5, CourseLevel.BEGINNER));
+        }
+        Collections.shuffle(courses, new Random(config.seed()));
+        double[] popularity = zipfCdf(config.courses(), config.skew());
+
+        Semester[] semesters = Semester.values();
+        QuantileSketch[] latencies = new QuantileSketch[config.students()];
+        long[][] outcomes = new long[config.students()][];
+        CountDownLatch windowOpen = new CountDownLatch(1);
+        long thinkNanos = config.thinkTime().toNanos();
+
+        Logger enrollmentLogger = LoggerFactory.getLogger(EnrollmentService.class);
+        ch.qos.logback.classic.Level previousLevel = null;
+        if (enrollmentLogger instanceof ch.qos.logback.classic.Logger l) {
+            previousLevel = l.getLevel();
+            l.setLevel(ch.qos.logback.classic.Level.toLevel(config.logLevel().name()));
+        }
+        String logLevel = effectiveLevel(enrollmentLogger);
+        String rootLogLevel = effectiveLevel(LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME));
+
+        long start;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < config.students(); i++) {
+                int index = i;
+                Student student = new Student.StudentBuilder("Student", "No" + i, 1_000 + i)
+                        .username("rush" + i).maxCourses(config.maxCoursesPerStudent()).build();
+                executor.execute(() -> {
+                    QuantileSketch sketch = new QuantileSketch(SKETCH_ACCURACY);
+                    long[] counts = new long[3];
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    try {
+                        windowOpen.await();
+                        for (int a = 0; a < config.attemptsPerStudent(); a++) {
+                            if (thinkNanos > 0) {
+                                Thread.sleep(Duration.ofNanos((long) (-Math.log(1 - random.nextDouble()) * thinkNanos)));
+                            }
+                            Course course = courses.get(pick(popularity, random.nextDouble()));
+                            Semester semester = semesters[random.nextInt(semesters.length)];
+                            long t0 = System.nanoTime();
+                            try {
+                                EnrollmentService.enrollStudent(student, course, semester);
+                                counts[0]++;
+                            } catch (DuplicateEnrollmentException e) {
+                                counts[1]++;
+                            } catch (LimitExceededException e) {
+                                counts[2]++;
+                            }
+                            sketch.add((System.nanoTime() - t0) / 1_000.0);
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    latencies[index] = sketch;
+                    outcomes[index] = counts;
+                });
+            }
+            start = System.nanoTime();
+            windowOpen.countDown();
+        } finally {
+            if (enrollmentLogger instanceof ch.qos.logback.classic.Logger l) l.setLevel(previousLevel);
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        QuantileSketch merged = new QuantileSketch(SKETCH_ACCURACY);
+        long enrolled = 0;
+        long duplicates = 0;
+        long limited = 0;
+        for (int i = 0; i < config.students(); i++) {
+            if (latencies[i] == null) continue;
+            merged.merge(latencies[i]);
+            enrolled += outcomes[i][0];
+            duplicates += outcomes[i][1];
+            limited += outcomes[i][2];
+        }
+
+        Report report = new Report(config, merged.count(), enrolled, duplicates, limited, elapsed,
+                merged.quantile(0.5), merged.quantile(0.99), merged.quantile(0.999), merged.max(),
+                logLevel, rootLogLevel);
+        logger.info("Registration rush finished: {} attempts in {} ms, p99 {} us",
+                report.attempts(), elapsed.toMillis(), String.format("%.1f", report.p99()));
+        return report;
+    }
+
+    /**
+     * Returns the lowest level {@code logger} logs at, as configured by the backend.
+     */
+    private static String effectiveLevel(Logger logger) {
+        for (Level level : new Level[]{Level.TRACE, Level.DEBUG, Level.INFO, Level.WARN, Level.ERROR}) {
+            if (logger.isEnabledForLevel(level)) return level.name();
+        }
+        return "OFF";
+    }
+
+    /**
+     * Cumulative Zipf distribution over ranks {@code 1..n} with exponent {@code skew}.
+     */
+    static double[] zipfCdf(int n, double skew) {
+        double[] cdf = new double[n];
+        double sum = 0;
+        for (int r = 0; r < n; r++) {
+            sum += 1.0 / Math.pow(r + 1, skew);
+            cdf[r] = sum;
+        }
+        for (int r = 0; r < n; r++) cdf[r] /= sum;
+        return cdf;
+    }
+
+    static int pick(double[] cdf, double u) {
+        int i = Arrays.binarySearch(cdf, u);
+        return Math.min(i >= 0 ? i : -i - 1, cdf.length - 1);
+    }
+}
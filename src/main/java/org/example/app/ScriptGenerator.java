@@ -0,0 +1,132 @@
+package org.example.app;
+
+import org.example.enums.CourseLevel;
+import org.example.enums.LessonType;
+import org.example.enums.Semester;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Generates input scripts that drive the whole {@link Main} flow, one answer per line,
+ * for headless replay with {@code --script <file> --headless}.
+ * <p>
+ * Every answer is valid, so a script replays without retries: professors can teach all
+ * courses assigned to them, each course has a distinct name, and every student picks
+ * distinct courses up to their limit. The same arguments and seed give the same script.
+ */
+public final class ScriptGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScriptGenerator.class);
+    private static final int MAX_LESSONS = 50;
+
+    private ScriptGenerator() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Usage: {@code ScriptGenerator <file> <professors> <students> <courses> [lessonsPerCourse] [seed]}.
+     */
+    static void main(String[] args) throws IOException {
+        if (args.length < 4) {
+            System.err.println("Usage: ScriptGenerator <file> <professors> <students> <courses> [lessonsPerCourse] [seed]");
+            return;
+        }
+        Path file = Path.of(args[0]);
+        int lessons = args.length > 4 ? Integer.parseInt(args[4]) : 2;
+        long seed = args.length > 5 ? Long.parseLong(args[5]) : 42L;
+        write(file, Integer.parseInt(args[1]), Integer.parseInt(args[2]), Integer.parseInt(args[3]), lessons, seed);
+    }
+
+    public static void write(Path file, int professors, int students, int courses, int lessonsPerCourse, long seed)
+            throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(file)) {
+            generate(out, professors, students, courses, lessonsPerCourse, seed);
+        }
+        logger.info("Wrote script {} ({} professors, {} students, {} courses)", file, professors, students, courses);
+    }
+
+    public static String generate(int professors, int students, int courses, int lessonsPerCourse, long seed) {
+        StringBuilder sb = new StringBuilder();
+        try {
+            generate(sb, professors, students, courses, lessonsPerCourse, seed);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return sb.toString();
+    }
+
+    private static void generate(Appendable out, int professors, int students, int courses,
+                                 int lessonsPerCourse, long seed) throws IOException {
+        if (professors <= 0) throw new IllegalArgumentException("At least one professor is required.");
+        if (students < 0 || courses <= 0) throw new IllegalArgumentException("Counts must be positive.");
+        if (lessonsPerCourse < 0 || lessonsPerCourse > MAX_LESSONS)
+            throw new IllegalArgumentException("Lessons per course must be between 0 and " + MAX_LESSONS + ".");
+
+        Random random = new Random(seed);
+        int coursesPerProfessor = (courses + professors - 1) / professors;
+
+        line(out, professors);
+        for (int i = 0; i < professors; i++) {
+            line(out, "Prof" + i);
+            line(out, "Surname" + i);
+            line(out, coursesPerProfessor);
+        }
+
+        int[] maxCourses = new int[students];
+        line(out, students);
+        for (int i = 0; i < students; i++) {
+            maxCourses[i] = Math.min(courses, 1 + random.nextInt(5));
+            line(out, "Student" + i);
+            line(out, "Lastname" + i);
+            line(out, maxCourses[i]);
+        }
+
+        line(out, courses);
+        for (int c = 0; c < courses; c++) {
+            line(out, "Course " + c);
+            line(out, 1 + random.nextInt(10));
+            line(out, 1 + random.nextInt(CourseLevel.values().length));
+            line(out, c % professors + 1);
+            line(out, lessonsPerCourse);
+            for (int l = 0; l < lessonsPerCourse; l++) {
+                line(out, "Lesson " + l);
+                line(out, 45 + 15 * random.nextInt(8));
+                line(out, 1 + random.nextInt(LessonType.values().length));
+                line(out, String.format("%02d-%02d-2025", 1 + random.nextInt(28), 1 + random.nextInt(12)));
+                line(out, String.format("%02d:%02d", 8 + random.nextInt(10), 15 * random.nextInt(4)));
+            }
+        }
+
+        int[] catalogue = new int[courses];
+        for (int c = 0; c < courses; c++) catalogue[c] = c;
+        for (int i = 0; i < students; i++) {
+            for (int k = 0; k < maxCourses[i]; k++) {
+                int j = k + random.nextInt(courses - k);
+                int picked = catalogue[j];
+                catalogue[j] = catalogue[k];
+                catalogue[k] = picked;
+                line(out, picked + 1);
+                line(out, 1 + random.nextInt(Semester.values().length));
+            }
+        }
+
+        line(out, "A");
+        line(out, "Student0");
+        line(out, "B");
+        line(out, "Surname0");
+        line(out, "C");
+        line(out, "Course 0");
+        line(out, "Q");
+    }
+
+    private static void line(Appendable out, Object value) throws IOException {
+        out.append(String.valueOf(value)).append('\n');
+    }
+}
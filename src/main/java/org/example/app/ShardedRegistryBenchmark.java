@@ -0,0 +1,193 @@
+package org.example.app;
+
+import org.example.entities.Course;
+import org.example.entities.Professor;
+import org.example.entities.Student;
+import org.example.enums.CourseLevel;
+import org.example.enums.EnrollmentOutcome;
+import org.example.enums.GradeType;
+import org.example.enums.Semester;
+import org.example.storage.ShardedRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Measures how {@link ShardedRegistry} write throughput scales with threads and shards.
+ * <p>
+ * For every combination of thread count and shard count the benchmark builds a fresh
+ * registry, then splits a fixed number of operations over that many platform threads. Each
+ * operation enrolls a random student in a course picked from a Zipf distribution, so a few
+ * hot courses take most of the traffic, and grades the enrollment when it is accepted. A
+ * shard count of 1 is the single-lock baseline. Every cell runs once to warm up and is then
+ * measured {@code rounds} times; the median is reported.
+ * <p>
+ * Run with {@code key=value} arguments overriding {@link Config#defaults()}, e.g.
+ * {@code threads=1,2,4,8 shards=1,16 ops=400000}. Each cell is printed as one line of
+ * {@code key=value} pairs, with {@code speedup} relative to one thread on the same shard count.
+ * Thread counts above {@code available_processors} measure contention, not parallelism.
+ */
+public final class ShardedRegistryBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardedRegistryBenchmark.class);
+
+    /**
+     * Benchmark parameters.
+     *
+     * @param threads thread counts to measure
+     * @param shards shard counts to measure
+     * @param students number of registered students
+     * @param courses number of courses on offer
+     * @param operations enrollment attempts per run, split evenly over the threads
+     * @param skew Zipf exponent of course popularity; 0 picks courses uniformly
+     * @param rounds measured runs per cell
+     * @param seed seed of the course popularity ranking
+     */
+    public record Config(int[] threads, int[] shards, int students, int courses, int operations,
+                         double skew, int rounds, long seed) {
+
+        public Config {
+            Objects.requireNonNull(threads, "Thread counts cannot be null");
+            Objects.requireNonNull(shards, "Shard counts cannot be null");
+            if (threads.length == 0 || shards.length == 0)
+                throw new IllegalArgumentException("Thread and shard counts cannot be empty.");
+            for (int t : threads) if (t <= 0) throw new IllegalArgumentException("Thread counts must be positive.");
+            for (int s : shards) if (s <= 0) throw new IllegalArgumentException("Shard counts must be positive.");
+            if (students <= 0 || courses <= 0 || operations <= 0 || rounds <= 0)
+                throw new IllegalArgumentException("Counts must be positive.");
+            if (skew < 0) throw new IllegalArgumentException("Skew cannot be negative.");
+        }
+
+        public static Config defaults() {
+            return new Config(new int[]{1, 2, 4, 8}, new int[]{1, 4, 16}, 20_000, 100, 400_000, 1.1, 3, 42L);
+        }
+    }
+
+    /**
+     * Median of one cell's measured runs.
+     */
+    public record Result(int threads, int shards, long operations, long enrolled, Duration elapsed) {
+
+        public double throughput() {
+            long nanos = elapsed.toNanos();
+            return nanos == 0 ? 0.0 : operations * 1_000_000_000.0 / nanos;
+        }
+    }
+
+    private ShardedRegistryBenchmark() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    static void main(String[] args) throws InterruptedException {
+        Config d = Config.defaults();
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq <= 0) throw new IllegalArgumentException("Expected key=value, got: " + arg);
+            options.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        Config config = new Config(
+                parseInts(options.get("threads"), d.threads()),
+                parseInts(options.get("shards"), d.shards()),
+                Integer.parseInt(options.getOrDefault("students", String.valueOf(d.students()))),
+                Integer.parseInt(options.getOrDefault("courses", String.valueOf(d.courses()))),
+                Integer.parseInt(options.getOrDefault("ops", String.valueOf(d.operations()))),
+                Double.parseDouble(options.getOrDefault("skew", String.valueOf(d.skew()))),
+                Integer.parseInt(options.getOrDefault("rounds", String.valueOf(d.rounds()))),
+                Long.parseLong(options.getOrDefault("seed", String.valueOf(d.seed()))));
+
+        System.out.println("available_processors=" + Runtime.getRuntime().availableProcessors());
+        for (int shards : config.shards()) {
+            double baseline = 0;
+            for (int threads : config.threads()) {
+                Result result = measure(config, threads, shards);
+                if (baseline == 0) baseline = result.throughput();
+                System.out.printf(Locale.ROOT,
+                        "threads=%d shards=%d ops=%d enrolled=%d elapsed_ms=%d throughput_ops=%.1f speedup=%.2f%n",
+                        threads, shards, result.operations(), result.enrolled(), result.elapsed().toMillis(),
+                        result.throughput(), result.throughput() / baseline);
+            }
+        }
+    }
+
+    /**
+     * Runs one cell: a warm-up run followed by {@code config.rounds()} measured runs.
+     */
+    public static Result measure(Config config, int threads, int shards) throws InterruptedException {
+        Objects.requireNonNull(config, "Config cannot be null");
+        if (threads <= 0 || shards <= 0) throw new IllegalArgumentException("Counts must be positive.");
+
+        run(config, threads, shards);
+        List<Result> results = new ArrayList<>(config.rounds());
+        for (int r = 0; r < config.rounds(); r++) results.add(run(config, threads, shards));
+        results.sort(Comparator.comparing(Result::elapsed));
+        Result median = results.get(results.size() / 2);
+        logger.info("Sharded registry: {} thread(s), {} shard(s): {} ops/s",
+                threads, shards, String.format("%.1f", median.throughput()));
+        return median;
+    }
+
+    private static Result run(Config config, int threads, int shards) throws InterruptedException {
+        Professor professor = new Professor.ProfessorBuilder("Bench", "Professor", 1)
+                .username("bench").maxCourses(config.courses()).build();
+        List<Course> courses = new ArrayList<>(config.courses());
+        ShardedRegistry registry = new ShardedRegistry(shards, ShardedRegistry.Partitioning.STUDENT);
+        for (int c = 0; c < config.courses(); c++) {
+            Course course = new Course("Course " + c, professor, 10, 5, CourseLevel.BEGINNER);
+            courses.add(course);
+            registry.addCourse(course);
+        }
+        Collections.shuffle(courses, new Random(config.seed()));
+        for (int i = 0; i < config.students(); i++) {
+            registry.addStudent(new Student.StudentBuilder("Student", "No" + i, 1_000 + i)
+                    .username("bench" + i).maxCourses(config.courses()).build());
+        }
+        double[] popularity = RegistrationRushSimulator.zipfCdf(config.courses(), config.skew());
+
+        Semester[] semesters = Semester.values();
+        GradeType[] grades = {GradeType.A_PLUS, GradeType.A, GradeType.B, GradeType.C, GradeType.D, GradeType.F};
+        long[] enrolled = new long[threads];
+        CountDownLatch start = new CountDownLatch(1);
+        long t0;
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (int t = 0; t < threads; t++) {
+                int index = t;
+                int operations = config.operations() / threads + (t < config.operations() % threads ? 1 : 0);
+                executor.execute(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    long ok = 0;
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    for (int op = 0; op < operations; op++) {
+                        int studentId = 1_000 + random.nextInt(config.students());
+                        Course course = courses.get(RegistrationRushSimulator.pick(popularity, random.nextDouble()));
+                        Semester semester = semesters[random.nextInt(semesters.length)];
+                        if (registry.enroll(studentId, course, semester) != EnrollmentOutcome.OK) continue;
+                        registry.setGrade(studentId, course, semester, grades[random.nextInt(grades.length)]);
+                        ok++;
+                    }
+                    enrolled[index] = ok;
+                });
+            }
+            t0 = System.nanoTime();
+            start.countDown();
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - t0);
+        return new Result(threads, shards, config.operations(), Arrays.stream(enrolled).sum(), elapsed);
+    }
+
+    private static int[] parseInts(String value, int[] defaults) {
+        if (value == null) return defaults;
+        return Arrays.stream(value.split(",")).mapToInt(s -> Integer.parseInt(s.trim())).toArray();
+    }
+}
@@ -0,0 +1,142 @@
+package org.example.entities;
+
+import org.example.exceptions.NotFoundException;
+import org.example.utils.CompressedBitmap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Per-course attendance stored as compressed bitmaps over roster positions.
+ * <p>
+ * For every lesson the register keeps two {@link CompressedBitmap}s: the roster positions
+ * whose attendance was recorded and those marked absent. Recorded sets are usually dense
+ * (one bit per student) and absences sparse (two bytes per absence), so hundreds of millions
+ * of marks fit in a few tens of megabytes. Presence is {@code recorded AND NOT absent}.
+ */
+public class AttendanceRegister {
+
+    private final Course course;
+    private final List<CompressedBitmap> recorded = new ArrayList<>();
+    private final List<CompressedBitmap> absent = new ArrayList<>();
+
+    AttendanceRegister(Course course) {
+        this.course = course;
+    }
+
+    public synchronized void markPresent(Lesson lesson, int studentId) {
+        int lessonIndex = lessonIndex(lesson);
+        int position = positionOf(studentId);
+        recorded.get(lessonIndex).add(position);
+        absent.get(lessonIndex).remove(position);
+    }
+
+    public synchronized void markAbsent(Lesson lesson, int studentId) {
+        int lessonIndex = lessonIndex(lesson);
+        int position = positionOf(studentId);
+        recorded.get(lessonIndex).add(position);
+        absent.get(lessonIndex).add(position);
+    }
+
+    /**
+     * Records a whole lesson at once: every student currently on the roster is marked
+     * present except those in {@code absentStudentIds}. Replaces any earlier marks for the
+     * lesson; nothing changes if an ID is not on the roster.
+     */
+    public synchronized void recordLesson(Lesson lesson, int... absentStudentIds) {
+        int lessonIndex = lessonIndex(lesson);
+        int rosterSize = course.getEnrollmentCount();
+        int[] absentees = new int[absentStudentIds.length];
+        for (int i = 0; i < absentees.length; i++) absentees[i] = positionOf(absentStudentIds[i]);
+
+        CompressedBitmap held = new CompressedBitmap();
+        held.addRange(0, rosterSize);
+        CompressedBitmap absences = new CompressedBitmap();
+        for (int position : absentees) absences.add(position);
+        recorded.set(lessonIndex, held);
+        absent.set(lessonIndex, absences);
+    }
+
+    /**
+     * Returns the share of recorded lessons the student attended, or -1 if none was recorded.
+     */
+    public synchronized double getAttendanceRate(int studentId) {
+        int position = positionOf(studentId);
+        int held = 0;
+        int missed = 0;
+        for (int i = 0; i < recorded.size(); i++) {
+            if (!recorded.get(i).contains(position)) continue;
+            held++;
+            if (absent.get(i).contains(position)) missed++;
+        }
+        return held == 0 ? -1 : (double) (held - missed) / held;
+    }
+
+    /**
+     * Returns the share of recorded students present at a lesson, or -1 if not recorded.
+     */
+    public synchronized double getLessonAttendanceRate(Lesson lesson) {
+        int lessonIndex = course.getLessons().indexOf(lesson);
+        if (lessonIndex < 0 || lessonIndex >= recorded.size()) return -1;
+        long held = recorded.get(lessonIndex).cardinality();
+        return held == 0 ? -1 : (double) (held - absent.get(lessonIndex).cardinality()) / held;
+    }
+
+    /**
+     * Returns the students whose attendance rate is below {@code threshold} (0.0-1.0),
+     * counting marks per roster position straight from the bitmaps.
+     */
+    public synchronized List<Student> getStudentsBelow(double threshold) {
+        int rosterSize = course.getEnrollmentCount();
+        int[] held = new int[rosterSize];
+        int[] missed = new int[rosterSize];
+
+        for (int i = 0; i < recorded.size(); i++) {
+            recorded.get(i).forEach(p -> held[p]++);
+            absent.get(i).forEach(p -> missed[p]++);
+        }
+
+        List<Student> roster = course.getEnrolledStudents();
+        List<Student> result = new ArrayList<>();
+        for (int p = 0; p < rosterSize; p++) {
+            if (held[p] > 0 && (double) (held[p] - missed[p]) / held[p] < threshold) result.add(roster.get(p));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the roster positions present at a lesson.
+     */
+    public synchronized CompressedBitmap getPresent(Lesson lesson) {
+        int lessonIndex = lessonIndex(lesson);
+        return recorded.get(lessonIndex).andNot(absent.get(lessonIndex));
+    }
+
+    public synchronized long sizeInBytes() {
+        long bytes = 0;
+        for (int i = 0; i < recorded.size(); i++) {
+            bytes += recorded.get(i).sizeInBytes() + absent.get(i).sizeInBytes();
+        }
+        return bytes;
+    }
+
+    private int lessonIndex(Lesson lesson) {
+        Objects.requireNonNull(lesson, "Lesson cannot be null");
+        int index = course.getLessons().indexOf(lesson);
+        if (index < 0)
+            throw new NotFoundException("Lesson " + lesson.getName() + " is not part of course " + course.getName() + ".");
+        while (recorded.size() <= index) {
+            recorded.add(new CompressedBitmap());
+            absent.add(new CompressedBitmap());
+        }
+        return index;
+    }
+
+    private int positionOf(int studentId) {
+        int position = course.getRosterPosition(studentId);
+        if (position < 0)
+            throw new NotFoundException("Student with ID " + studentId + " is not enrolled in " + course.getName() + ".");
+        return position;
+    }
+}
@@ -1,15 +1,20 @@
 package org.example.entities;
 
 import org.example.enums.CourseLevel;
+import org.example.enums.EnrollmentOutcome;
 import org.example.exceptions.DuplicateEnrollmentException;
 import org.example.exceptions.LimitExceededException;
+import org.example.utils.IntIntMap;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Represents an academic course with lessons, professor, ECTS credits, and difficulty level.
  */
 public class Course {
 
+    private static final List<EnrollmentListener> enrollmentListeners = new CopyOnWriteArrayList<>();
+
     private final String name;
     private final Professor professor;
     private final List<Lesson> lessons;
@@ -17,6 +22,11 @@ public class Course {
     private final int maxLessons;
     private final CourseLevel level;
     private final List<Student> enrolledStudents;
+    private final IntIntMap rosterPositions;
+    private volatile Gradebook gradebook;
+    private volatile AttendanceRegister attendance;
+    private volatile long version;
+    private volatile long lessonVersion;
 
     public Course(String name, Professor professor, int maxLessons, int ECTS, CourseLevel level) {
         if (name == null || name.isBlank()) throw new IllegalArgumentException("Course name cannot be empty.");
@@ -31,39 +41,152 @@ public class Course {
         this.ECTS = ECTS;
         this.level = Objects.requireNonNull(level, "Course level cannot be null");
         this.enrolledStudents = new ArrayList<>();
+        this.rosterPositions = new IntIntMap();
     }
 
     public void addLesson(Lesson lesson){
-        Objects.requireNonNull(lesson, "Lesson cannot be null.");
-
-        if (lessons.stream().anyMatch(l -> l.getName().equalsIgnoreCase(lesson.getName())))
+        EnrollmentOutcome outcome = tryAddLesson(lesson);
+        if (outcome == EnrollmentOutcome.DUPLICATE)
             throw new DuplicateEnrollmentException("Lesson " + lesson.getName() +
                     " already exists in course " + name + ".");
 
-        if (lessons.size() >= maxLessons)
+        if (outcome == EnrollmentOutcome.LIMIT)
             throw new LimitExceededException("Course " + name +
                     " has reached the max number of lessons (" + maxLessons + ").");
+    }
 
-        lessons.add(lesson);
+    /**
+     * Adds {@code lesson} and reports a lesson with the same name ({@code DUPLICATE}) or a
+     * full course ({@code LIMIT}) as a result instead of throwing. Allocates nothing on rejection.
+     */
+    public EnrollmentOutcome tryAddLesson(Lesson lesson) {
+        Objects.requireNonNull(lesson, "Lesson cannot be null.");
+
+        synchronized (this) {
+            for (int i = 0; i < lessons.size(); i++) {
+                if (lessons.get(i).getName().equalsIgnoreCase(lesson.getName())) return EnrollmentOutcome.DUPLICATE;
+            }
+            if (lessons.size() >= maxLessons) return EnrollmentOutcome.LIMIT;
+
+            lessons.add(lesson);
+            version++;
+            lessonVersion++;
+            return EnrollmentOutcome.OK;
+        }
     }
 
     public void enrollStudent(Student student) {
         Objects.requireNonNull(student, "Student cannot be null");
-        if (!enrolledStudents.contains(student)) {
-            enrolledStudents.add(student);
+        synchronized (this) {
+            if (!addToRoster(student)) return;
         }
+        for (EnrollmentListener listener : enrollmentListeners) listener.studentEnrolled(this, student);
+    }
+
+    /**
+     * Adds all {@code students} to the roster under a single lock acquisition; students
+     * already on the roster are skipped. Listeners are notified afterwards, once per student added.
+     */
+    public void enrollStudents(List<Student> students) {
+        Objects.requireNonNull(students, "Students cannot be null");
+        List<Student> added = new ArrayList<>(students.size());
+        synchronized (this) {
+            for (Student s : students) {
+                if (addToRoster(Objects.requireNonNull(s, "Student cannot be null"))) added.add(s);
+            }
+        }
+        if (enrollmentListeners.isEmpty()) return;
+        for (Student s : added) {
+            for (EnrollmentListener listener : enrollmentListeners) listener.studentEnrolled(this, s);
+        }
+    }
+
+    private boolean addToRoster(Student student) {
+        if (rosterPositions.containsKey(student.getID())) return false;
+        rosterPositions.put(student.getID(), enrolledStudents.size());
+        enrolledStudents.add(student);
+        version++;
+        return true;
+    }
+
+    /**
+     * Registers a listener notified of every new enrollment in any course.
+     */
+    public static void addEnrollmentListener(EnrollmentListener listener) {
+        enrollmentListeners.add(Objects.requireNonNull(listener, "Listener cannot be null"));
+    }
+
+    public static void removeEnrollmentListener(EnrollmentListener listener) {
+        enrollmentListeners.remove(listener);
+    }
+
+    /**
+     * Returns the student's position in the roster, or -1 if not enrolled.
+     */
+    public synchronized int getRosterPosition(int studentId) {
+        return rosterPositions.get(studentId, -1);
+    }
+
+    public synchronized boolean isEnrolled(int studentId) {
+        return rosterPositions.containsKey(studentId);
     }
 
     public String getName() { return name; }
     public Professor getProfessor() { return professor; }
     public List<Lesson> getLessons() { return Collections.unmodifiableList(lessons); }
     public int getECTS() { return ECTS; }
+    public int getMaxLessons() { return maxLessons; }
+
+    /**
+     * Returns the course's gradebook, created on first use so that the constructor does
+     * not hand out a partially constructed course.
+     */
+    public Gradebook getGradebook() {
+        Gradebook g = gradebook;
+        if (g != null) return g;
+        synchronized (this) {
+            if (gradebook == null) gradebook = new Gradebook(this);
+            return gradebook;
+        }
+    }
+
+    /**
+     * Returns the course's attendance register, created on first use like the gradebook.
+     */
+    public AttendanceRegister getAttendance() {
+        AttendanceRegister a = attendance;
+        if (a != null) return a;
+        synchronized (this) {
+            if (attendance == null) attendance = new AttendanceRegister(this);
+            return attendance;
+        }
+    }
+
     public CourseLevel getLevel() { return level; }
     public List<Student> getEnrolledStudents() {
         return Collections.unmodifiableList(enrolledStudents);
     }
     public int getEnrollmentCount() { return enrolledStudents.size(); }
 
+    /**
+     * Returns a counter bumped by every new lesson or enrollment.
+     */
+    public long getVersion() { return version; }
+
+    /**
+     * Returns a counter bumped only by {@link #addLesson}, for views that show lessons but not the roster.
+     */
+    public long getLessonVersion() { return lessonVersion; }
+
+    /**
+     * Copies the course's current state under the course's monitor; see
+     * {@link RegistrySnapshotter} for consistency across entities.
+     */
+    synchronized RegistrySnapshot.CourseView toView() {
+        return new RegistrySnapshot.CourseView(this, name, professor.getFirstName() + " " + professor.getLastName(),
+                level, ECTS, enrolledStudents.size(), List.copyOf(lessons), version, lessonVersion);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,19 @@
+package org.example.entities;
+
+/**
+ * Receives courses assigned to professors through {@link Professor#addCourse} or
+ * {@link Professor#tryAddCourse}.
+ * <p>
+ * Listeners run synchronously on the assigning thread and should therefore be cheap.
+ */
+@FunctionalInterface
+public interface CourseAssignmentListener {
+
+    /**
+     * Called after a course has been added to a professor's teaching list.
+     *
+     * @param professor the professor now teaching the course
+     * @param courseName the name of the assigned course
+     */
+    void courseAssigned(Professor professor, String courseName);
+}
@@ -4,7 +4,9 @@ import org.example.enums.EnrollmentStatus;
 import org.example.enums.GradeType;
 import org.example.enums.Semester;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Represents a student's enrollment in a specific course for a given semester.
@@ -18,6 +20,8 @@ public record Enrollment(
         LocalDateTime enrollmentDate,
         LocalDateTime completionDate
 ) {
+    private static final List<EnrollmentStatusListener> statusListeners = new CopyOnWriteArrayList<>();
+
     public Enrollment {
         Objects.requireNonNull(student, "Student cannot be null");
         Objects.requireNonNull(course, "Course cannot be null");
@@ -37,11 +41,19 @@ public record Enrollment(
                 newStatus == EnrollmentStatus.FAILED)
                 ? LocalDateTime.now()
                 : this.completionDate;
-        return new Enrollment(student, course, semester, newStatus, grade,
-                enrollmentDate, completion);
+        return notifyStatus(new Enrollment(student, course, semester, newStatus, grade,
+                enrollmentDate, completion));
     }
 
     public Enrollment withGrade(GradeType newGrade) {
+        return withGrade(newGrade, null);
+    }
+
+    /**
+     * Returns a graded copy, using {@code completionTime} instead of the current time
+     * when the grade completes the enrollment (null means now).
+     */
+    public Enrollment withGrade(GradeType newGrade, LocalDateTime completionTime) {
         EnrollmentStatus newStatus = switch (newGrade) {
             case F -> EnrollmentStatus.FAILED;
             case INCOMPLETE, NOT_GRADED -> this.status;
@@ -50,11 +62,43 @@ public record Enrollment(
 
         LocalDateTime completion = (newStatus == EnrollmentStatus.COMPLETED ||
                 newStatus == EnrollmentStatus.FAILED)
-                ? LocalDateTime.now()
+                ? (completionTime != null ? completionTime : LocalDateTime.now())
                 : this.completionDate;
 
-        return new Enrollment(student, course, semester, newStatus, newGrade,
-                enrollmentDate, completion);
+        return notifyStatus(new Enrollment(student, course, semester, newStatus, newGrade,
+                enrollmentDate, completion));
+    }
+
+    /**
+     * Registers a listener notified of every status transition of any enrollment.
+     */
+    public static void addStatusListener(EnrollmentStatusListener listener) {
+        statusListeners.add(Objects.requireNonNull(listener, "Listener cannot be null"));
+    }
+
+    public static void removeStatusListener(EnrollmentStatusListener listener) {
+        statusListeners.remove(listener);
+    }
+
+    /**
+     * Notifies status listeners of a bulk close of {@code semester} that changed enrollments
+     * in place instead of through {@link #withStatus}.
+     */
+    public static void notifySemesterClosed(Semester semester, long completed, long failed, LocalDateTime closedAt) {
+        Objects.requireNonNull(semester, "Semester cannot be null");
+        Objects.requireNonNull(closedAt, "Close time cannot be null");
+        for (EnrollmentStatusListener listener : statusListeners)
+            listener.semesterClosed(semester, completed, failed, closedAt);
+    }
+
+    private Enrollment notifyStatus(Enrollment after) {
+        if (after.status != status || after.grade != grade) {
+            for (EnrollmentStatusListener listener : statusListeners) listener.enrollmentChanged(this, after);
+        }
+        if (after.status != status) {
+            for (EnrollmentStatusListener listener : statusListeners) listener.statusChanged(this, after);
+        }
+        return after;
     }
 
     public boolean isActive() { return status.isActive(); }
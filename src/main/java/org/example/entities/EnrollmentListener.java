@@ -0,0 +1,18 @@
+package org.example.entities;
+
+/**
+ * Receives new enrollments made through {@link Course#enrollStudent}.
+ * <p>
+ * Listeners run synchronously on the enrolling thread and should therefore be cheap.
+ */
+@FunctionalInterface
+public interface EnrollmentListener {
+
+    /**
+     * Called after a student has been added to a course roster.
+     *
+     * @param course the course the student joined
+     * @param student the enrolled student
+     */
+    void studentEnrolled(Course course, Student student);
+}
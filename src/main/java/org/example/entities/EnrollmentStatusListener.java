@@ -0,0 +1,45 @@
+package org.example.entities;
+
+import org.example.enums.Semester;
+
+import java.time.LocalDateTime;
+
+/**
+ * Receives enrollment status transitions, and optionally grade changes, made through
+ * {@link Enrollment#withStatus} or {@link Enrollment#withGrade}.
+ * <p>
+ * Listeners run synchronously on the thread that created the new enrollment and should
+ * therefore be cheap.
+ */
+@FunctionalInterface
+public interface EnrollmentStatusListener {
+
+    /**
+     * Called when a copy of an enrollment with a different status has been created.
+     *
+     * @param before the enrollment before the transition
+     * @param after the enrollment after the transition
+     */
+    void statusChanged(Enrollment before, Enrollment after);
+
+    /**
+     * Called when a copy of an enrollment with a different status or grade has been created,
+     * before {@link #statusChanged}. Listeners that track grades as well as statuses, such as
+     * aggregate counts, override this.
+     */
+    default void enrollmentChanged(Enrollment before, Enrollment after) {
+    }
+
+    /**
+     * Called once after a bulk close moved every active enrollment of {@code semester} to
+     * {@code COMPLETED} or {@code FAILED} in place. No {@link #statusChanged} calls are made
+     * for those enrollments, so listeners tracking individual enrollments should rebuild
+     * their state for the semester.
+     *
+     * @param completed number of enrollments that became completed
+     * @param failed number of enrollments that became failed
+     * @param closedAt completion date given to all of them
+     */
+    default void semesterClosed(Semester semester, long completed, long failed, LocalDateTime closedAt) {
+    }
+}
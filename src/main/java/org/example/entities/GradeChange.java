@@ -0,0 +1,16 @@
+package org.example.entities;
+
+import org.example.enums.GradeType;
+
+/**
+ * Describes one change of a student's course grade, including the GPA before and after.
+ */
+public record GradeChange(
+        Student student,
+        String courseName,
+        GradeType oldGrade,
+        GradeType newGrade,
+        double oldGPA,
+        double newGPA
+) {
+}
@@ -0,0 +1,18 @@
+package org.example.entities;
+
+/**
+ * Receives grade changes made through {@link Student#setGrade}.
+ * <p>
+ * Listeners run synchronously on the thread that changed the grade and should
+ * therefore be cheap (e.g. updating a counter or histogram).
+ */
+@FunctionalInterface
+public interface GradeListener {
+
+    /**
+     * Called after a student's course grade has changed.
+     *
+     * @param change the grade change, never null
+     */
+    void gradeChanged(GradeChange change);
+}
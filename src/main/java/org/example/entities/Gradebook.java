@@ -0,0 +1,111 @@
+package org.example.entities;
+
+import org.example.enums.GradeType;
+import org.example.exceptions.NotFoundException;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Per-course record of assessment scores with an incrementally maintained course score.
+ * <p>
+ * Students are addressed by their roster position in the owning {@link Course}. For every
+ * student the book keeps one byte per lesson (the latest score, or -1) plus a running
+ * weighted sum and weight total, so recording a score is O(1) and memory is bounded by
+ * roster size times {@code maxLessons}, however many submissions arrive.
+ */
+public class Gradebook {
+
+    private static final byte NO_SCORE = -1;
+
+    private final Course course;
+    private final int stride;
+    private byte[] scores;
+    private long[] weightedSums;
+    private int[] weightTotals;
+
+    Gradebook(Course course) {
+        this.course = course;
+        this.stride = course.getMaxLessons();
+        this.scores = new byte[0];
+        this.weightedSums = new long[0];
+        this.weightTotals = new int[0];
+    }
+
+    /**
+     * Records (or replaces) a student's score for an assessed lesson and returns the
+     * resulting course grade.
+     */
+    public synchronized GradeType record(int studentId, Lesson lesson, int score) {
+        Objects.requireNonNull(lesson, "Lesson cannot be null");
+        if (score < 0 || score > 100) throw new IllegalArgumentException("Score must be between 0 and 100");
+        if (!lesson.getType().isAssessment())
+            throw new IllegalArgumentException("Lesson " + lesson.getName() + " is not assessed.");
+
+        int lessonIndex = course.getLessons().indexOf(lesson);
+        if (lessonIndex < 0)
+            throw new NotFoundException("Lesson " + lesson.getName() + " is not part of course " + course.getName() + ".");
+
+        int position = positionOf(studentId);
+        ensureCapacity(position);
+
+        int weight = lesson.getType().getAssessmentWeight();
+        int slot = position * stride + lessonIndex;
+        byte previous = scores[slot];
+        if (previous != NO_SCORE) {
+            weightedSums[position] -= (long) weight * previous;
+            weightTotals[position] -= weight;
+        }
+        scores[slot] = (byte) score;
+        weightedSums[position] += (long) weight * score;
+        weightTotals[position] += weight;
+
+        return gradeAt(position);
+    }
+
+    /**
+     * Returns the weighted course score (0-100), or -1 if nothing has been recorded.
+     */
+    public synchronized double getCourseScore(int studentId) {
+        int position = positionOf(studentId);
+        if (position >= weightTotals.length || weightTotals[position] == 0) return -1;
+        return (double) weightedSums[position] / weightTotals[position];
+    }
+
+    public synchronized GradeType getGrade(int studentId) {
+        int position = positionOf(studentId);
+        return position < weightTotals.length ? gradeAt(position) : GradeType.NOT_GRADED;
+    }
+
+    /**
+     * Returns the latest score for a lesson, or -1 if none was recorded.
+     */
+    public synchronized int getScore(int studentId, Lesson lesson) {
+        int position = positionOf(studentId);
+        int lessonIndex = course.getLessons().indexOf(lesson);
+        if (lessonIndex < 0 || position >= weightTotals.length) return NO_SCORE;
+        return scores[position * stride + lessonIndex];
+    }
+
+    private GradeType gradeAt(int position) {
+        if (weightTotals[position] == 0) return GradeType.NOT_GRADED;
+        return GradeType.fromScore((int) Math.round((double) weightedSums[position] / weightTotals[position]));
+    }
+
+    private int positionOf(int studentId) {
+        int position = course.getRosterPosition(studentId);
+        if (position < 0)
+            throw new NotFoundException("Student with ID " + studentId + " is not enrolled in " + course.getName() + ".");
+        return position;
+    }
+
+    private void ensureCapacity(int position) {
+        if (position < weightTotals.length) return;
+        int capacity = Math.max(position + 1, weightTotals.length * 2);
+        int oldSlots = scores.length;
+        scores = Arrays.copyOf(scores, capacity * stride);
+        Arrays.fill(scores, oldSlots, scores.length, NO_SCORE);
+        weightedSums = Arrays.copyOf(weightedSums, capacity);
+        weightTotals = Arrays.copyOf(weightTotals, capacity);
+    }
+}
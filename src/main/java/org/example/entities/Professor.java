@@ -1,17 +1,21 @@
 package org.example.entities;
 
+import org.example.enums.EnrollmentOutcome;
 import org.example.enums.Role;
 import org.example.exceptions.DuplicateEnrollmentException;
 import org.example.exceptions.LimitExceededException;
 import org.example.exceptions.NegativeValueException;
 
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Represents a professor with course teaching capabilities.
  */
 public class Professor extends User {
 
+    private static final List<CourseAssignmentListener> assignmentListeners = new CopyOnWriteArrayList<>();
+
     private final Set<String> teachingCourses;
     private final int maxCourses;
 
@@ -22,15 +26,38 @@ public class Professor extends User {
     }
 
     public void addCourse(String courseName) {
-        if(teachingCourses.contains(courseName))
+        EnrollmentOutcome outcome = tryAddCourse(courseName);
+        if (outcome == EnrollmentOutcome.DUPLICATE)
             throw new DuplicateEnrollmentException("Professor " + getFirstName() + " " +
                     getLastName() + " is already teaching in the course: " + courseName);
 
-        if(teachingCourses.size() >= maxCourses)
+        if (outcome == EnrollmentOutcome.LIMIT)
             throw new LimitExceededException("Professor " + getFirstName() + " " +
                     getLastName() + " has reached the maximum number of courses (" + maxCourses + ")!");
+    }
+
+    /**
+     * Adds {@code courseName} to the courses taught and reports {@code DUPLICATE} or
+     * {@code LIMIT} as a result instead of throwing. Allocates nothing on rejection.
+     */
+    public EnrollmentOutcome tryAddCourse(String courseName) {
+        if (teachingCourses.contains(courseName)) return EnrollmentOutcome.DUPLICATE;
+        if (teachingCourses.size() >= maxCourses) return EnrollmentOutcome.LIMIT;
 
         teachingCourses.add(courseName);
+        for (CourseAssignmentListener listener : assignmentListeners) listener.courseAssigned(this, courseName);
+        return EnrollmentOutcome.OK;
+    }
+
+    /**
+     * Registers a listener notified of every course assigned to any professor.
+     */
+    public static void addAssignmentListener(CourseAssignmentListener listener) {
+        assignmentListeners.add(Objects.requireNonNull(listener, "Listener cannot be null"));
+    }
+
+    public static void removeAssignmentListener(CourseAssignmentListener listener) {
+        assignmentListeners.remove(listener);
     }
 
     public Set<String> getTeachingCourses() {
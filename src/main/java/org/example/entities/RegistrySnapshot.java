@@ -0,0 +1,43 @@
+package org.example.entities;
+
+import org.example.enums.CourseLevel;
+import org.example.enums.GradeType;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable point-in-time view of students and courses, produced by {@link RegistrySnapshotter}.
+ * <p>
+ * Views of entities that did not change between two snapshots are the same objects, so
+ * consecutive snapshots share most of their state. Readers can iterate a snapshot for as
+ * long as they like without locks while writers keep mutating the live entities.
+ *
+ * @param epoch sequence number of the snapshot, increasing per snapshotter
+ * @param consistent whether all views held at one common instant; if not, each view is
+ *                   still a consistent copy of its own entity
+ */
+public record RegistrySnapshot(long epoch, List<StudentView> students, List<CourseView> courses,
+                               boolean consistent) {
+
+    /**
+     * Frozen copy of a {@link Student}; {@code version} is {@link Student#getVersion()} at copy time.
+     */
+    public record StudentView(Student student, int id, String firstName, String lastName, String email,
+                              double gpa, List<String> courses, Map<String, GradeType> grades, long version) {
+
+        public GradeType grade(String courseName) {
+            return grades.getOrDefault(courseName, GradeType.NOT_GRADED);
+        }
+
+        public int courseCount() { return courses.size(); }
+    }
+
+    /**
+     * Frozen copy of a {@link Course}; {@code version} and {@code lessonVersion} are the
+     * course's counters at copy time.
+     */
+    public record CourseView(Course course, String name, String professorName, CourseLevel level, int ects,
+                             int enrollmentCount, List<Lesson> lessons, long version, long lessonVersion) {
+    }
+}
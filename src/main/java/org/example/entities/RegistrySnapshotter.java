@@ -0,0 +1,131 @@
+package org.example.entities;
+
+import java.util.*;
+
+/**
+ * Takes consistent {@link RegistrySnapshot}s of a set of students and courses.
+ * <p>
+ * The snapshotter remembers the view it made of every entity together with the entity's
+ * version, and re-copies only the entities whose version changed since; everything else is
+ * reused from the previous snapshot. Keep one snapshotter per registry for as long as the
+ * registry lives, so that consecutive snapshots share their unchanged views.
+ * <p>
+ * Writers take no shared lock: each entity is copied under its own monitor, and consistency
+ * across entities comes from a second pass over the versions, as in a seqlock. If no version
+ * moved between the copy and the check, every view held at the instant between the two
+ * passes and the snapshot is {@linkplain RegistrySnapshot#consistent() consistent}. Otherwise
+ * the changed entities are copied again, at most {@value #MAX_ROUNDS} times; under a
+ * sustained write load the snapshot may end up consistent per entity only.
+ * <p>
+ * The {@code students} and {@code courses} collections themselves must not be structurally
+ * modified while a snapshot is taken.
+ */
+public class RegistrySnapshotter {
+
+    private static final int MAX_ROUNDS = 4;
+
+    private final Collection<Student> students;
+    private final Collection<Course> courses;
+    private final Map<Student, RegistrySnapshot.StudentView> studentViews = new IdentityHashMap<>();
+    private final Map<Course, RegistrySnapshot.CourseView> courseViews = new IdentityHashMap<>();
+    private long epoch;
+    private long copied;
+    private long reused;
+
+    public RegistrySnapshotter(Collection<Student> students, Collection<Course> courses) {
+        this.students = Objects.requireNonNull(students, "Students cannot be null");
+        this.courses = Objects.requireNonNull(courses, "Courses cannot be null");
+    }
+
+    /**
+     * Captures the current state of all students and courses, as of one instant unless
+     * writers kept changing them through every retry.
+     */
+    public synchronized RegistrySnapshot snapshot() {
+        RegistrySnapshot.StudentView[] sv = new RegistrySnapshot.StudentView[students.size()];
+        RegistrySnapshot.CourseView[] cv = new RegistrySnapshot.CourseView[courses.size()];
+        boolean consistent = false;
+        for (int round = 0; round < MAX_ROUNDS && !consistent; round++) {
+            copyStudents(sv);
+            copyCourses(cv);
+            consistent = unchanged(sv, cv);
+        }
+
+        if (studentViews.size() > sv.length || courseViews.size() > cv.length) forgetRemoved(sv, cv);
+        return new RegistrySnapshot(++epoch, List.of(sv), List.of(cv), consistent);
+    }
+
+    /**
+     * Number of entity views copied because the entity was new or had changed.
+     */
+    public synchronized long getCopiedViews() { return copied; }
+
+    /**
+     * Number of entity views shared unchanged with the previous snapshot.
+     */
+    public synchronized long getReusedViews() { return reused; }
+
+    /**
+     * Copies a single student; consistent for that student only.
+     */
+    public static RegistrySnapshot.StudentView viewOf(Student student) {
+        return Objects.requireNonNull(student, "Student cannot be null").toView();
+    }
+
+    /**
+     * Copies a single course; consistent for that course only.
+     */
+    public static RegistrySnapshot.CourseView viewOf(Course course) {
+        return Objects.requireNonNull(course, "Course cannot be null").toView();
+    }
+
+    private void copyStudents(RegistrySnapshot.StudentView[] sv) {
+        int i = 0;
+        for (Student s : students) {
+            RegistrySnapshot.StudentView view = studentViews.get(s);
+            if (view == null || view.version() != s.getVersion()) {
+                view = s.toView();
+                studentViews.put(s, view);
+                copied++;
+            } else {
+                reused++;
+            }
+            sv[i++] = view;
+        }
+    }
+
+    private void copyCourses(RegistrySnapshot.CourseView[] cv) {
+        int i = 0;
+        for (Course c : courses) {
+            RegistrySnapshot.CourseView view = courseViews.get(c);
+            if (view == null || view.version() != c.getVersion()) {
+                view = c.toView();
+                courseViews.put(c, view);
+                copied++;
+            } else {
+                reused++;
+            }
+            cv[i++] = view;
+        }
+    }
+
+    /**
+     * Versions only grow, so a view whose entity still has the copied version was current
+     * from its copy until now.
+     */
+    private static boolean unchanged(RegistrySnapshot.StudentView[] sv, RegistrySnapshot.CourseView[] cv) {
+        for (RegistrySnapshot.StudentView v : sv) if (v.student().getVersion() != v.version()) return false;
+        for (RegistrySnapshot.CourseView v : cv) if (v.course().getVersion() != v.version()) return false;
+        return true;
+    }
+
+    private void forgetRemoved(RegistrySnapshot.StudentView[] sv, RegistrySnapshot.CourseView[] cv) {
+        Set<Student> liveStudents = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (RegistrySnapshot.StudentView v : sv) liveStudents.add(v.student());
+        studentViews.keySet().retainAll(liveStudents);
+
+        Set<Course> liveCourses = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (RegistrySnapshot.CourseView v : cv) liveCourses.add(v.course());
+        courseViews.keySet().retainAll(liveCourses);
+    }
+}
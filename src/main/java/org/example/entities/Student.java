@@ -1,5 +1,6 @@
 package org.example.entities;
 
+import org.example.enums.EnrollmentOutcome;
 import org.example.enums.GradeType;
 import org.example.enums.Role;
 import org.example.exceptions.DuplicateEnrollmentException;
@@ -7,15 +8,21 @@ import org.example.exceptions.LimitExceededException;
 import org.example.exceptions.NegativeValueException;
 
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Represents a student with course enrollment capabilities and GPA tracking.
  */
 public class Student extends User {
 
+    private static final List<GradeListener> gradeListeners = new CopyOnWriteArrayList<>();
+
     private final Set<String> enrolledCourses;
     private final int maxCourses;
     private final Map<String, GradeType> courseGrades;
+    private double gradePointSum;
+    private int gradedCount;
+    private volatile long version;
 
     protected Student(StudentBuilder builder){
         super(builder);
@@ -25,41 +32,120 @@ public class Student extends User {
     }
 
     public void enrollCourses(String courseName){
-        if(enrolledCourses.contains(courseName))
-            throw new DuplicateEnrollmentException("Student " + getFirstName() + " " +
-                    getLastName() + " is already enrolled in the course: " + courseName);
+        RuntimeException rejection = rejection(tryEnroll(courseName), courseName, false);
+        if (rejection != null) throw rejection;
+    }
+
+    /**
+     * Returns the exception describing a rejected enrollment of this student in
+     * {@code courseName}, or {@code null} if {@code outcome} is not a rejection this
+     * student can cause ({@code DUPLICATE} or {@code LIMIT}).
+     *
+     * @param stackless whether to skip the stack trace, for callers that only use the message
+     */
+    public RuntimeException rejection(EnrollmentOutcome outcome, String courseName, boolean stackless) {
+        return switch (outcome) {
+            case DUPLICATE -> {
+                String message = "Student " + getFirstName() + " " + getLastName() +
+                        " is already enrolled in the course: " + courseName;
+                yield stackless ? DuplicateEnrollmentException.stackless(message) : new DuplicateEnrollmentException(message);
+            }
+            case LIMIT -> {
+                String message = "Student " + getFirstName() + " " + getLastName() +
+                        " has reached the maximum number of courses (" + maxCourses + ")!";
+                yield stackless ? LimitExceededException.stackless(message) : new LimitExceededException(message);
+            }
+            case OK, NOT_FOUND -> null;
+        };
+    }
+
+    /**
+     * Enrolls the student in {@code courseName} and reports {@code DUPLICATE} or
+     * {@code LIMIT} as a result instead of throwing. Allocates nothing on rejection.
+     */
+    public EnrollmentOutcome tryEnroll(String courseName) {
+        synchronized (this) {
+            return addCourse(courseName);
+        }
+    }
+
+    /**
+     * Enrolls the student in each of {@code courseNames} in order, under a single lock
+     * acquisition, and stores one outcome per name in {@code outcomes} starting at
+     * {@code offset}. Nothing is thrown for duplicates or the course limit.
+     */
+    public void enrollCourses(List<String> courseNames, EnrollmentOutcome[] outcomes, int offset) {
+        Objects.requireNonNull(courseNames, "Course names cannot be null");
+        Objects.requireNonNull(outcomes, "Outcomes cannot be null");
+        Objects.checkFromIndexSize(offset, courseNames.size(), outcomes.length);
+
+        synchronized (this) {
+            for (int i = 0; i < courseNames.size(); i++) outcomes[offset + i] = addCourse(courseNames.get(i));
+        }
+    }
 
-        if(enrolledCourses.size() >= maxCourses)
-            throw new LimitExceededException("Student " + getFirstName() + " " +
-                    getLastName() + " has reached the maximum number of courses (" + maxCourses + ")!");
+    private EnrollmentOutcome addCourse(String courseName) {
+        if (enrolledCourses.contains(courseName)) return EnrollmentOutcome.DUPLICATE;
+        if (enrolledCourses.size() >= maxCourses) return EnrollmentOutcome.LIMIT;
 
         enrolledCourses.add(courseName);
         courseGrades.put(courseName, GradeType.NOT_GRADED);
+        version++;
+        return EnrollmentOutcome.OK;
     }
 
     public void setGrade(String courseName, GradeType grade) {
-        if (!enrolledCourses.contains(courseName)) {
-            throw new IllegalArgumentException("Student is not enrolled in course: " + courseName);
+        GradeChange change;
+        synchronized (this) {
+            if (!enrolledCourses.contains(courseName)) {
+                throw new IllegalArgumentException("Student is not enrolled in course: " + courseName);
+            }
+            GradeType oldGrade = courseGrades.put(courseName, grade);
+            if (oldGrade == grade) return;
+
+            double oldGPA = calculateGPA();
+            if (countsTowardsGPA(oldGrade)) {
+                gradePointSum -= oldGrade.getGradePoint();
+                gradedCount--;
+            }
+            if (countsTowardsGPA(grade)) {
+                gradePointSum += grade.getGradePoint();
+                gradedCount++;
+            }
+            version++;
+            change = gradeListeners.isEmpty() ? null :
+                    new GradeChange(this, courseName, oldGrade, grade, oldGPA, calculateGPA());
+        }
+
+        if (change != null) {
+            for (GradeListener listener : gradeListeners) listener.gradeChanged(change);
         }
-        courseGrades.put(courseName, grade);
     }
 
-    public GradeType getGrade(String courseName) {
-        return courseGrades.getOrDefault(courseName, GradeType.NOT_GRADED);
+    /**
+     * Registers a listener notified of every grade change of any student.
+     */
+    public static void addGradeListener(GradeListener listener) {
+        gradeListeners.add(Objects.requireNonNull(listener, "Listener cannot be null"));
     }
 
-    public double calculateGPA() {
-        List<GradeType> validGrades = courseGrades.values().stream()
-                .filter(g -> g != GradeType.NOT_GRADED && g != GradeType.INCOMPLETE)
-                .toList();
+    public static void removeGradeListener(GradeListener listener) {
+        gradeListeners.remove(listener);
+    }
 
-        if (validGrades.isEmpty()) return 0.0;
+    public synchronized GradeType getGrade(String courseName) {
+        return courseGrades.getOrDefault(courseName, GradeType.NOT_GRADED);
+    }
 
-        double sum = validGrades.stream()
-                .mapToDouble(GradeType::getGradePoint)
-                .sum();
+    /**
+     * Returns the GPA from a running grade point sum kept up to date by {@link #setGrade}.
+     */
+    public synchronized double calculateGPA() {
+        return gradedCount == 0 ? 0.0 : gradePointSum / gradedCount;
+    }
 
-        return sum / validGrades.size();
+    private static boolean countsTowardsGPA(GradeType grade) {
+        return grade != null && grade != GradeType.NOT_GRADED && grade != GradeType.INCOMPLETE;
     }
 
     public Set<String> getEnrolledCourses(){
@@ -70,7 +156,21 @@ public class Student extends User {
         return Collections.unmodifiableMap(courseGrades);
     }
 
-    public int getCourseCount(){ return enrolledCourses.size(); }
+    public synchronized int getCourseCount(){ return enrolledCourses.size(); }
+
+    /**
+     * Returns a counter bumped by every change to the student's courses or grades.
+     */
+    public long getVersion() { return version; }
+
+    /**
+     * Copies the student's current state under the student's monitor; see
+     * {@link RegistrySnapshotter} for consistency across entities.
+     */
+    synchronized RegistrySnapshot.StudentView toView() {
+        return new RegistrySnapshot.StudentView(this, getID(), getFirstName(), getLastName(), getEmail(),
+                calculateGPA(), List.copyOf(enrolledCourses), Map.copyOf(courseGrades), version);
+    }
 
     public int getMaxCourses(){ return maxCourses; }
 
@@ -75,11 +75,13 @@ public class User extends Person {
     public boolean equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof User user)) return false;
+        // users built without a username fall back to the person's ID
+        if (username == null || user.username == null) return username == user.username && super.equals(o);
         return username.equals(user.username);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(username);
+        return username == null ? super.hashCode() : Objects.hash(username);
     }
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package org.example.enums;
+
+/**
+ * Result of an attempt to add something to a bounded set, reported as a value instead of an
+ * exception: a student's enrollment, a professor's course assignment or a course's lesson.
+ */
+public enum EnrollmentOutcome {
+    OK("Accepted"),
+    DUPLICATE("Already present"),
+    LIMIT("Limit reached"),
+    NOT_FOUND("Not found");
+
+    private final String displayName;
+
+    EnrollmentOutcome(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() { return displayName; }
+    public boolean isSuccess() { return this == OK; }
+    @Override
+    public String toString() { return displayName; }
+}
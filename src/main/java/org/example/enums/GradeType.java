@@ -13,6 +13,20 @@ public enum GradeType {
     INCOMPLETE(-1.0, "Incomplete", -1, -1),
     NOT_GRADED(-1.0, "Not Yet Graded", -1, -1);
 
+    private static final GradeType[] BY_SCORE = new GradeType[101];
+
+    static {
+        for (int score = 0; score <= 100; score++) {
+            BY_SCORE[score] = NOT_GRADED;
+            for (GradeType grade : values()) {
+                if (grade.minScore != -1 && score >= grade.minScore && score <= grade.maxScore) {
+                    BY_SCORE[score] = grade;
+                    break;
+                }
+            }
+        }
+    }
+
     private final double gradePoint;
     private final String description;
     private final int minScore;
@@ -29,12 +43,11 @@ public enum GradeType {
     public String getDescription() { return description; }
     public boolean isPassing() { return gradePoint >= 1.5 && gradePoint <= 5.0; }
     /**
-     * Converts a numeric score (0-100) to a letter grade.
+     * Converts a numeric score (0-100) to a letter grade using a precomputed lookup table.
      */
     public static GradeType fromScore(int score) {
         if (score < 0 || score > 100) throw new IllegalArgumentException("Score must be between 0 and 100");
-        for (GradeType grade : values()) if (grade.minScore != -1 && score >= grade.minScore && score <= grade.maxScore) return grade;
-        return NOT_GRADED;
+        return BY_SCORE[score];
     }
     @Override
     public String toString() { return name().replace("_", "+") + " (" + description + ")"; }
@@ -4,24 +4,31 @@ package org.example.enums;
  * Represents different types of lessons within a course.
  */
 public enum LessonType {
-    LECTURE("Lecture", "Traditional classroom lecture"),
-    LAB("Laboratory", "Hands-on practical session"),
-    SEMINAR("Seminar", "Discussion-based session"),
-    WORKSHOP("Workshop", "Interactive skill-building session"),
-    EXAM("Exam", "Assessment session"),
-    QUIZ("Quiz", "Short assessment"),
-    PROJECT_REVIEW("Project Review", "Project presentation and feedback");
+    LECTURE("Lecture", "Traditional classroom lecture", 0),
+    LAB("Laboratory", "Hands-on practical session", 2),
+    SEMINAR("Seminar", "Discussion-based session", 0),
+    WORKSHOP("Workshop", "Interactive skill-building session", 0),
+    EXAM("Exam", "Assessment session", 4),
+    QUIZ("Quiz", "Short assessment", 1),
+    PROJECT_REVIEW("Project Review", "Project presentation and feedback", 3);
 
     private final String displayName;
     private final String description;
+    private final int assessmentWeight;
 
-    LessonType(String displayName, String description) {
+    LessonType(String displayName, String description, int assessmentWeight) {
         this.displayName = displayName;
         this.description = description;
+        this.assessmentWeight = assessmentWeight;
     }
 
     public String getDisplayName() { return displayName; }
     public String getDescription() { return description; }
+    /**
+     * Relative weight of a score from this lesson type in the course score (0 = not assessed).
+     */
+    public int getAssessmentWeight() { return assessmentWeight; }
+    public boolean isAssessment() { return assessmentWeight > 0; }
     @Override
     public String toString() { return displayName; }
 }
\ No newline at end of file
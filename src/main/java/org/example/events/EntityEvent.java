@@ -0,0 +1,44 @@
+package org.example.events;
+
+import org.example.entities.Course;
+import org.example.entities.Enrollment;
+import org.example.entities.GradeChange;
+import org.example.entities.Professor;
+import org.example.entities.Student;
+import org.example.enums.Semester;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entity update delivered by {@link EntityEventPublisher}.
+ */
+public sealed interface EntityEvent {
+
+    record GradeChanged(GradeChange change) implements EntityEvent {
+    }
+
+    record StudentEnrolled(Course course, Student student) implements EntityEvent {
+    }
+
+    record CourseAssigned(Professor professor, String courseName) implements EntityEvent {
+    }
+
+    record EnrollmentStatusChanged(Enrollment before, Enrollment after) implements EntityEvent {
+    }
+
+    /**
+     * Stands in for the status changes of a bulk semester close, which are made in place and
+     * not reported one by one. A subscriber tracking individual enrollments should rebuild
+     * its state for {@code semester}.
+     */
+    record SemesterClosed(Semester semester, long completed, long failed, LocalDateTime closedAt)
+            implements EntityEvent {
+    }
+
+    /**
+     * Stands in for {@code count} events discarded because the subscriber's buffer was full.
+     * A subscriber receiving it has missed updates and should rebuild its state.
+     */
+    record EventsDropped(long count) implements EntityEvent {
+    }
+}
@@ -0,0 +1,268 @@
+package org.example.events;
+
+import org.example.entities.Course;
+import org.example.entities.CourseAssignmentListener;
+import org.example.entities.Enrollment;
+import org.example.entities.EnrollmentListener;
+import org.example.entities.EnrollmentStatusListener;
+import org.example.entities.GradeListener;
+import org.example.entities.Professor;
+import org.example.entities.Student;
+import org.example.enums.Semester;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * In-process change stream of entity updates as a {@link Flow.Publisher} of event batches.
+ * <p>
+ * {@link #attach} registers the publisher on the static entity hooks (grade changes,
+ * enrollments, course assignments, enrollment status transitions and bulk semester closes,
+ * which arrive as one {@link EntityEvent.SemesterClosed}). Each subscriber has
+ * its own bounded buffer. Publishing only appends to those buffers, so the entity update
+ * path never waits for a subscriber; a full buffer discards new events and the subscriber
+ * later receives one {@link EntityEvent.EventsDropped} in their place. Delivery runs on
+ * the publisher's executor, honours {@link Flow.Subscription#request} (one unit of demand
+ * is one batch) and packs up to {@code maxBatch} buffered events into each batch.
+ */
+public final class EntityEventPublisher implements Flow.Publisher<List<EntityEvent>>, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(EntityEventPublisher.class);
+
+    private final int bufferSize;
+    private final int maxBatch;
+    private final Executor executor;
+    private final List<BufferedSubscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final GradeListener gradeListener = change -> publish(new EntityEvent.GradeChanged(change));
+    private final EnrollmentListener enrollmentListener =
+            (course, student) -> publish(new EntityEvent.StudentEnrolled(course, student));
+    private final CourseAssignmentListener assignmentListener =
+            (professor, courseName) -> publish(new EntityEvent.CourseAssigned(professor, courseName));
+    private final EnrollmentStatusListener statusListener = new EnrollmentStatusListener() {
+        @Override
+        public void statusChanged(Enrollment before, Enrollment after) {
+            publish(new EntityEvent.EnrollmentStatusChanged(before, after));
+        }
+
+        @Override
+        public void semesterClosed(Semester semester, long completed, long failed, LocalDateTime closedAt) {
+            publish(new EntityEvent.SemesterClosed(semester, completed, failed, closedAt));
+        }
+    };
+    private volatile boolean closed;
+
+    /**
+     * Creates a detached publisher; feed it with {@link #publish} or use {@link #attach}.
+     *
+     * @param bufferSize events buffered per subscriber before new events are discarded
+     * @param maxBatch maximum number of events per delivered batch
+     * @param executor runs deliveries; one subscriber is never delivered to concurrently
+     */
+    public EntityEventPublisher(int bufferSize, int maxBatch, Executor executor) {
+        if (bufferSize <= 0 || maxBatch <= 0) throw new IllegalArgumentException("Sizes must be positive.");
+        this.bufferSize = bufferSize;
+        this.maxBatch = maxBatch;
+        this.executor = Objects.requireNonNull(executor, "Executor cannot be null");
+    }
+
+    /**
+     * Creates a publisher fed by all entity hooks, delivering on virtual threads.
+     */
+    public static EntityEventPublisher attach(int bufferSize, int maxBatch) {
+        EntityEventPublisher publisher = new EntityEventPublisher(bufferSize, maxBatch,
+                task -> Thread.ofVirtual().name("entity-events").start(task));
+        Student.addGradeListener(publisher.gradeListener);
+        Course.addEnrollmentListener(publisher.enrollmentListener);
+        Professor.addAssignmentListener(publisher.assignmentListener);
+        Enrollment.addStatusListener(publisher.statusListener);
+        logger.info("Entity event publisher attached (buffer {}, batch {})", bufferSize, maxBatch);
+        return publisher;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super List<EntityEvent>> subscriber) {
+        Objects.requireNonNull(subscriber, "Subscriber cannot be null");
+        BufferedSubscription subscription = new BufferedSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+        subscriptions.add(subscription);
+        // re-check after adding: the subscriber may have cancelled from onSubscribe, and a
+        // concurrent close() may have missed the new subscription
+        if (subscription.cancelled) subscriptions.remove(subscription);
+        else if (closed) subscription.complete();
+    }
+
+    /**
+     * Subscribes {@code consumer} with unbounded demand; it receives every batch in order.
+     */
+    public void subscribe(Consumer<? super List<EntityEvent>> consumer) {
+        Objects.requireNonNull(consumer, "Consumer cannot be null");
+        subscribe(new Flow.Subscriber<List<EntityEvent>>() {
+            @Override public void onSubscribe(Flow.Subscription s) { s.request(Long.MAX_VALUE); }
+            @Override public void onNext(List<EntityEvent> batch) { consumer.accept(batch); }
+            @Override public void onError(Throwable t) { logger.warn("Entity event consumer failed: {}", t.getMessage()); }
+            @Override public void onComplete() { }
+        });
+    }
+
+    /**
+     * Offers {@code event} to every subscriber without blocking.
+     */
+    public void publish(EntityEvent event) {
+        Objects.requireNonNull(event, "Event cannot be null");
+        if (closed) return;
+        for (BufferedSubscription s : subscriptions) s.offer(event);
+    }
+
+    public int getSubscriberCount() { return subscriptions.size(); }
+
+    /**
+     * Returns the number of events discarded so far across all current subscribers.
+     */
+    public long getDroppedCount() {
+        long total = 0;
+        for (BufferedSubscription s : subscriptions) total += s.totalDropped.get();
+        return total;
+    }
+
+    /**
+     * Detaches from the entity hooks and completes every subscriber once its buffer is delivered.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        Student.removeGradeListener(gradeListener);
+        Course.removeEnrollmentListener(enrollmentListener);
+        Professor.removeAssignmentListener(assignmentListener);
+        Enrollment.removeStatusListener(statusListener);
+        for (BufferedSubscription s : subscriptions) s.complete();
+    }
+
+    private final class BufferedSubscription implements Flow.Subscription, Runnable {
+        private final Flow.Subscriber<? super List<EntityEvent>> subscriber;
+        private final EntityEvent[] ring = new EntityEvent[bufferSize];
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicLong totalDropped = new AtomicLong();
+        private int head;
+        private int size;
+        private long dropped;
+        private volatile boolean completing;
+        private volatile boolean cancelled;
+        private volatile Throwable error;
+
+        BufferedSubscription(Flow.Subscriber<? super List<EntityEvent>> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        void offer(EntityEvent event) {
+            synchronized (this) {
+                if (cancelled || completing) return;
+                if (size == ring.length) {
+                    dropped++;
+                    totalDropped.incrementAndGet();
+                    return;
+                }
+                ring[(head + size) % ring.length] = event;
+                size++;
+            }
+            if (demand.get() > 0) schedule();
+        }
+
+        void complete() {
+            completing = true;
+            schedule();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                // signalled from the delivery loop, never on the requesting thread
+                error = new IllegalArgumentException("Demand must be positive: " + n);
+                schedule();
+                return;
+            }
+            demand.accumulateAndGet(n, (current, add) -> current + add < 0 ? Long.MAX_VALUE : current + add);
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            subscriptions.remove(this);
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) executor.execute(this);
+        }
+
+        @Override
+        public void run() {
+            do {
+                if (fail()) return;
+                while (!cancelled && demand.get() > 0) {
+                    if (fail()) return;
+                    List<EntityEvent> batch = poll();
+                    if (batch == null) break;
+                    if (demand.get() != Long.MAX_VALUE) demand.decrementAndGet();
+                    try {
+                        subscriber.onNext(batch);
+                    } catch (Throwable t) {
+                        cancel();
+                        subscriber.onError(t);
+                        return;
+                    }
+                }
+                if (completing && !cancelled && isDrained()) {
+                    cancel();
+                    subscriber.onComplete();
+                    return;
+                }
+                scheduled.set(false);
+            } while (hasWork() && scheduled.compareAndSet(false, true));
+        }
+
+        private boolean fail() {
+            Throwable failure = error;
+            if (failure == null || cancelled) return false;
+            cancel();
+            subscriber.onError(failure);
+            return true;
+        }
+
+        private synchronized List<EntityEvent> poll() {
+            if (size == 0 && dropped == 0) return null;
+            List<EntityEvent> batch = new ArrayList<>(Math.min(maxBatch, size + 1));
+            if (dropped > 0) {
+                batch.add(new EntityEvent.EventsDropped(dropped));
+                dropped = 0;
+            }
+            while (size > 0 && batch.size() < maxBatch) {
+                batch.add(ring[head]);
+                ring[head] = null;
+                head = (head + 1) % ring.length;
+                size--;
+            }
+            return batch;
+        }
+
+        private synchronized boolean isDrained() {
+            return size == 0 && dropped == 0;
+        }
+
+        private boolean hasWork() {
+            if (cancelled) return false;
+            if (error != null) return true;
+            return demand.get() > 0 && !isDrained() || completing && isDrained();
+        }
+    }
+}
@@ -15,4 +15,19 @@ public class DuplicateEnrollmentException extends RuntimeException {
     public DuplicateEnrollmentException(String message) {
         super(message);
     }
+
+    private DuplicateEnrollmentException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
+
+    /**
+     * Creates an exception without a stack trace, for hot paths where the rejection is an
+     * expected outcome and only the message is used.
+     *
+     * @param message the detail message explaining the duplicate enrollment
+     * @return the exception, ready to be thrown
+     */
+    public static DuplicateEnrollmentException stackless(String message) {
+        return new DuplicateEnrollmentException(message, false);
+    }
 }
\ No newline at end of file
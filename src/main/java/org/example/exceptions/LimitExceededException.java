@@ -16,4 +16,19 @@ public class LimitExceededException extends RuntimeException {
     public LimitExceededException(String message) {
         super(message);
     }
+
+    private LimitExceededException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
+
+    /**
+     * Creates an exception without a stack trace, for hot paths where the rejection is an
+     * expected outcome and only the message is used.
+     *
+     * @param message the detail message explaining the limit violation
+     * @return the exception, ready to be thrown
+     */
+    public static LimitExceededException stackless(String message) {
+        return new LimitExceededException(message, false);
+    }
 }
\ No newline at end of file
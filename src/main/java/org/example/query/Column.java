@@ -0,0 +1,102 @@
+package org.example.query;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Named attribute of a {@link Table} row and the kind of index it supports.
+ */
+final class Column<T> {
+
+    enum Kind { TEXT, NUMBER, VALUE }
+
+    enum IndexKind { NONE, HASH, SORTED }
+
+    private final String name;
+    private final Kind kind;
+    private final IndexKind indexKind;
+    private final Function<? super T, ?> value;
+    private final ToDoubleFunction<? super T> number;
+
+    private Column(String name, Kind kind, IndexKind indexKind,
+                   Function<? super T, ?> value, ToDoubleFunction<? super T> number) {
+        this.name = name;
+        this.kind = kind;
+        this.indexKind = indexKind;
+        this.value = value;
+        this.number = number;
+    }
+
+    static <T> Column<T> text(String name, Function<? super T, String> value, boolean indexed) {
+        return new Column<>(name, Kind.TEXT, indexed ? IndexKind.HASH : IndexKind.NONE, value, null);
+    }
+
+    static <T> Column<T> number(String name, ToDoubleFunction<? super T> number, boolean indexed) {
+        return new Column<>(name, Kind.NUMBER, indexed ? IndexKind.SORTED : IndexKind.NONE,
+                number::applyAsDouble, number);
+    }
+
+    /**
+     * Numeric column whose values are projected as {@code Integer}.
+     */
+    static <T> Column<T> integer(String name, ToIntFunction<? super T> number, boolean indexed) {
+        return new Column<>(name, Kind.NUMBER, indexed ? IndexKind.SORTED : IndexKind.NONE,
+                number::applyAsInt, number::applyAsInt);
+    }
+
+    static <T> Column<T> value(String name, Function<? super T, ?> value, boolean indexed) {
+        return new Column<>(name, Kind.VALUE, indexed ? IndexKind.HASH : IndexKind.NONE, value, null);
+    }
+
+    String name() { return name; }
+    Kind kind() { return kind; }
+    IndexKind indexKind() { return indexKind; }
+
+    Object get(T row) {
+        return value.apply(row);
+    }
+
+    double getNumber(T row) {
+        return number.applyAsDouble(row);
+    }
+
+    /**
+     * Key under which the hash index stores {@code v}; text is matched case-insensitively.
+     */
+    Object key(Object v) {
+        return kind == Kind.TEXT && v != null ? v.toString().toLowerCase(Locale.ROOT) : v;
+    }
+
+    /**
+     * Turns {@code c} into a predicate that reads this column without boxing numbers.
+     */
+    Predicate<T> compile(Condition c) {
+        if (kind == Kind.NUMBER) {
+            if (c.op() == Condition.Op.IN) {
+                double[] set = c.values().stream().mapToDouble(v -> ((Number) v).doubleValue()).sorted().toArray();
+                return row -> Arrays.binarySearch(set, number.applyAsDouble(row)) >= 0;
+            }
+            double lo = c.lower();
+            double hi = c.upper();
+            boolean loIn = c.lowerInclusive();
+            boolean hiIn = c.upperInclusive();
+            return row -> {
+                double v = number.applyAsDouble(row);
+                return (loIn ? v >= lo : v > lo) && (hiIn ? v <= hi : v < hi);
+            };
+        }
+        if (c.op().isRange())
+            throw new IllegalArgumentException(c.op() + " is not supported on non-numeric column " + name);
+
+        if (c.op() == Condition.Op.EQ) {
+            Object expected = key(c.values().getFirst());
+            return row -> Objects.equals(key(value.apply(row)), expected);
+        }
+        Set<Object> expected = new HashSet<>();
+        for (Object v : c.values()) expected.add(key(v));
+        return row -> expected.contains(key(value.apply(row)));
+    }
+}
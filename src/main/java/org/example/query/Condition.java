@@ -0,0 +1,112 @@
+package org.example.query;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A single {@code column op value} restriction of a {@link Query}.
+ * Text columns compare case-insensitively, numeric columns compare as {@code double}.
+ */
+public record Condition(String column, Op op, List<Object> values) {
+
+    /**
+     * Comparison operators; range operators apply to numeric columns only.
+     */
+    public enum Op {
+        EQ("="), IN("IN"), LT("<"), LE("<="), GT(">"), GE(">="), BETWEEN("BETWEEN");
+
+        private final String symbol;
+
+        Op(String symbol) {
+            this.symbol = symbol;
+        }
+
+        public boolean isRange() {
+            return this != EQ && this != IN;
+        }
+    }
+
+    public Condition {
+        Objects.requireNonNull(column, "Column cannot be null");
+        Objects.requireNonNull(op, "Operator cannot be null");
+        values = List.copyOf(values);
+        if (values.isEmpty()) throw new IllegalArgumentException("Condition on " + column + " needs a value.");
+        if (op.isRange()) {
+            for (Object v : values) {
+                if (!(v instanceof Number))
+                    throw new IllegalArgumentException(op + " on " + column + " needs a numeric value, got " + v);
+            }
+        }
+        if (op == Op.BETWEEN) {
+            if (values.size() != 2)
+                throw new IllegalArgumentException("BETWEEN on " + column + " needs two values, got " + values.size());
+            if (((Number) values.get(0)).doubleValue() > ((Number) values.get(1)).doubleValue())
+                throw new IllegalArgumentException("Range start must not exceed its end.");
+        }
+    }
+
+    public static Condition eq(String column, Object value) {
+        return new Condition(column, Op.EQ, List.of(value));
+    }
+
+    public static Condition in(String column, Object... values) {
+        return new Condition(column, Op.IN, List.of(values));
+    }
+
+    public static Condition lt(String column, double value) {
+        return new Condition(column, Op.LT, List.of(value));
+    }
+
+    public static Condition le(String column, double value) {
+        return new Condition(column, Op.LE, List.of(value));
+    }
+
+    public static Condition gt(String column, double value) {
+        return new Condition(column, Op.GT, List.of(value));
+    }
+
+    public static Condition ge(String column, double value) {
+        return new Condition(column, Op.GE, List.of(value));
+    }
+
+    /**
+     * Inclusive range {@code [from, to]}.
+     */
+    public static Condition between(String column, double from, double to) {
+        return new Condition(column, Op.BETWEEN, List.of(from, to));
+    }
+
+    double lower() {
+        return switch (op) {
+            case EQ, GT, GE, BETWEEN -> number(0);
+            default -> Double.NEGATIVE_INFINITY;
+        };
+    }
+
+    double upper() {
+        return switch (op) {
+            case EQ, LT, LE -> number(0);
+            case BETWEEN -> number(1);
+            default -> Double.POSITIVE_INFINITY;
+        };
+    }
+
+    boolean lowerInclusive() { return op != Op.GT; }
+
+    boolean upperInclusive() { return op != Op.LT; }
+
+    private double number(int i) {
+        if (!(values.get(i) instanceof Number n))
+            throw new IllegalArgumentException(column + " is numeric, got " + values.get(i));
+        return n.doubleValue();
+    }
+
+    @Override
+    public String toString() {
+        return switch (op) {
+            case IN -> column + " IN " + values;
+            case BETWEEN -> column + " BETWEEN " + values.get(0) + " AND " + values.get(1);
+            default -> column + " " + op.symbol + " " + values.getFirst();
+        };
+    }
+}
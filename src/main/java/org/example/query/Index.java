@@ -0,0 +1,161 @@
+package org.example.query;
+
+import org.example.utils.CollectionUtils;
+import org.example.utils.KeySort;
+
+import java.util.*;
+
+/**
+ * Secondary index over one {@link Column} of a {@link Table}.
+ */
+sealed interface Index<T> permits Index.Hash, Index.Sorted {
+
+    /**
+     * Returns the rows that may satisfy {@code c}, or {@code null} if this index cannot serve it.
+     */
+    List<T> lookup(Condition c);
+
+    /**
+     * Estimated number of rows {@link #lookup} would return, without building the list.
+     */
+    long estimate(Condition c);
+
+    /**
+     * Equality index: value key to the rows holding it.
+     */
+    final class Hash<T> implements Index<T> {
+        private final Column<T> column;
+        private final Map<Object, List<T>> buckets;
+
+        Hash(Column<T> column, Collection<T> rows) {
+            this.column = column;
+            this.buckets = CollectionUtils.<T>pipeline(rows).groupBy(r -> column.key(column.get(r)));
+        }
+
+        @Override
+        public List<T> lookup(Condition c) {
+            if (c.op().isRange()) return null;
+            if (c.op() == Condition.Op.EQ) return buckets.getOrDefault(column.key(c.values().getFirst()), List.of());
+
+            List<T> result = new ArrayList<>();
+            for (Object key : distinctKeys(c)) result.addAll(buckets.getOrDefault(key, List.of()));
+            return result;
+        }
+
+        @Override
+        public long estimate(Condition c) {
+            if (c.op().isRange()) return Long.MAX_VALUE;
+            long total = 0;
+            for (Object key : distinctKeys(c)) total += buckets.getOrDefault(key, List.of()).size();
+            return total;
+        }
+
+        private Set<Object> distinctKeys(Condition c) {
+            Set<Object> keys = new LinkedHashSet<>();
+            for (Object v : c.values()) keys.add(column.key(v));
+            return keys;
+        }
+    }
+
+    /**
+     * Range index: rows ordered by a numeric key, searched with binary search.
+     */
+    final class Sorted<T> implements Index<T> {
+        private final List<T> rows;
+        private final double[] keys;
+
+        Sorted(Column<T> column, Collection<T> rows) {
+            this.rows = KeySort.of(rows).byDouble(column::getNumber).sort();
+            this.keys = new double[this.rows.size()];
+            for (int i = 0; i < keys.length; i++) keys[i] = column.getNumber(this.rows.get(i));
+        }
+
+        @Override
+        public List<T> lookup(Condition c) {
+            if (c.op() == Condition.Op.IN) {
+                List<T> result = new ArrayList<>();
+                double[] values = c.values().stream().mapToDouble(v -> ((Number) v).doubleValue())
+                        .distinct().sorted().toArray();
+                for (double v : values) result.addAll(rows.subList(from(v, true), to(v, true)));
+                return result;
+            }
+            return rows.subList(from(c.lower(), c.lowerInclusive()), to(c.upper(), c.upperInclusive()));
+        }
+
+        @Override
+        public long estimate(Condition c) {
+            if (c.op() == Condition.Op.IN) return lookup(c).size();
+            return Math.max(0, to(c.upper(), c.upperInclusive()) - from(c.lower(), c.lowerInclusive()));
+        }
+
+        /**
+         * Rows in ascending key order, for ordered scans.
+         */
+        List<T> ordered() {
+            return rows;
+        }
+
+        /**
+         * Rows in descending key order with equal keys kept in ascending (source) order, the
+         * order a stable descending sort produces. Runs of equal keys are found lazily, so a
+         * limited scan only touches the rows it returns.
+         */
+        Collection<T> descending() {
+            return new AbstractCollection<>() {
+                @Override
+                public Iterator<T> iterator() {
+                    return new Iterator<>() {
+                        private int boundary = keys.length;
+                        private int next;
+                        private int end;
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < end || boundary > 0;
+                        }
+
+                        @Override
+                        public T next() {
+                            if (next >= end) {
+                                if (boundary == 0) throw new NoSuchElementException();
+                                end = boundary;
+                                int start = end - 1;
+                                while (start > 0 && Double.compare(keys[start - 1], keys[end - 1]) == 0) start--;
+                                next = start;
+                                boundary = start;
+                            }
+                            return rows.get(next++);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return keys.length;
+                }
+            };
+        }
+
+        private int from(double lo, boolean inclusive) {
+            int a = 0;
+            int b = keys.length;
+            while (a < b) {
+                int mid = (a + b) >>> 1;
+                if (inclusive ? keys[mid] < lo : keys[mid] <= lo) a = mid + 1;
+                else b = mid;
+            }
+            return a;
+        }
+
+        private int to(double hi, boolean inclusive) {
+            int a = 0;
+            int b = keys.length;
+            while (a < b) {
+                int mid = (a + b) >>> 1;
+                if (inclusive ? keys[mid] <= hi : keys[mid] < hi) a = mid + 1;
+                else b = mid;
+            }
+            return a;
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package org.example.query;
+
+import org.example.utils.CollectionUtils;
+import org.example.utils.KeySort;
+import org.example.utils.Pipeline;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Filter/project/group/order/limit query over a {@link Table}.
+ * <p>
+ * Planning picks the access path: an index lookup when some condition hits an index and
+ * is selective enough, an ordered walk of a sorted index when the query orders by that
+ * column with a limit, and a full scan otherwise. The remaining conditions are compiled
+ * into one fused predicate, most selective first, and evaluated in a single
+ * {@link Pipeline} pass that runs on the fork-join pool for large inputs.
+ * {@link #explain()} shows the chosen plan and why other indexes were skipped.
+ *
+ * @param <T> row type
+ */
+public final class Query<T> {
+
+    private static final double INDEX_SELECTIVITY = 0.25;
+    private static final int PARALLEL_THRESHOLD = 1 << 15;
+
+    private final Table<T> table;
+    private final List<Condition> conditions = new ArrayList<>();
+    private final List<Order<T>> order = new ArrayList<>();
+    private int limit = -1;
+
+    Query(Table<T> table) {
+        this.table = table;
+    }
+
+    private enum Access { FULL_SCAN, INDEX_LOOKUP, INDEX_ORDER_SCAN }
+
+    private record Order<T>(Column<T> column, boolean descending) {
+    }
+
+    private record Plan<T>(Access access, Condition indexCondition, Index<T> index, long candidates,
+                           List<Condition> residual, Predicate<T> filter, boolean parallel, List<String> notes) {
+    }
+
+    /**
+     * Adds a condition; all conditions must hold.
+     */
+    public Query<T> where(Condition condition) {
+        Objects.requireNonNull(condition, "Condition cannot be null");
+        table.column(condition.column()).compile(condition);
+        conditions.add(condition);
+        return this;
+    }
+
+    public Query<T> orderBy(String column) {
+        order.add(new Order<>(table.column(column), false));
+        return this;
+    }
+
+    public Query<T> orderByDescending(String column) {
+        order.add(new Order<>(table.column(column), true));
+        return this;
+    }
+
+    public Query<T> limit(int maxRows) {
+        if (maxRows < 0) throw new IllegalArgumentException("Limit cannot be negative.");
+        this.limit = maxRows;
+        return this;
+    }
+
+    public List<T> list() {
+        return execute(plan(limit), limit);
+    }
+
+    public Optional<T> first() {
+        int firstLimit = limit < 0 ? 1 : Math.min(limit, 1);
+        List<T> rows = execute(plan(firstLimit), firstLimit);
+        return rows.isEmpty() ? Optional.empty() : Optional.of(rows.getFirst());
+    }
+
+    /**
+     * Projects each result row with {@code projection}.
+     */
+    public <R> List<R> select(Function<? super T, ? extends R> projection) {
+        Objects.requireNonNull(projection, "Projection cannot be null");
+        if (order.isEmpty() && limit < 0) return rows(plan(limit)).<R>map(projection).toList();
+        return CollectionUtils.map(list(), projection);
+    }
+
+    /**
+     * Projects each result row onto the named columns.
+     */
+    public List<List<Object>> select(String... columnNames) {
+        List<Column<T>> projected = new ArrayList<>(columnNames.length);
+        for (String c : columnNames) projected.add(table.column(c));
+        return select(row -> {
+            List<Object> values = new ArrayList<>(projected.size());
+            for (Column<T> c : projected) values.add(c.get(row));
+            return Collections.unmodifiableList(values);
+        });
+    }
+
+    public Map<Object, List<T>> groupBy(String columnName) {
+        Column<T> column = table.column(columnName);
+        if (order.isEmpty() && limit < 0) return rows(plan(limit)).groupBy(column::get);
+        Map<Object, List<T>> groups = new LinkedHashMap<>();
+        for (T row : list()) groups.computeIfAbsent(column.get(row), k -> new ArrayList<>()).add(row);
+        return groups;
+    }
+
+    public Map<Object, Long> countBy(String columnName) {
+        Column<T> column = table.column(columnName);
+        if (order.isEmpty() && limit < 0) return rows(plan(limit)).countBy(column::get);
+        Map<Object, Long> counts = new LinkedHashMap<>();
+        for (T row : list()) counts.merge(column.get(row), 1L, Long::sum);
+        return counts;
+    }
+
+    public long count() {
+        Plan<T> plan = plan(limit);
+        long n = rows(plan).count();
+        return limit < 0 ? n : Math.min(n, limit);
+    }
+
+    /**
+     * Describes how the query would run: access path, candidate rows, fused filter,
+     * ordering, limit and execution mode.
+     */
+    public String explain() {
+        Plan<T> plan = plan(limit);
+        StringBuilder sb = new StringBuilder();
+        sb.append("Query on ").append(table.getName()).append(" (").append(table.size()).append(" rows)\n");
+        sb.append("  access: ").append(switch (plan.access) {
+            case FULL_SCAN -> "full scan";
+            case INDEX_LOOKUP -> "index lookup on " + plan.indexCondition;
+            case INDEX_ORDER_SCAN -> "ordered scan of sorted index on " + order.getFirst().column().name() +
+                    (order.getFirst().descending() ? " DESC" : "");
+        }).append(" (~").append(plan.candidates).append(" candidate rows)\n");
+        sb.append("  filter: ").append(plan.residual.isEmpty() ? "none" : "fused " + plan.residual).append('\n');
+        if (!order.isEmpty()) {
+            sb.append("  order: ");
+            for (int i = 0; i < order.size(); i++) {
+                if (i > 0) sb.append(", ");
+                sb.append(order.get(i).column().name()).append(order.get(i).descending() ? " DESC" : "");
+            }
+            sb.append(plan.access == Access.INDEX_ORDER_SCAN ? " (from index)\n" :
+                    limit >= 0 ? " (top-" + limit + " heap)\n" : " (KeySort)\n");
+        }
+        if (limit >= 0) sb.append("  limit: ").append(limit).append('\n');
+        sb.append("  mode: ").append(plan.parallel ? "parallel" : "sequential").append('\n');
+        for (String note : plan.notes) sb.append("  note: ").append(note).append('\n');
+        return sb.toString();
+    }
+
+    private Plan<T> plan(int limit) {
+        int n = table.size();
+        List<String> notes = new ArrayList<>();
+
+        Condition best = null;
+        Index<T> bestIndex = null;
+        long bestEstimate = Long.MAX_VALUE;
+        for (Condition c : conditions) {
+            Index<T> index = table.index(table.column(c.column()));
+            if (index == null) continue;
+            long estimate = index.estimate(c);
+            if (estimate == Long.MAX_VALUE) {
+                notes.add("hash index on " + c.column() + " cannot serve " + c.op());
+                continue;
+            }
+            if (estimate < bestEstimate) {
+                if (best != null) notes.add("index on " + best.column() + " skipped: ~" + bestEstimate + " rows");
+                best = c;
+                bestIndex = index;
+                bestEstimate = estimate;
+            } else {
+                notes.add("index on " + c.column() + " skipped: ~" + estimate + " rows");
+            }
+        }
+
+        Access access = Access.FULL_SCAN;
+        long candidates = n;
+        if (best != null && bestEstimate <= n * INDEX_SELECTIVITY) {
+            access = Access.INDEX_LOOKUP;
+            candidates = bestEstimate;
+        } else {
+            if (best != null) {
+                notes.add("index on " + best.column() + " not selective enough: ~" + bestEstimate + " of " + n + " rows");
+                best = null;
+                bestIndex = null;
+            }
+            if (order.size() == 1 && limit >= 0 && table.index(order.getFirst().column()) instanceof Index.Sorted<T>) {
+                access = Access.INDEX_ORDER_SCAN;
+            }
+        }
+        if (access == Access.FULL_SCAN && n >= PARALLEL_THRESHOLD && !conditions.isEmpty() && bestIndex == null) {
+            notes.add("no usable index; consider a condition on an indexed column " + indexedColumns());
+        }
+
+        List<Condition> residual = new ArrayList<>(conditions);
+        residual.sort(Comparator.comparingDouble(Query::selectivity));
+        List<Predicate<T>> compiled = new ArrayList<>(residual.size());
+        for (Condition c : residual) compiled.add(table.column(c.column()).compile(c));
+
+        boolean parallel = access != Access.INDEX_ORDER_SCAN && candidates >= PARALLEL_THRESHOLD;
+        return new Plan<>(access, best, bestIndex, candidates, residual, fuse(compiled), parallel, notes);
+    }
+
+    /**
+     * Rows matching all conditions, unordered and unlimited.
+     */
+    private Pipeline<T> rows(Plan<T> plan) {
+        Collection<T> source = switch (plan.access) {
+            case FULL_SCAN -> table.rows();
+            case INDEX_LOOKUP -> plan.index.lookup(plan.indexCondition);
+            case INDEX_ORDER_SCAN -> {
+                Index.Sorted<T> sorted = (Index.Sorted<T>) table.index(order.getFirst().column());
+                yield order.getFirst().descending() ? sorted.descending() : sorted.ordered();
+            }
+        };
+        Pipeline<T> pipeline = CollectionUtils.pipeline(source);
+        if (plan.filter != null) pipeline = pipeline.filter(plan.filter);
+        return plan.parallel ? pipeline.parallel() : pipeline;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private List<T> execute(Plan<T> plan, int limit) {
+        Pipeline<T> rows = rows(plan);
+        if (order.isEmpty() || plan.access == Access.INDEX_ORDER_SCAN) {
+            return limit >= 0 ? rows.limit(limit).toList() : rows.toList();
+        }
+
+        KeySort<T> sort = KeySort.of(rows.toList());
+        for (Order<T> o : order) {
+            Column<T> c = o.column();
+            if (c.kind() == Column.Kind.NUMBER) {
+                sort = o.descending() ? sort.byDoubleDescending(c::getNumber) : sort.byDouble(c::getNumber);
+            } else {
+                Function<T, Comparable> key = row -> (Comparable) c.get(row);
+                sort = o.descending() ? sort.byDescending(key) : sort.by(key);
+            }
+        }
+        return limit >= 0 ? sort.top(limit) : sort.sort();
+    }
+
+    private static <T> Predicate<T> fuse(List<Predicate<T>> predicates) {
+        if (predicates.isEmpty()) return null;
+        if (predicates.size() == 1) return predicates.getFirst();
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Predicate<T>[] all = predicates.toArray(new Predicate[0]);
+        return row -> {
+            for (Predicate<T> p : all) {
+                if (!p.test(row)) return false;
+            }
+            return true;
+        };
+    }
+
+    /**
+     * Rough share of rows a condition keeps, used to order the fused predicate.
+     */
+    private static double selectivity(Condition c) {
+        return switch (c.op()) {
+            case EQ -> 0.05;
+            case IN -> Math.min(1.0, 0.05 * c.values().size());
+            case BETWEEN -> 0.25;
+            default -> 0.5;
+        };
+    }
+
+    private List<String> indexedColumns() {
+        List<String> names = new ArrayList<>();
+        for (String name : table.getColumnNames()) {
+            if (table.column(name).indexKind() != Column.IndexKind.NONE) names.add(name);
+        }
+        return names;
+    }
+}
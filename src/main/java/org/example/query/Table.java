@@ -0,0 +1,207 @@
+package org.example.query;
+
+import org.example.entities.Course;
+import org.example.entities.Enrollment;
+import org.example.entities.GradeListener;
+import org.example.entities.Student;
+
+import java.util.*;
+
+/**
+ * Queryable view of a collection with named columns and lazily built indexes.
+ * <p>
+ * Indexes are built on first use and belong to this table alone. Rows added, removed or
+ * replaced through {@link #add}, {@link #remove} and {@link #replace} (e.g. an enrollment
+ * replaced with its {@code withGrade} copy) bump the table's own version, which drops its
+ * indexes; a change of the collection's size made elsewhere does too. Indexes on columns
+ * derived from grades (the students' GPA) are dropped on the next grade change and only
+ * while they exist does the table listen for grades; {@link #close} stops listening. Other
+ * changes made to the collection or its rows directly go unnoticed; call {@link #refresh()}
+ * after them.
+ *
+ * @param <T> row type
+ */
+public final class Table<T> implements AutoCloseable {
+
+    private final String name;
+    private final Collection<T> rows;
+    private final Map<String, Column<T>> columns = new LinkedHashMap<>();
+    private final Map<String, Index<T>> indexes = new HashMap<>();
+    private final Set<String> gradeDerived;
+    private GradeListener gradeListener;
+    private long version;
+    private long indexedVersion = -1;
+    private int indexedSize = -1;
+
+    private Table(String name, Collection<T> rows, Set<String> gradeDerived) {
+        this.name = name;
+        this.rows = Objects.requireNonNull(rows, "Rows cannot be null");
+        this.gradeDerived = gradeDerived;
+    }
+
+    /**
+     * Columns: id, firstName, lastName, username, gpa, courseCount, maxCourses.
+     * Indexed: id, firstName, lastName, gpa.
+     */
+    public static Table<Student> students(Collection<Student> students) {
+        return new Table<>("students", students, Set.of("gpa"))
+                .with(Column.integer("id", Student::getID, true))
+                .with(Column.text("firstName", Student::getFirstName, true))
+                .with(Column.text("lastName", Student::getLastName, true))
+                .with(Column.text("username", Student::getUsername, false))
+                .with(Column.number("gpa", Student::calculateGPA, true))
+                .with(Column.integer("courseCount", Student::getCourseCount, false))
+                .with(Column.integer("maxCourses", Student::getMaxCourses, false));
+    }
+
+    /**
+     * Columns: name, professor, professorId, level, ects, enrollmentCount, maxLessons.
+     * Indexed: name, professorId.
+     */
+    public static Table<Course> courses(Collection<Course> courses) {
+        return new Table<>("courses", courses, Set.<String>of())
+                .with(Column.text("name", Course::getName, true))
+                .with(Column.value("professor", Course::getProfessor, false))
+                .with(Column.integer("professorId", c -> c.getProfessor().getID(), true))
+                .with(Column.value("level", Course::getLevel, false))
+                .with(Column.integer("ects", Course::getECTS, false))
+                .with(Column.integer("enrollmentCount", Course::getEnrollmentCount, false))
+                .with(Column.integer("maxLessons", Course::getMaxLessons, false));
+    }
+
+    /**
+     * Columns: student, studentId, course, courseName, semester, status, grade, passed.
+     * Indexed: studentId, course, courseName, semester.
+     */
+    public static Table<Enrollment> enrollments(Collection<Enrollment> enrollments) {
+        return new Table<>("enrollments", enrollments, Set.<String>of())
+                .with(Column.value("student", Enrollment::student, false))
+                .with(Column.integer("studentId", e -> e.student().getID(), true))
+                .with(Column.value("course", Enrollment::course, true))
+                .with(Column.text("courseName", e -> e.course().getName(), true))
+                .with(Column.value("semester", Enrollment::semester, true))
+                .with(Column.value("status", Enrollment::status, false))
+                .with(Column.value("grade", Enrollment::grade, false))
+                .with(Column.value("passed", Enrollment::isPassed, false));
+    }
+
+    public Query<T> query() {
+        return new Query<>(this);
+    }
+
+    /**
+     * Adds {@code row} to the underlying collection.
+     */
+    public synchronized boolean add(T row) {
+        Objects.requireNonNull(row, "Row cannot be null");
+        if (!rows.add(row)) return false;
+        version++;
+        return true;
+    }
+
+    /**
+     * Removes {@code row} from the underlying collection.
+     */
+    public synchronized boolean remove(T row) {
+        if (!rows.remove(row)) return false;
+        version++;
+        return true;
+    }
+
+    /**
+     * Replaces {@code before} with {@code after}, in place if the rows are a list.
+     *
+     * @throws IllegalArgumentException if {@code before} is not a row of this table
+     */
+    public synchronized void replace(T before, T after) {
+        Objects.requireNonNull(after, "Row cannot be null");
+        if (rows instanceof List<T> list) {
+            int i = list.indexOf(before);
+            if (i < 0) throw new IllegalArgumentException("No such row in " + name + ": " + before);
+            list.set(i, after);
+        } else {
+            if (!rows.remove(before)) throw new IllegalArgumentException("No such row in " + name + ": " + before);
+            rows.add(after);
+        }
+        version++;
+    }
+
+    /**
+     * Drops all indexes; they are rebuilt from the current rows on next use.
+     */
+    public synchronized void refresh() {
+        version++;
+    }
+
+    /**
+     * Drops all indexes and stops listening for grade changes.
+     */
+    @Override
+    public synchronized void close() {
+        dropIndexes();
+        indexedVersion = -1;
+    }
+
+    public String getName() { return name; }
+
+    public int size() { return rows.size(); }
+
+    public Set<String> getColumnNames() { return Collections.unmodifiableSet(columns.keySet()); }
+
+    Collection<T> rows() { return rows; }
+
+    Column<T> column(String columnName) {
+        Column<T> column = columns.get(columnName);
+        if (column == null)
+            throw new IllegalArgumentException("Unknown column " + columnName + " in " + name + ", expected one of " + columns.keySet());
+        return column;
+    }
+
+    /**
+     * Returns the index on {@code column}, building it if needed, or {@code null} if the column is not indexed.
+     */
+    synchronized Index<T> index(Column<T> column) {
+        if (column.indexKind() == Column.IndexKind.NONE) return null;
+        if (indexedVersion != version || indexedSize != rows.size()) {
+            dropIndexes();
+            indexedVersion = version;
+            indexedSize = rows.size();
+        }
+        Index<T> index = indexes.get(column.name());
+        if (index != null) return index;
+
+        // listen before reading the column, so a grade change during the build is not missed
+        if (gradeDerived.contains(column.name()) && gradeListener == null) {
+            gradeListener = change -> dropGradeDerived();
+            Student.addGradeListener(gradeListener);
+        }
+        index = switch (column.indexKind()) {
+            case HASH -> new Index.Hash<>(column, rows);
+            case SORTED -> new Index.Sorted<>(column, rows);
+            case NONE -> throw new IllegalStateException();
+        };
+        indexes.put(column.name(), index);
+        return index;
+    }
+
+    private synchronized void dropGradeDerived() {
+        indexes.keySet().removeAll(gradeDerived);
+        stopListening();
+    }
+
+    private void dropIndexes() {
+        indexes.clear();
+        stopListening();
+    }
+
+    private void stopListening() {
+        if (gradeListener == null) return;
+        Student.removeGradeListener(gradeListener);
+        gradeListener = null;
+    }
+
+    private Table<T> with(Column<T> column) {
+        columns.put(column.name(), column);
+        return this;
+    }
+}
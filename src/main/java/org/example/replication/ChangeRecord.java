@@ -0,0 +1,147 @@
+package org.example.replication;
+
+import org.example.enums.CourseLevel;
+import org.example.enums.GradeType;
+import org.example.enums.LessonType;
+import org.example.enums.Semester;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * One change of enrollment state, as applied on the primary and shipped to replicas.
+ * <p>
+ * Records carry everything a replica needs to rebuild the same {@code Student},
+ * {@code Course} and {@code Enrollment} objects, including the primary's timestamps, so
+ * replicas end up with identical data rather than re-deriving it.
+ */
+public sealed interface ChangeRecord {
+
+    /**
+     * A registered student; {@code username} and {@code email} may be null.
+     */
+    record StudentRegistered(int id, String firstName, String lastName, String username, String email,
+                             int maxCourses) implements ChangeRecord {
+    }
+
+    /**
+     * A registered course with its professor; {@code professorUsername} may be null.
+     */
+    record CourseRegistered(String name, int professorId, String professorFirstName, String professorLastName,
+                            String professorUsername, int professorMaxCourses, int maxLessons, int ects,
+                            CourseLevel level) implements ChangeRecord {
+    }
+
+    record Enrolled(int studentId, String courseName, Semester semester, LocalDateTime enrollmentDate)
+            implements ChangeRecord {
+    }
+
+    record Graded(int studentId, String courseName, GradeType grade, LocalDateTime gradedAt) implements ChangeRecord {
+    }
+
+    /**
+     * A lesson of a registered course; {@code startTime} is null for an unscheduled lesson.
+     */
+    record LessonAdded(String courseName, String name, int lengthMinutes, LessonType type, LocalDateTime startTime)
+            implements ChangeRecord {
+    }
+
+    /**
+     * A course the student was already taking when registered, with its grade. It has no
+     * semester, so it updates the student and the course roster but adds no enrollment row.
+     */
+    record CourseCarried(int studentId, String courseName, GradeType grade) implements ChangeRecord {
+    }
+
+    static void write(ChangeRecord record, DataOutput out) throws IOException {
+        switch (record) {
+            case StudentRegistered s -> {
+                out.writeByte(1);
+                out.writeInt(s.id());
+                out.writeUTF(s.firstName());
+                out.writeUTF(s.lastName());
+                writeOptional(s.username(), out);
+                writeOptional(s.email(), out);
+                out.writeInt(s.maxCourses());
+            }
+            case CourseRegistered c -> {
+                out.writeByte(2);
+                out.writeUTF(c.name());
+                out.writeInt(c.professorId());
+                out.writeUTF(c.professorFirstName());
+                out.writeUTF(c.professorLastName());
+                writeOptional(c.professorUsername(), out);
+                out.writeInt(c.professorMaxCourses());
+                out.writeInt(c.maxLessons());
+                out.writeInt(c.ects());
+                out.writeByte(c.level().ordinal());
+            }
+            case Enrolled e -> {
+                out.writeByte(3);
+                out.writeInt(e.studentId());
+                out.writeUTF(e.courseName());
+                out.writeByte(e.semester().ordinal());
+                writeTime(e.enrollmentDate(), out);
+            }
+            case Graded g -> {
+                out.writeByte(4);
+                out.writeInt(g.studentId());
+                out.writeUTF(g.courseName());
+                out.writeByte(g.grade().ordinal());
+                writeTime(g.gradedAt(), out);
+            }
+            case LessonAdded l -> {
+                out.writeByte(5);
+                out.writeUTF(l.courseName());
+                out.writeUTF(l.name());
+                out.writeInt(l.lengthMinutes());
+                out.writeByte(l.type().ordinal());
+                out.writeBoolean(l.startTime() != null);
+                if (l.startTime() != null) writeTime(l.startTime(), out);
+            }
+            case CourseCarried c -> {
+                out.writeByte(6);
+                out.writeInt(c.studentId());
+                out.writeUTF(c.courseName());
+                out.writeByte(c.grade().ordinal());
+            }
+        }
+    }
+
+    static ChangeRecord read(DataInput in) throws IOException {
+        int type = in.readByte();
+        return switch (type) {
+            case 1 -> new StudentRegistered(in.readInt(), in.readUTF(), in.readUTF(), readOptional(in),
+                    readOptional(in), in.readInt());
+            case 2 -> new CourseRegistered(in.readUTF(), in.readInt(), in.readUTF(), in.readUTF(), readOptional(in),
+                    in.readInt(), in.readInt(), in.readInt(), CourseLevel.values()[in.readByte()]);
+            case 3 -> new Enrolled(in.readInt(), in.readUTF(), Semester.values()[in.readByte()], readTime(in));
+            case 4 -> new Graded(in.readInt(), in.readUTF(), GradeType.values()[in.readByte()], readTime(in));
+            case 5 -> new LessonAdded(in.readUTF(), in.readUTF(), in.readInt(), LessonType.values()[in.readByte()],
+                    in.readBoolean() ? readTime(in) : null);
+            case 6 -> new CourseCarried(in.readInt(), in.readUTF(), GradeType.values()[in.readByte()]);
+            default -> throw new IOException("Unknown change record type " + type);
+        };
+    }
+
+    private static void writeOptional(String value, DataOutput out) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) out.writeUTF(value);
+    }
+
+    private static String readOptional(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeTime(LocalDateTime time, DataOutput out) throws IOException {
+        out.writeLong(time.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(time.getNano());
+    }
+
+    private static LocalDateTime readTime(DataInput in) throws IOException {
+        return LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+    }
+}
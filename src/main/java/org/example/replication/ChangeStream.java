@@ -0,0 +1,124 @@
+package org.example.replication;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Wire format of the replication stream.
+ * <p>
+ * A replica opens the stream by sending the offset it wants to resume from. The primary
+ * then sends frames of consecutive log entries, and empty frames as heartbeats while idle:
+ * <pre>
+ *   int magic | long firstOffset | int count | long headOffset | long sentMillis
+ *   | int payloadLength | payload | int crc32c
+ * </pre>
+ * The checksum covers the header fields and the payload. Each payload entry is the
+ * primary's commit time in milliseconds followed by one {@link ChangeRecord}.
+ */
+final class ChangeStream {
+
+    static final int MAGIC = 0x454E524C;
+    static final int MAX_BATCH_RECORDS = 1024;
+    static final int MAX_BATCH_BYTES = 1 << 18;
+    static final long HEARTBEAT_MILLIS = 500;
+
+    /**
+     * A decoded entry of the log.
+     */
+    record Entry(long commitMillis, ChangeRecord record) {
+    }
+
+    /**
+     * A decoded frame; {@code headOffset} is the primary's log size when the frame was sent.
+     */
+    record Batch(long firstOffset, long headOffset, long sentMillis, List<Entry> entries) {
+    }
+
+    private ChangeStream() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    static byte[] encode(long commitMillis, ChangeRecord record) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(commitMillis);
+            ChangeRecord.write(record, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static void writeFrame(DataOutputStream out, long firstOffset, List<byte[]> entries, long headOffset)
+            throws IOException {
+        int payloadLength = 0;
+        for (byte[] e : entries) payloadLength += e.length;
+        long sentMillis = System.currentTimeMillis();
+
+        CRC32C crc = header(firstOffset, entries.size(), headOffset, sentMillis, payloadLength);
+        for (byte[] e : entries) crc.update(e);
+
+        out.writeInt(MAGIC);
+        out.writeLong(firstOffset);
+        out.writeInt(entries.size());
+        out.writeLong(headOffset);
+        out.writeLong(sentMillis);
+        out.writeInt(payloadLength);
+        for (byte[] e : entries) out.write(e);
+        out.writeInt((int) crc.getValue());
+        out.flush();
+    }
+
+    /**
+     * Reads and verifies one frame; a bad magic number or checksum is reported as an {@link IOException}.
+     */
+    static Batch readFrame(DataInputStream in) throws IOException {
+        int magic = in.readInt();
+        if (magic != MAGIC) throw new IOException("Bad frame magic " + Integer.toHexString(magic));
+        long firstOffset = in.readLong();
+        int count = in.readInt();
+        long headOffset = in.readLong();
+        long sentMillis = in.readLong();
+        int payloadLength = in.readInt();
+        if (count < 0 || payloadLength < 0 || payloadLength > 4 * MAX_BATCH_BYTES)
+            throw new IOException("Bad frame header");
+        byte[] payload = new byte[payloadLength];
+        in.readFully(payload);
+        int checksum = in.readInt();
+
+        CRC32C crc = header(firstOffset, count, headOffset, sentMillis, payloadLength);
+        crc.update(payload);
+        if ((int) crc.getValue() != checksum)
+            throw new IOException("Checksum mismatch in frame at offset " + firstOffset);
+
+        List<Entry> entries = new ArrayList<>(count);
+        DataInputStream data = new DataInputStream(new ByteArrayInputStream(payload));
+        for (int i = 0; i < count; i++) entries.add(new Entry(data.readLong(), ChangeRecord.read(data)));
+        return new Batch(firstOffset, headOffset, sentMillis, entries);
+    }
+
+    private static CRC32C header(long firstOffset, int count, long headOffset, long sentMillis, int payloadLength) {
+        CRC32C crc = new CRC32C();
+        byte[] header = new byte[32];
+        putLong(header, 0, firstOffset);
+        putLong(header, 8, headOffset);
+        putLong(header, 16, sentMillis);
+        putLong(header, 24, ((long) count << 32) | (payloadLength & 0xFFFFFFFFL));
+        crc.update(header);
+        return crc;
+    }
+
+    private static void putLong(byte[] b, int at, long v) {
+        for (int i = 7; i >= 0; i--) {
+            b[at + i] = (byte) v;
+            v >>>= 8;
+        }
+    }
+}
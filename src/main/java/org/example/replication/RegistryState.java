@@ -0,0 +1,130 @@
+package org.example.replication;
+
+import org.example.entities.Course;
+import org.example.entities.Enrollment;
+import org.example.entities.Lesson;
+import org.example.entities.Professor;
+import org.example.entities.Student;
+import org.example.enums.EnrollmentOutcome;
+import org.example.enums.EnrollmentStatus;
+import org.example.enums.GradeType;
+import org.example.utils.IntObjectMap;
+
+import java.util.*;
+
+/**
+ * Students, courses and enrollments of one replication node, changed only through
+ * {@link #apply}. The primary and its replicas apply the same records with the same code,
+ * so they hold the same state at the same log offset. Not thread-safe; nodes lock around it.
+ */
+final class RegistryState {
+
+    private final List<Student> students = new ArrayList<>();
+    private final IntObjectMap<Student> studentsById = new IntObjectMap<>();
+    private final List<Course> courses = new ArrayList<>();
+    private final Map<String, Course> coursesByName = new HashMap<>();
+    private final IntObjectMap<Professor> professorsById = new IntObjectMap<>();
+    private final List<Enrollment> enrollments = new ArrayList<>();
+    private final Map<String, Integer> enrollmentPositions = new HashMap<>();
+
+    private void addStudent(Student student) {
+        students.add(student);
+        studentsById.put(student.getID(), student);
+    }
+
+    private void addCourse(Course course) {
+        courses.add(course);
+        coursesByName.put(course.getName().toLowerCase(), course);
+        professorsById.put(course.getProfessor().getID(), course.getProfessor());
+    }
+
+    boolean hasStudent(int id) { return studentsById.containsKey(id); }
+
+    boolean hasCourse(String name) { return coursesByName.containsKey(name.toLowerCase()); }
+
+    Student student(int id) { return studentsById.get(id); }
+
+    Course course(String name) { return coursesByName.get(name.toLowerCase()); }
+
+    List<Student> students() { return students; }
+
+    List<Course> courses() { return courses; }
+
+    List<Enrollment> enrollments() { return enrollments; }
+
+    /**
+     * Applies one change; rejected changes leave the state untouched.
+     */
+    EnrollmentOutcome apply(ChangeRecord record) {
+        return switch (record) {
+            case ChangeRecord.StudentRegistered s -> {
+                if (hasStudent(s.id())) yield EnrollmentOutcome.DUPLICATE;
+                addStudent(new Student.StudentBuilder(s.firstName(), s.lastName(), s.id())
+                        .username(s.username()).email(s.email()).maxCourses(s.maxCourses()).build());
+                yield EnrollmentOutcome.OK;
+            }
+            case ChangeRecord.CourseRegistered c -> {
+                if (hasCourse(c.name())) yield EnrollmentOutcome.DUPLICATE;
+                Professor professor = professorsById.get(c.professorId());
+                if (professor == null) {
+                    professor = new Professor.ProfessorBuilder(c.professorFirstName(), c.professorLastName(),
+                            c.professorId()).username(c.professorUsername())
+                            .maxCourses(Math.max(1, c.professorMaxCourses())).build();
+                }
+                professor.tryAddCourse(c.name());
+                addCourse(new Course(c.name(), professor, c.maxLessons(), c.ects(), c.level()));
+                yield EnrollmentOutcome.OK;
+            }
+            case ChangeRecord.Enrolled e -> {
+                Student student = student(e.studentId());
+                Course course = course(e.courseName());
+                if (student == null || course == null) yield EnrollmentOutcome.NOT_FOUND;
+                EnrollmentOutcome outcome = student.tryEnroll(course.getName());
+                if (outcome != EnrollmentOutcome.OK) yield outcome;
+                course.enrollStudent(student);
+                enrollmentPositions.put(key(student.getID(), course.getName()), enrollments.size());
+                enrollments.add(new Enrollment(student, course, e.semester(), EnrollmentStatus.ACTIVE,
+                        GradeType.NOT_GRADED, e.enrollmentDate(), null));
+                yield EnrollmentOutcome.OK;
+            }
+            case ChangeRecord.Graded g -> {
+                Integer position = enrollmentPositions.get(key(g.studentId(), g.courseName()));
+                if (position == null) {
+                    // a carried course has no enrollment row; only the student holds its grade
+                    Student student = student(g.studentId());
+                    if (student == null || !student.getEnrolledCourses().contains(g.courseName()))
+                        yield EnrollmentOutcome.NOT_FOUND;
+                    student.setGrade(g.courseName(), g.grade());
+                    yield EnrollmentOutcome.OK;
+                }
+                Enrollment enrollment = enrollments.get(position);
+                enrollment.student().setGrade(enrollment.course().getName(), g.grade());
+                enrollments.set(position, enrollment.withGrade(g.grade(), g.gradedAt()));
+                yield EnrollmentOutcome.OK;
+            }
+            case ChangeRecord.LessonAdded l -> {
+                Course course = course(l.courseName());
+                if (course == null) yield EnrollmentOutcome.NOT_FOUND;
+                Lesson lesson = new Lesson(l.name(), l.lengthMinutes(), l.type());
+                if (l.startTime() != null) {
+                    lesson.schedule(l.startTime().toLocalDate(), l.startTime().getHour(),
+                            l.startTime().getMinute(), l.lengthMinutes());
+                }
+                yield course.tryAddLesson(lesson);
+            }
+            case ChangeRecord.CourseCarried c -> {
+                Student student = student(c.studentId());
+                if (student == null) yield EnrollmentOutcome.NOT_FOUND;
+                if (student.tryEnroll(c.courseName()) == EnrollmentOutcome.LIMIT) yield EnrollmentOutcome.LIMIT;
+                if (student.getGrade(c.courseName()) != c.grade()) student.setGrade(c.courseName(), c.grade());
+                Course course = course(c.courseName());
+                if (course != null) course.enrollStudent(student);
+                yield EnrollmentOutcome.OK;
+            }
+        };
+    }
+
+    private static String key(int studentId, String courseName) {
+        return studentId + "/" + courseName.toLowerCase();
+    }
+}
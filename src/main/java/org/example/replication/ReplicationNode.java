@@ -0,0 +1,91 @@
+package org.example.replication;
+
+import org.example.entities.Course;
+import org.example.entities.Professor;
+import org.example.entities.Student;
+import org.example.enums.CourseLevel;
+import org.example.enums.GradeType;
+import org.example.enums.Semester;
+
+import java.util.Random;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Command-line entry point for running replication nodes in separate JVMs on one host.
+ * <p>
+ * {@code primary <port> [students] [courses] [changesPerSecond]} registers students and
+ * courses, then keeps enrolling and grading at random. {@code replica <host> <port>} tails
+ * the primary. Both print their offsets once per second as {@code key=value} pairs.
+ */
+public final class ReplicationNode {
+
+    private ReplicationNode() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: ReplicationNode primary <port> [students] [courses] [changesPerSecond]");
+            System.err.println("       ReplicationNode replica <host> <port>");
+            return;
+        }
+        switch (args[0]) {
+            case "primary" -> runPrimary(Integer.parseInt(args[1]),
+                    args.length > 2 ? Integer.parseInt(args[2]) : 10_000,
+                    args.length > 3 ? Integer.parseInt(args[3]) : 100,
+                    args.length > 4 ? Integer.parseInt(args[4]) : 5_000);
+            case "replica" -> runReplica(args[1], Integer.parseInt(args[2]));
+            default -> System.err.println("Unknown node type: " + args[0]);
+        }
+    }
+
+    private static void runPrimary(int port, int students, int courses, int changesPerSecond) throws Exception {
+        try (ReplicationPrimary primary = new ReplicationPrimary(port)) {
+            Professor professor = new Professor.ProfessorBuilder("Primary", "Professor", 1)
+                    .username("primary").maxCourses(courses).build();
+            for (int c = 0; c < courses; c++) {
+                professor.addCourse("Course " + c);
+                primary.registerCourse(new Course("Course " + c, professor, 10, 5, CourseLevel.BEGINNER));
+            }
+            for (int i = 0; i < students; i++) {
+                primary.registerStudent(new Student.StudentBuilder("Student", "No" + i, 1_000 + i)
+                        .username("student" + i).email("student" + i + "@studuni.hr").maxCourses(5).build());
+            }
+
+            Random random = new Random(1);
+            GradeType[] grades = GradeType.values();
+            long nextReport = System.currentTimeMillis() + 1_000;
+            while (true) {
+                int studentId = 1_000 + random.nextInt(students);
+                String course = "Course " + random.nextInt(courses);
+                if (random.nextInt(3) == 0) {
+                    try {
+                        primary.setGrade(studentId, course, grades[random.nextInt(grades.length)]);
+                    } catch (RuntimeException ignored) {
+                        // not enrolled in that course
+                    }
+                } else {
+                    primary.enroll(studentId, course, Semester.values()[random.nextInt(6)]);
+                }
+                if (changesPerSecond > 0) LockSupport.parkNanos(1_000_000_000L / changesPerSecond);
+                if (System.currentTimeMillis() >= nextReport) {
+                    System.out.println("role=primary head_offset=" + primary.getHeadOffset());
+                    nextReport += 1_000;
+                }
+            }
+        }
+    }
+
+    private static void runReplica(String host, int port) throws Exception {
+        try (ReplicationReplica replica = new ReplicationReplica(host, port)) {
+            while (true) {
+                Thread.sleep(1_000);
+                System.out.println("role=replica applied_offset=" + replica.getAppliedOffset()
+                        + " head_offset=" + replica.getHeadOffset()
+                        + " lag_ms=" + replica.getLagMillis()
+                        + " enrollments=" + replica.getEnrollments().size()
+                        + " reconnects=" + replica.getReconnects());
+            }
+        }
+    }
+}
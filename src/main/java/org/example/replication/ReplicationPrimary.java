@@ -0,0 +1,230 @@
+package org.example.replication;
+
+import org.example.entities.Course;
+import org.example.entities.Enrollment;
+import org.example.entities.Lesson;
+import org.example.entities.Professor;
+import org.example.entities.Student;
+import org.example.enums.EnrollmentOutcome;
+import org.example.enums.GradeType;
+import org.example.enums.Semester;
+import org.example.exceptions.NotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Primary node: applies registrations, enrollments and grades, appends each accepted
+ * change to an in-memory log and streams the log to replicas over TCP.
+ * <p>
+ * Every change is applied and logged under one lock, so the log order is the apply order
+ * and a replica that applies the log up to offset {@code n} holds the primary's state as of
+ * {@code n}. Each replica connection runs on its own virtual thread and resumes from the
+ * offset the replica asks for; see {@link ChangeStream} for the frame format. Students and
+ * courses must be registered here before they are enrolled through the primary. Registering
+ * copies them into the primary's own state, so later changes to the caller's objects are
+ * not replicated.
+ * <p>
+ * The log is kept in memory only and is never truncated: it grows with every change and
+ * is lost with the process. Failover is manual: {@link ReplicationReplica#promote} turns a
+ * replica into a primary serving the same log, and the remaining replicas must then be
+ * restarted against it.
+ */
+public final class ReplicationPrimary implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicationPrimary.class);
+
+    private final RegistryState state;
+    private final List<byte[]> log;
+    private final ServerSocket server;
+    private volatile boolean closed;
+
+    /**
+     * Starts serving replicas on {@code port} of the loopback interface; port 0 picks a free port.
+     */
+    public ReplicationPrimary(int port) throws IOException {
+        this(port, new RegistryState(), new ArrayList<>());
+    }
+
+    /**
+     * Continues from {@code state} and the {@code log} it was built from, as on promotion.
+     */
+    ReplicationPrimary(int port, RegistryState state, List<byte[]> log) throws IOException {
+        this.state = state;
+        this.log = log;
+        this.server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        Thread.ofVirtual().name("replication-acceptor").start(this::acceptLoop);
+        logger.info("Replication primary listening on port {}", server.getLocalPort());
+    }
+
+    public int getPort() { return server.getLocalPort(); }
+
+    /**
+     * Returns the number of changes logged so far, i.e. the offset of the next change.
+     */
+    public synchronized long getHeadOffset() { return log.size(); }
+
+    /**
+     * Registers a copy of {@code student}, including the courses and grades it already has.
+     *
+     * @throws IllegalArgumentException if a student with the same ID is already registered
+     */
+    public void registerStudent(Student student) {
+        Objects.requireNonNull(student, "Student cannot be null");
+        List<String> courseNames;
+        synchronized (student) {
+            courseNames = List.copyOf(student.getEnrolledCourses());
+        }
+        synchronized (this) {
+            if (applyAndLog(new ChangeRecord.StudentRegistered(student.getID(), student.getFirstName(),
+                    student.getLastName(), student.getUsername(), student.getEmail(), student.getMaxCourses()))
+                    == EnrollmentOutcome.DUPLICATE)
+                throw new IllegalArgumentException("Student with ID " + student.getID() + " is already registered.");
+            for (String courseName : courseNames) {
+                applyAndLog(new ChangeRecord.CourseCarried(student.getID(), courseName, student.getGrade(courseName)));
+            }
+        }
+    }
+
+    /**
+     * Registers a copy of {@code course}, including its lessons and the roster entries of
+     * students already registered here.
+     *
+     * @throws IllegalArgumentException if a course with the same name is already registered
+     */
+    public void registerCourse(Course course) {
+        Objects.requireNonNull(course, "Course cannot be null");
+        List<Lesson> lessons;
+        List<Student> roster;
+        synchronized (course) {
+            lessons = List.copyOf(course.getLessons());
+            roster = List.copyOf(course.getEnrolledStudents());
+        }
+        Professor professor = course.getProfessor();
+        synchronized (this) {
+            if (applyAndLog(new ChangeRecord.CourseRegistered(course.getName(), professor.getID(),
+                    professor.getFirstName(), professor.getLastName(), professor.getUsername(),
+                    professor.getMaxCourses(), course.getMaxLessons(), course.getECTS(), course.getLevel()))
+                    == EnrollmentOutcome.DUPLICATE)
+                throw new IllegalArgumentException("Course " + course.getName() + " is already registered.");
+            for (Lesson lesson : lessons) {
+                applyAndLog(new ChangeRecord.LessonAdded(course.getName(), lesson.getName(), lesson.getLengthMinutes(),
+                        lesson.getType(), lesson.getStartTime().orElse(null)));
+            }
+            for (Student student : roster) {
+                if (state.hasStudent(student.getID()))
+                    applyAndLog(new ChangeRecord.CourseCarried(student.getID(), course.getName(),
+                            student.getGrade(course.getName())));
+            }
+        }
+    }
+
+    /**
+     * Enrolls a registered student in a registered course; rejections are returned, not logged.
+     */
+    public EnrollmentOutcome enroll(int studentId, String courseName, Semester semester) {
+        Objects.requireNonNull(courseName, "Course name cannot be null");
+        Objects.requireNonNull(semester, "Semester cannot be null");
+        return applyAndLog(new ChangeRecord.Enrolled(studentId, courseName, semester, LocalDateTime.now()));
+    }
+
+    /**
+     * Grades an enrollment made through {@link #enroll}, or a course the student was already
+     * taking when registered.
+     *
+     * @throws NotFoundException if the student is not enrolled in the course
+     */
+    public void setGrade(int studentId, String courseName, GradeType grade) {
+        Objects.requireNonNull(courseName, "Course name cannot be null");
+        Objects.requireNonNull(grade, "Grade cannot be null");
+        if (applyAndLog(new ChangeRecord.Graded(studentId, courseName, grade, LocalDateTime.now()))
+                == EnrollmentOutcome.NOT_FOUND)
+            throw new NotFoundException("Student " + studentId + " is not enrolled in " + courseName + ".");
+    }
+
+    public synchronized List<Student> getStudents() { return List.copyOf(state.students()); }
+
+    public synchronized List<Course> getCourses() { return List.copyOf(state.courses()); }
+
+    public synchronized List<Enrollment> getEnrollments() { return List.copyOf(state.enrollments()); }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        server.close();
+        synchronized (this) {
+            notifyAll();
+        }
+    }
+
+    /**
+     * Encodes {@code record} before applying it, so a record that cannot be encoded fails
+     * without changing the state and the state never runs ahead of the log.
+     */
+    private synchronized EnrollmentOutcome applyAndLog(ChangeRecord record) {
+        byte[] entry = ChangeStream.encode(System.currentTimeMillis(), record);
+        EnrollmentOutcome outcome = state.apply(record);
+        if (outcome == EnrollmentOutcome.OK) {
+            log.add(entry);
+            notifyAll();
+        }
+        return outcome;
+    }
+
+    private void acceptLoop() {
+        while (!closed) {
+            try {
+                Socket socket = server.accept();
+                Thread.ofVirtual().name("replication-sender").start(() -> serve(socket));
+            } catch (IOException e) {
+                if (!closed) logger.warn("Replication accept failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket;
+             DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), 1 << 16))) {
+            socket.setTcpNoDelay(true);
+            long offset = in.readLong();
+            logger.info("Replica {} resuming from offset {}", socket.getRemoteSocketAddress(), offset);
+
+            while (!closed) {
+                List<byte[]> batch = new ArrayList<>();
+                long head;
+                synchronized (this) {
+                    if (offset > log.size())
+                        throw new IOException("Requested offset " + offset + " is beyond the log head " + log.size());
+                    if (offset == log.size()) wait(ChangeStream.HEARTBEAT_MILLIS);
+                    head = log.size();
+                    int bytes = 0;
+                    for (long i = offset; i < head && batch.size() < ChangeStream.MAX_BATCH_RECORDS
+                            && bytes < ChangeStream.MAX_BATCH_BYTES; i++) {
+                        byte[] entry = log.get((int) i);
+                        batch.add(entry);
+                        bytes += entry.length;
+                    }
+                }
+                ChangeStream.writeFrame(out, offset, batch, head);
+                offset += batch.size();
+            }
+        } catch (IOException e) {
+            if (!closed) logger.warn("Replica connection closed: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
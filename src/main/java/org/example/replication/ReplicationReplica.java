@@ -0,0 +1,188 @@
+package org.example.replication;
+
+import org.example.entities.Course;
+import org.example.entities.Enrollment;
+import org.example.entities.RegistrySnapshot;
+import org.example.entities.RegistrySnapshotter;
+import org.example.entities.Student;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Replica node: tails a {@link ReplicationPrimary}'s change stream and serves read-only
+ * searches and reports from its own copy of the state.
+ * <p>
+ * Frames are applied in order and only after their checksum verifies. When the connection
+ * drops or a frame is corrupt, the replica reconnects and resumes from the first offset it
+ * has not applied, so no change is applied twice or skipped. The replication lag is the time
+ * from a change's commit on the primary to its apply here, and drops to zero once a frame
+ * reports that the replica has caught up with the primary's log.
+ * <p>
+ * The replica keeps its own copy of the applied log so that it can be {@link #promote promoted}
+ * when the primary is lost.
+ */
+public final class ReplicationReplica implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicationReplica.class);
+    private static final long RECONNECT_MILLIS = 250;
+
+    private final InetSocketAddress primary;
+    private final RegistryState state = new RegistryState();
+    private final RegistrySnapshotter snapshotter = new RegistrySnapshotter(state.students(), state.courses());
+    private final List<byte[]> log = new ArrayList<>();
+    private final Thread tailer;
+    private volatile long appliedOffset;
+    private volatile long headOffset;
+    private volatile long lagMillis;
+    private volatile long lastFrameMillis;
+    private volatile long reconnects;
+    private volatile Socket socket;
+    private volatile boolean closed;
+
+    /**
+     * Connects to the primary at {@code host:port} and starts tailing from offset 0.
+     */
+    public ReplicationReplica(String host, int port) {
+        this.primary = new InetSocketAddress(Objects.requireNonNull(host, "Host cannot be null"), port);
+        this.tailer = Thread.ofVirtual().name("replication-tailer").start(this::tailLoop);
+    }
+
+    /**
+     * Returns the number of changes applied, i.e. the offset the replica resumes from.
+     */
+    public long getAppliedOffset() { return appliedOffset; }
+
+    /**
+     * Returns the primary's log size as of the last frame received.
+     */
+    public long getHeadOffset() { return headOffset; }
+
+    public long getLagMillis() { return lagMillis; }
+
+    /**
+     * Returns the time since the last frame, data or heartbeat; large values mean the primary is unreachable.
+     */
+    public long getMillisSinceLastFrame() {
+        return lastFrameMillis == 0 ? -1 : System.currentTimeMillis() - lastFrameMillis;
+    }
+
+    public long getReconnects() { return reconnects; }
+
+    /**
+     * Waits until the replica has applied at least {@code offset} changes.
+     *
+     * @return whether the offset was reached before the timeout
+     */
+    public synchronized boolean awaitOffset(long offset, long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (appliedOffset < offset) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) return false;
+            wait(remaining);
+        }
+        return true;
+    }
+
+    public synchronized Optional<Student> findStudent(int studentId) {
+        return Optional.ofNullable(state.student(studentId));
+    }
+
+    public synchronized Optional<Course> findCourse(String name) {
+        return Optional.ofNullable(state.course(Objects.requireNonNull(name, "Name cannot be null")));
+    }
+
+    public synchronized List<Student> getStudents() { return List.copyOf(state.students()); }
+
+    public synchronized List<Course> getCourses() { return List.copyOf(state.courses()); }
+
+    public synchronized List<Enrollment> getEnrollments() { return List.copyOf(state.enrollments()); }
+
+    /**
+     * Returns a snapshot for reports, consistent at the current applied offset. Views of
+     * entities unchanged since the previous snapshot are reused.
+     */
+    public synchronized RegistrySnapshot snapshot() {
+        return snapshotter.snapshot();
+    }
+
+    /**
+     * Stops tailing and turns this replica into a primary serving its applied log on
+     * {@code port}, so other replicas resume from their own offsets once pointed at it.
+     * Changes the old primary committed but this replica had not applied are lost. The
+     * replica is closed afterwards and its state belongs to the returned primary.
+     */
+    public ReplicationPrimary promote(int port) throws IOException, InterruptedException {
+        if (closed) throw new IllegalStateException("Replica is closed.");
+        close();
+        tailer.join();
+        synchronized (this) {
+            logger.info("Promoting replica at offset {} (primary head was {})", appliedOffset, headOffset);
+            return new ReplicationPrimary(port, state, log);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        Socket s = socket;
+        if (s != null) s.close();
+        tailer.interrupt();
+    }
+
+    private void tailLoop() {
+        while (!closed) {
+            try (Socket s = new Socket()) {
+                socket = s;
+                s.connect(primary);
+                s.setTcpNoDelay(true);
+                DataInputStream in = new DataInputStream(new BufferedInputStream(s.getInputStream(), 1 << 16));
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(s.getOutputStream()));
+                out.writeLong(appliedOffset);
+                out.flush();
+                logger.info("Replica tailing {} from offset {}", primary, appliedOffset);
+
+                while (!closed) apply(ChangeStream.readFrame(in));
+            } catch (IOException e) {
+                if (closed) return;
+                reconnects++;
+                logger.warn("Replication stream interrupted at offset {}: {}", appliedOffset, e.getMessage());
+                try {
+                    Thread.sleep(RECONNECT_MILLIS);
+                } catch (InterruptedException ie) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private synchronized void apply(ChangeStream.Batch batch) throws IOException {
+        if (batch.firstOffset() != appliedOffset)
+            throw new IOException("Expected offset " + appliedOffset + " but frame starts at " + batch.firstOffset());
+
+        long lastCommit = 0;
+        for (ChangeStream.Entry entry : batch.entries()) {
+            state.apply(entry.record());
+            log.add(ChangeStream.encode(entry.commitMillis(), entry.record()));
+            lastCommit = entry.commitMillis();
+        }
+        long now = System.currentTimeMillis();
+        appliedOffset += batch.entries().size();
+        headOffset = batch.headOffset();
+        lastFrameMillis = now;
+        if (!batch.entries().isEmpty()) lagMillis = now - lastCommit;
+        else if (appliedOffset >= headOffset) lagMillis = 0;
+        notifyAll();
+    }
+}
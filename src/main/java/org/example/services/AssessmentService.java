@@ -0,0 +1,67 @@
+package org.example.services;
+
+import org.example.entities.Course;
+import org.example.entities.Enrollment;
+import org.example.entities.Lesson;
+import org.example.entities.Student;
+import org.example.enums.GradeType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Service for recording per-lesson assessment scores (quizzes, labs, exams, project reviews)
+ * and deriving course grades from their weighted average.
+ */
+public class AssessmentService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AssessmentService.class);
+
+    /**
+     * Records a score in the course gradebook and keeps the student's course grade in sync.
+     * Returns the course grade derived from all scores recorded so far.
+     */
+    public static GradeType recordScore(Student student, Course course, Lesson lesson, int score) {
+        Objects.requireNonNull(student, "Student cannot be null");
+        Objects.requireNonNull(course, "Course cannot be null");
+
+        GradeType grade = course.getGradebook().record(student.getID(), lesson, score);
+        if (student.getGrade(course.getName()) != grade) {
+            student.setGrade(course.getName(), grade);
+            logger.debug("Course grade of {} {} in {} is now {}",
+                    student.getFirstName(), student.getLastName(), course.getName(), grade);
+        }
+        return grade;
+    }
+
+    /**
+     * Returns the weighted course score (0-100), or -1 if no score was recorded.
+     */
+    public static double getCourseScore(Student student, Course course) {
+        return course.getGradebook().getCourseScore(student.getID());
+    }
+
+    /**
+     * Replaces enrollments whose grade differs from the gradebook-derived grade.
+     * Enrollments without any recorded score are left untouched.
+     */
+    public static int syncEnrollmentGrades(List<Enrollment> enrollments) {
+        LocalDateTime now = LocalDateTime.now();
+        int updated = 0;
+
+        for (int i = 0; i < enrollments.size(); i++) {
+            Enrollment e = enrollments.get(i);
+            GradeType grade = e.course().getGradebook().getGrade(e.student().getID());
+            if (grade == GradeType.NOT_GRADED || grade == e.grade()) continue;
+
+            enrollments.set(i, e.withGrade(grade, now));
+            updated++;
+        }
+
+        logger.info("Synchronised {} enrollment grade(s) with course gradebooks", updated);
+        return updated;
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.services;
+
+import org.example.entities.Course;
+import org.example.entities.Lesson;
+import org.example.entities.Student;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+
+/**
+ * Service for recording lesson attendance and querying attendance rates.
+ */
+public class AttendanceService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttendanceService.class);
+
+    /**
+     * Records a lesson where every enrolled student attended except {@code absentees}.
+     */
+    public static void recordLesson(Course course, Lesson lesson, Collection<Student> absentees) {
+        Objects.requireNonNull(course, "Course cannot be null");
+        Objects.requireNonNull(absentees, "Absentees cannot be null");
+
+        int[] ids = absentees.stream().mapToInt(Student::getID).toArray();
+        course.getAttendance().recordLesson(lesson, ids);
+        logger.debug("Attendance recorded for {} / {}: {} absent", course.getName(), lesson.getName(), ids.length);
+    }
+
+    /**
+     * Returns the student's attendance rate in a course (0.0-1.0), or -1 if nothing was recorded.
+     */
+    public static double getAttendanceRate(Student student, Course course) {
+        return course.getAttendance().getAttendanceRate(student.getID());
+    }
+
+    /**
+     * Finds students whose attendance is below {@code threshold} in at least one course.
+     */
+    public static Map<Course, List<Student>> findStudentsBelowAttendance(Collection<Course> courses,
+                                                                          double threshold) {
+        Map<Course, List<Student>> result = new LinkedHashMap<>();
+        for (Course c : courses) {
+            List<Student> below = c.getAttendance().getStudentsBelow(threshold);
+            if (!below.isEmpty()) result.put(c, below);
+        }
+        logger.info("{} course(s) have students below {}% attendance", result.size(),
+                String.format("%.0f", threshold * 100));
+        return result;
+    }
+}
@@ -1,10 +1,14 @@
 package org.example.services;
 
+import org.example.analytics.CourseLeaderboard;
+import org.example.analytics.ProfessorWorkloadIndex;
 import org.example.entities.*;
 import org.example.enums.CourseLevel;
 import org.example.enums.LessonType;
 import org.example.exceptions.*;
 import org.example.utils.InputHelper;
+import org.example.utils.KeySort;
+import org.example.utils.SortedView;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -14,6 +18,7 @@ import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service for managing courses with sorting and stream operations.
@@ -26,6 +31,14 @@ public class CourseService {
 
     public static List<Course> createCourses(int courseNum, List<User> users)
             throws TooManyAttemptsException {
+        return createCourses(courseNum, users, null);
+    }
+
+    /**
+     * Creates courses interactively and registers each one in {@code workload}, if given.
+     */
+    public static List<Course> createCourses(int courseNum, List<User> users, ProfessorWorkloadIndex workload)
+            throws TooManyAttemptsException {
         List<Course> courses = new ArrayList<>();
         logger.info("Starting creation of {} courses", courseNum);
 
@@ -45,6 +58,7 @@ public class CourseService {
                 course.addLesson(l);
             }
             prof.addCourse(courseName);
+            if (workload != null) workload.addCourse(course);
 
             courses.add(course);
             logger.info("Course created: {} (ECTS={}, Level={}, Professor={})",
@@ -56,30 +70,31 @@ public class CourseService {
 
     /**
      * Sorts courses by name (alphabetically).
-     * Demonstrates Comparator and lambda.
+     * Sort keys are extracted once by {@link KeySort}.
      */
     public static List<Course> sortCoursesByName(Collection<Course> courses) {
-        return courses.stream()
-                .sorted(Comparator.comparing(Course::getName))
-                .toList();
+        return KeySort.of(courses).by(Course::getName).sort();
     }
 
     /**
      * Sorts courses by ECTS credits (descending - highest first).
      */
     public static List<Course> sortCoursesByECTS(Collection<Course> courses) {
-        return courses.stream()
-                .sorted(Comparator.comparingInt(Course::getECTS).reversed())
-                .toList();
+        return KeySort.of(courses).byIntDescending(Course::getECTS).sort();
     }
 
     /**
      * Sorts courses by enrollment count (descending).
      */
     public static List<Course> sortCoursesByEnrollment(Collection<Course> courses) {
-        return courses.stream()
-                .sorted(Comparator.comparingInt(Course::getEnrollmentCount).reversed())
-                .toList();
+        return KeySort.of(courses).byIntDescending(Course::getEnrollmentCount).sort();
+    }
+
+    /**
+     * Returns the {@code k} most enrolled courses without sorting the rest.
+     */
+    public static List<Course> topCoursesByEnrollment(Collection<Course> courses, int k) {
+        return KeySort.of(courses).byIntDescending(Course::getEnrollmentCount).top(k);
     }
 
     /**
@@ -92,11 +107,65 @@ public class CourseService {
                 .collect(Collectors.groupingBy(Course::getLevel));
     }
 
-    public static Map<String, List<Course>> groupCoursesByProfessor(
-            Collection<Course> courses) {
-        return courses.stream()
-                .collect(Collectors.groupingBy(c ->
-                        c.getProfessor().getFirstName() + " " + c.getProfessor().getLastName()));
+    /**
+     * Groups courses by professor ID, so professors sharing a username stay separate.
+     * Served from the registry's workload index, without scanning the courses.
+     */
+    public static Map<Integer, List<Course>> groupCoursesByProfessor(ProfessorWorkloadIndex workload) {
+        Objects.requireNonNull(workload, "Workload index cannot be null");
+        return workload.groupByProfessor();
+    }
+
+    /**
+     * Builds the professor workload index of a course registry: it starts with
+     * {@code courses}, counts later enrollments and takes the courses created through
+     * {@link #createCourses(int, List, ProfessorWorkloadIndex)}. Courses built elsewhere must
+     * be registered with {@link ProfessorWorkloadIndex#addCourse}. Close the index together
+     * with the registry.
+     */
+    public static ProfessorWorkloadIndex trackProfessorWorkload(Collection<Course> courses) {
+        Objects.requireNonNull(courses, "Courses cannot be null");
+        ProfessorWorkloadIndex index = ProfessorWorkloadIndex.of(courses).attach();
+        logger.info("Tracking workload of professors over {} courses", courses.size());
+        return index;
+    }
+
+    /**
+     * Pageable view of courses by name. Build it once and fetch pages with
+     * {@link SortedView#page(String, int)}; each page costs O(log n + page size).
+     */
+    public static SortedView<Course> viewCoursesByName(Collection<Course> courses) {
+        return SortedView.byText(courses, Course::getName, false, CourseService::courseKey);
+    }
+
+    /**
+     * Pageable view of courses by ECTS credits (descending).
+     */
+    public static SortedView<Course> viewCoursesByECTS(Collection<Course> courses) {
+        return SortedView.byDouble(courses, Course::getECTS, true, CourseService::courseKey);
+    }
+
+    /**
+     * Pageable view of courses by enrollment count (descending).
+     */
+    public static SortedView<Course> viewCoursesByEnrollment(Collection<Course> courses) {
+        return SortedView.byDouble(courses, Course::getEnrollmentCount, true, CourseService::courseKey);
+    }
+
+    /**
+     * Yields courses grouped by level, one group at a time, without building per-group lists.
+     */
+    public static Stream<SortedView.Group<CourseLevel, Course>> streamCoursesByLevel(Collection<Course> courses) {
+        return SortedView.byDouble(courses, c -> c.getLevel().ordinal(), false, CourseService::courseKey)
+                .groups(Course::getLevel);
+    }
+
+    /**
+     * Yields courses grouped by professor ID, one group at a time.
+     */
+    public static Stream<SortedView.Group<Integer, Course>> streamCoursesByProfessor(Collection<Course> courses) {
+        return SortedView.byDouble(courses, c -> c.getProfessor().getID(), false, CourseService::courseKey)
+                .groups(c -> c.getProfessor().getID());
     }
 
     public static Optional<Course> findMostPopularCourse(Collection<Course> courses) {
@@ -104,6 +173,17 @@ public class CourseService {
                 .max(Comparator.comparingInt(Course::getEnrollmentCount));
     }
 
+    /**
+     * Starts a live leaderboard of the {@code k} hottest courses, fed by every new enrollment.
+     */
+    public static CourseLeaderboard trackPopularity(Collection<Course> courses, int k, int courseCapacity) {
+        CourseLeaderboard leaderboard = new CourseLeaderboard(k, c -> courseCapacity);
+        leaderboard.addCourses(courses);
+        Course.addEnrollmentListener(leaderboard);
+        logger.info("Tracking top {} courses out of {}", k, courses.size());
+        return leaderboard;
+    }
+
     public static void findCourseByName(Collection<Course> courses)
             throws NotFoundException, TooManyAttemptsException {
         String searchName = InputHelper.readNonEmptyString("Insert course name: ");
@@ -197,4 +277,11 @@ public class CourseService {
         }
         throw new TooManyAttemptsException("Invalid time entered 3 times.");
     }
-}
\ No newline at end of file
+
+    /**
+     * Unique tie-breaker for course orderings: name plus professor ID.
+     */
+    private static String courseKey(Course c) {
+        return c.getName() + "/" + c.getProfessor().getID();
+    }
+}
@@ -0,0 +1,202 @@
+package org.example.services;
+
+import org.example.entities.Course;
+import org.example.entities.Enrollment;
+import org.example.entities.Student;
+import org.example.enums.GradeType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.ToDoubleBiFunction;
+
+/**
+ * Service for curved grading: grades are assigned by percentile rank within each course
+ * instead of the fixed score bands of {@link GradeType#fromScore}.
+ * <p>
+ * Cut-off scores are found with quickselect (expected O(n) per cut-off, no full sort).
+ * Courses are curved in parallel on the common fork-join pool; the resulting grades are
+ * then applied to students and enrollments in one sequential bulk pass, because a student
+ * may appear in several courses.
+ */
+public class CurveGradingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CurveGradingService.class);
+    private static final GradeType[] CURVED_GRADES = {
+            GradeType.A_PLUS, GradeType.A, GradeType.B, GradeType.C, GradeType.D
+    };
+
+    /**
+     * Share of each course (from the top) that receives A+, A, B, C and D; the rest fails.
+     */
+    public record Curve(double aPlus, double a, double b, double c, double d) {
+
+        public static final Curve DEFAULT = new Curve(0.10, 0.20, 0.30, 0.20, 0.10);
+
+        public Curve {
+            double total = aPlus + a + b + c + d;
+            if (aPlus < 0 || a < 0 || b < 0 || c < 0 || d < 0 || total > 1.0 + 1e-9)
+                throw new IllegalArgumentException("Curve shares must be non-negative and sum to at most 1.");
+        }
+
+        double[] cumulativeShares() {
+            return new double[]{aPlus, aPlus + a, aPlus + a + b, aPlus + a + b + c, aPlus + a + b + c + d};
+        }
+    }
+
+    /**
+     * Curves all courses using the weighted scores recorded in their gradebooks.
+     */
+    public static int applyCurve(Collection<Course> courses, List<Enrollment> enrollments, Curve curve) {
+        return applyCurve(courses, enrollments, curve,
+                (student, course) -> course.getGradebook().getCourseScore(student.getID()));
+    }
+
+    /**
+     * Curves all courses using {@code scores} (negative means "no score, leave ungraded"),
+     * updates student grades and replaces changed entries of {@code enrollments}.
+     * Returns the number of students graded.
+     */
+    public static int applyCurve(Collection<Course> courses, List<Enrollment> enrollments, Curve curve,
+                                 ToDoubleBiFunction<Student, Course> scores) {
+        Objects.requireNonNull(courses, "Courses cannot be null");
+        Objects.requireNonNull(enrollments, "Enrollments cannot be null");
+        Objects.requireNonNull(curve, "Curve cannot be null");
+        Objects.requireNonNull(scores, "Score function cannot be null");
+
+        List<CourseTask> tasks = new ArrayList<>(courses.size());
+        for (Course c : courses) tasks.add(new CourseTask(c, curve.cumulativeShares(), scores));
+        ForkJoinPool.commonPool().invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(tasks);
+            }
+        });
+
+        int graded = 0;
+        Set<Course> curved = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (CourseTask task : tasks) {
+            String courseName = task.course.getName();
+            for (int i = 0; i < task.size; i++) {
+                task.students[i].setGrade(courseName, task.grades[i]);
+            }
+            graded += task.size;
+            curved.add(task.course);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < enrollments.size(); i++) {
+            Enrollment e = enrollments.get(i);
+            if (!curved.contains(e.course())) continue;
+            GradeType grade = e.student().getGrade(e.course().getName());
+            if (grade != GradeType.NOT_GRADED && grade != e.grade()) enrollments.set(i, e.withGrade(grade, now));
+        }
+
+        logger.info("Curved {} course(s), {} student grade(s) assigned", tasks.size(), graded);
+        return graded;
+    }
+
+    /**
+     * Returns the minimum score (in hundredths) needed for A+, A, B, C and D in a course.
+     */
+    static int[] cutoffs(int[] scaledScores, double[] cumulativeShares) {
+        int n = scaledScores.length;
+        int[] work = scaledScores.clone();
+        int[] cutoffs = new int[cumulativeShares.length];
+        int upper = n;
+
+        for (int g = 0; g < cumulativeShares.length; g++) {
+            int inGrade = (int) Math.ceil(cumulativeShares[g] * n - 1e-9);
+            if (inGrade <= 0) {
+                cutoffs[g] = Integer.MAX_VALUE;
+                continue;
+            }
+            int rank = n - Math.min(inGrade, n);
+            cutoffs[g] = select(work, 0, upper, rank);
+            upper = rank + 1;
+        }
+        return cutoffs;
+    }
+
+    /**
+     * Returns the {@code k}-th smallest value of {@code a[from, to)}, partially reordering it.
+     */
+    private static int select(int[] a, int from, int to, int k) {
+        int lo = from;
+        int hi = to - 1;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            int pivot = median(a[lo], a[mid], a[hi]);
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (a[i] < pivot) i++;
+                while (a[j] > pivot) j--;
+                if (i <= j) {
+                    int tmp = a[i];
+                    a[i] = a[j];
+                    a[j] = tmp;
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) hi = j;
+            else if (k >= i) lo = i;
+            else return a[k];
+        }
+        return a[k];
+    }
+
+    private static int median(int a, int b, int c) {
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
+
+    /**
+     * Curves one course: collects scores from the roster, finds cut-offs and grades.
+     */
+    private static final class CourseTask extends RecursiveAction {
+        private final Course course;
+        private final double[] cumulativeShares;
+        private final ToDoubleBiFunction<Student, Course> scores;
+        private Student[] students;
+        private GradeType[] grades;
+        private int size;
+
+        CourseTask(Course course, double[] cumulativeShares, ToDoubleBiFunction<Student, Course> scores) {
+            this.course = course;
+            this.cumulativeShares = cumulativeShares;
+            this.scores = scores;
+        }
+
+        @Override
+        protected void compute() {
+            List<Student> roster = course.getEnrolledStudents();
+            students = new Student[roster.size()];
+            int[] scaled = new int[roster.size()];
+
+            for (Student s : roster) {
+                double score = scores.applyAsDouble(s, course);
+                if (score < 0) continue;
+                students[size] = s;
+                scaled[size++] = (int) Math.round(score * 100);
+            }
+
+            scaled = Arrays.copyOf(scaled, size);
+            int[] cutoffs = cutoffs(scaled, cumulativeShares);
+            grades = new GradeType[size];
+            for (int i = 0; i < size; i++) {
+                GradeType grade = GradeType.F;
+                for (int g = 0; g < cutoffs.length; g++) {
+                    if (scaled[i] >= cutoffs[g]) {
+                        grade = CURVED_GRADES[g];
+                        break;
+                    }
+                }
+                grades[i] = grade;
+            }
+        }
+    }
+}
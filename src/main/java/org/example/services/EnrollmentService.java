@@ -1,16 +1,27 @@
 package org.example.services;
 
+import org.example.analytics.EnrollmentCube;
 import org.example.entities.*;
+import org.example.enums.EnrollmentOutcome;
 import org.example.enums.EnrollmentStatus;
 import org.example.enums.Semester;
 import org.example.exceptions.DuplicateEnrollmentException;
 import org.example.exceptions.LimitExceededException;
 import org.example.exceptions.TooManyAttemptsException;
+import org.example.storage.EnrollmentArchive;
+import org.example.storage.EnrollmentStore;
+import org.example.storage.ShardedRegistry;
 import org.example.utils.InputHelper;
+import org.example.utils.IntObjectMap;
+import org.example.utils.KeySort;
+import org.example.utils.SortedView;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service for managing enrollments with stream operations.
@@ -19,9 +30,68 @@ public class EnrollmentService {
 
     private static final Logger logger = LoggerFactory.getLogger(EnrollmentService.class);
 
+    /**
+     * One item of a batch enrollment.
+     *
+     * @param studentId ID of the student to enroll
+     * @param courseId index of the course in the catalogue passed to {@link #enrollBatch}
+     * @param semester semester of the enrollment
+     */
+    public record EnrollmentRequest(int studentId, int courseId, Semester semester) {
+    }
+
+    /**
+     * Per-item outcomes of {@link #enrollBatch}, in request order, plus the enrollments created.
+     */
+    public static final class BatchResult {
+        private final EnrollmentOutcome[] outcomes;
+        private final Enrollment[] enrollments;
+        private final int[] counts = new int[EnrollmentOutcome.values().length];
+
+        private BatchResult(EnrollmentOutcome[] outcomes, Enrollment[] enrollments) {
+            this.outcomes = outcomes;
+            this.enrollments = enrollments;
+            for (EnrollmentOutcome o : outcomes) counts[o.ordinal()]++;
+        }
+
+        public int size() { return outcomes.length; }
+
+        public EnrollmentOutcome get(int index) { return outcomes[index]; }
+
+        /**
+         * Returns the enrollment created for request {@code index}, or {@code null} if it was not {@code OK}.
+         */
+        public Enrollment getEnrollment(int index) { return enrollments[index]; }
+
+        public int count(EnrollmentOutcome outcome) { return counts[outcome.ordinal()]; }
+
+        /**
+         * Returns the created enrollments in request order.
+         */
+        public List<Enrollment> enrollments() {
+            List<Enrollment> result = new ArrayList<>(counts[EnrollmentOutcome.OK.ordinal()]);
+            for (Enrollment e : enrollments) {
+                if (e != null) result.add(e);
+            }
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            StringJoiner sj = new StringJoiner(", ", "BatchResult[", "]");
+            for (EnrollmentOutcome o : EnrollmentOutcome.values()) sj.add(o.name() + "=" + counts[o.ordinal()]);
+            return sj.toString();
+        }
+    }
+
+    /**
+     * Enrolls the student in the course. Rejections are thrown as stackless exceptions,
+     * since callers only use their message.
+     */
     public static Enrollment enrollStudent(Student student, Course course, Semester semester)
             throws LimitExceededException {
-        student.enrollCourses(course.getName());
+        RuntimeException rejection = student.rejection(student.tryEnroll(course.getName()), course.getName(), true);
+        if (rejection != null) throw rejection;
         course.enrollStudent(student);
         logger.info("Student {} {} enrolled in course {}",
                 student.getFirstName(), student.getLastName(), course.getName());
@@ -60,25 +130,101 @@ public class EnrollmentService {
         return enrollments;
     }
 
+    /**
+     * Applies a batch of enrollment requests without throwing or logging per item.
+     * <p>
+     * Requests are ordered by student so each student is locked once for all of their
+     * courses, then the accepted students are added to each course roster in one step.
+     * Requests for the same student are applied in batch order, so a repeated course is
+     * reported as {@code DUPLICATE} and courses beyond the student's limit as {@code LIMIT}.
+     * Unknown student IDs, course indices outside {@code courses} and missing semesters are
+     * reported as {@code NOT_FOUND}.
+     *
+     * @param courses the course catalogue; {@link EnrollmentRequest#courseId()} indexes into it
+     */
+    public static BatchResult enrollBatch(List<EnrollmentRequest> requests, Collection<Student> students,
+                                          List<Course> courses) {
+        Objects.requireNonNull(requests, "Requests cannot be null");
+        Objects.requireNonNull(students, "Students cannot be null");
+        Objects.requireNonNull(courses, "Courses cannot be null");
+
+        int n = requests.size();
+        EnrollmentOutcome[] outcomes = new EnrollmentOutcome[n];
+        Enrollment[] enrollments = new Enrollment[n];
+
+        IntObjectMap<Student> studentsById = new IntObjectMap<>(students.size());
+        for (Student s : students) studentsById.put(s.getID(), s);
+
+        long[] order = new long[n];
+        int valid = 0;
+        for (int i = 0; i < n; i++) {
+            EnrollmentRequest r = requests.get(i);
+            if (r == null || r.semester() == null || r.courseId() < 0 || r.courseId() >= courses.size()
+                    || !studentsById.containsKey(r.studentId())) {
+                outcomes[i] = EnrollmentOutcome.NOT_FOUND;
+                continue;
+            }
+            order[valid++] = ((long) r.studentId() << 32) | i;
+        }
+        Arrays.sort(order, 0, valid);
+
+        List<List<Student>> rosterAdds = new ArrayList<>(Collections.nCopies(courses.size(), null));
+        List<String> names = new ArrayList<>();
+        EnrollmentOutcome[] runOutcomes = new EnrollmentOutcome[Math.min(valid, 64)];
+        for (int start = 0; start < valid; ) {
+            int studentId = (int) (order[start] >> 32);
+            int end = start + 1;
+            while (end < valid && (int) (order[end] >> 32) == studentId) end++;
+
+            Student student = studentsById.get(studentId);
+            names.clear();
+            for (int k = start; k < end; k++) names.add(courses.get(requests.get((int) order[k]).courseId()).getName());
+            if (runOutcomes.length < names.size()) runOutcomes = new EnrollmentOutcome[names.size()];
+            student.enrollCourses(names, runOutcomes, 0);
+
+            for (int k = start; k < end; k++) {
+                int i = (int) order[k];
+                EnrollmentOutcome outcome = runOutcomes[k - start];
+                outcomes[i] = outcome;
+                if (outcome != EnrollmentOutcome.OK) continue;
+
+                EnrollmentRequest r = requests.get(i);
+                Course course = courses.get(r.courseId());
+                List<Student> adds = rosterAdds.get(r.courseId());
+                if (adds == null) {
+                    adds = new ArrayList<>();
+                    rosterAdds.set(r.courseId(), adds);
+                }
+                adds.add(student);
+                enrollments[i] = new Enrollment(student, course, r.semester());
+            }
+            start = end;
+        }
+
+        for (int c = 0; c < rosterAdds.size(); c++) {
+            List<Student> adds = rosterAdds.get(c);
+            if (adds != null) courses.get(c).enrollStudents(adds);
+        }
+
+        BatchResult result = new BatchResult(outcomes, enrollments);
+        logger.info("Batch enrollment finished: {} request(s), {}", n, result);
+        return result;
+    }
+
     /**
      * Sorts enrollments by student name.
-     * Demonstrates Comparator and lambda.
+     * Sort keys are extracted once by {@link KeySort}.
      */
     public static List<Enrollment> sortEnrollmentsByStudentName(
             Collection<Enrollment> enrollments) {
-        return enrollments.stream()
-                .sorted(Comparator.comparing(e -> e.student().getFirstName()))
-                .toList();
+        return KeySort.of(enrollments).by(e -> e.student().getFirstName()).sort();
     }
 
     /**
      * Sorts enrollments by grade (descending - best grades first).
      */
     public static List<Enrollment> sortEnrollmentsByGrade(Collection<Enrollment> enrollments) {
-        return enrollments.stream()
-                .sorted(Comparator.comparingDouble((Enrollment e) ->
-                        e.grade().getGradePoint()).reversed())
-                .toList();
+        return KeySort.of(enrollments).byDoubleDescending(e -> e.grade().getGradePoint()).sort();
     }
 
     /**
@@ -91,6 +237,26 @@ public class EnrollmentService {
                 .collect(Collectors.groupingBy(Enrollment::semester));
     }
 
+    /**
+     * Groups the registry's enrollments by semester, shard by shard.
+     */
+    public static Map<Semester, List<Enrollment>> groupEnrollmentsBySemester(ShardedRegistry registry) {
+        return Objects.requireNonNull(registry, "Registry cannot be null").groupEnrollmentsBySemester();
+    }
+
+    /**
+     * Groups the live enrollments and every archived one by semester, as archive rows so
+     * that rows whose student or course no longer exists are kept. Unlike the summary-based
+     * archive queries this pages in all segments; archived rows come first.
+     */
+    public static Map<Semester, List<EnrollmentArchive.ArchivedEnrollment>> groupEnrollmentsBySemester(
+            Collection<Enrollment> live, EnrollmentArchive archive) {
+        Objects.requireNonNull(live, "Enrollments cannot be null");
+        Objects.requireNonNull(archive, "Archive cannot be null");
+        return Stream.concat(archive.stream(), live.stream().map(EnrollmentArchive.ArchivedEnrollment::of))
+                .collect(Collectors.groupingBy(EnrollmentArchive.ArchivedEnrollment::semester));
+    }
+
     /**
      * Groups enrollments by status (ACTIVE, COMPLETED, etc.).
      */
@@ -100,6 +266,46 @@ public class EnrollmentService {
                 .collect(Collectors.groupingBy(Enrollment::status));
     }
 
+    /**
+     * Groups the registry's enrollments by status, shard by shard.
+     */
+    public static Map<EnrollmentStatus, List<Enrollment>> groupEnrollmentsByStatus(ShardedRegistry registry) {
+        return Objects.requireNonNull(registry, "Registry cannot be null").groupEnrollmentsByStatus();
+    }
+
+    /**
+     * Pageable view of enrollments by student first name. Build it once and fetch pages with
+     * {@link SortedView#page(String, int)}; each page costs O(log n + page size).
+     */
+    public static SortedView<Enrollment> viewEnrollmentsByStudentName(Collection<Enrollment> enrollments) {
+        return SortedView.byText(enrollments, e -> e.student().getFirstName(), false, EnrollmentService::enrollmentKey);
+    }
+
+    /**
+     * Pageable view of enrollments by grade (descending).
+     */
+    public static SortedView<Enrollment> viewEnrollmentsByGrade(Collection<Enrollment> enrollments) {
+        return SortedView.byDouble(enrollments, e -> e.grade().getGradePoint(), true, EnrollmentService::enrollmentKey);
+    }
+
+    /**
+     * Yields enrollments grouped by semester, in semester order, one group at a time.
+     */
+    public static Stream<SortedView.Group<Semester, Enrollment>> streamEnrollmentsBySemester(
+            Collection<Enrollment> enrollments) {
+        return SortedView.byDouble(enrollments, e -> e.semester().ordinal(), false, EnrollmentService::enrollmentKey)
+                .groups(Enrollment::semester);
+    }
+
+    /**
+     * Yields enrollments grouped by status, one group at a time.
+     */
+    public static Stream<SortedView.Group<EnrollmentStatus, Enrollment>> streamEnrollmentsByStatus(
+            Collection<Enrollment> enrollments) {
+        return SortedView.byDouble(enrollments, e -> e.status().ordinal(), false, EnrollmentService::enrollmentKey)
+                .groups(Enrollment::status);
+    }
+
     /**
      * Partitions enrollments by passing grade.
      * Demonstrates partitioningBy collector.
@@ -135,6 +341,85 @@ public class EnrollmentService {
         return (completed * 100.0) / total;
     }
 
+    /**
+     * Builds an aggregate cube over {@code enrollments} for roll-up, drill-down and slice
+     * queries, e.g. pass rate by course level, semester and professor. The cube is attached
+     * to enrollment status events, so grading, status changes and {@link #closeSemester} keep
+     * it current; count new enrollments with {@link EnrollmentCube#add} and close the cube
+     * when done with it.
+     */
+    public static EnrollmentCube buildEnrollmentCube(Collection<Course> courses, Collection<Enrollment> enrollments) {
+        Objects.requireNonNull(courses, "Courses cannot be null");
+        Objects.requireNonNull(enrollments, "Enrollments cannot be null");
+        EnrollmentCube cube = EnrollmentCube.of(courses, enrollments).attach();
+        logger.info("Built enrollment cube over {} enrollment(s) in {} course(s)", enrollments.size(), courses.size());
+        return cube;
+    }
+
+    /**
+     * Closes {@code semester} in {@code store}: active enrollments become completed or failed
+     * by grade, all with the same completion time, in place and in parallel.
+     * <p>
+     * The rows change in place, so no per-enrollment status events fire; status listeners
+     * (attached cubes and {@code EntityEventPublisher} subscribers) get one
+     * {@link EnrollmentStatusListener#semesterClosed} call at the end instead.
+     */
+    public static EnrollmentStore.Transitions closeSemester(EnrollmentStore store, Semester semester) {
+        Objects.requireNonNull(store, "Store cannot be null");
+        Objects.requireNonNull(semester, "Semester cannot be null");
+        LocalDateTime closedAt = LocalDateTime.now();
+        EnrollmentStore.Transitions transitions = store.closeSemester(semester, closedAt);
+        Enrollment.notifySemesterClosed(semester, transitions.completed(), transitions.failed(), closedAt);
+        logger.info("Closed {}: {} completed, {} failed", semester, transitions.completed(), transitions.failed());
+        return transitions;
+    }
+
+    /**
+     * Moves the enrollments of a closed {@code semester} out of {@code enrollments} into a new
+     * segment of {@code archive}, so the live list only holds current terms. Query them
+     * afterwards with {@link #streamEnrollments}, or through the archive-aware overloads of
+     * {@link #groupEnrollmentsBySemester} and {@link GradingService#getGradeDistribution}.
+     *
+     * @throws IllegalArgumentException if the semester still has active or pending enrollments
+     */
+    public static EnrollmentArchive.SegmentSummary archiveSemester(List<Enrollment> enrollments, Semester semester,
+                                                                   EnrollmentArchive archive) throws IOException {
+        Objects.requireNonNull(enrollments, "Enrollments cannot be null");
+        Objects.requireNonNull(semester, "Semester cannot be null");
+        Objects.requireNonNull(archive, "Archive cannot be null");
+
+        List<Enrollment> closed = enrollments.stream().filter(e -> e.semester() == semester).toList();
+        EnrollmentArchive.SegmentSummary summary = archive.archive(semester, closed);
+        enrollments.removeIf(e -> e.semester() == semester);
+        logger.info("Archived {} enrollment(s) of {} as segment {}", summary.enrollments(), semester, summary.id());
+        return summary;
+    }
+
+    /**
+     * Streams the enrollments of {@code semester} from the archive followed by those still in
+     * {@code live}, as archive rows; archived segments are paged in only if the stream
+     * reaches them. Use {@link EnrollmentArchive.ArchivedEnrollment#resolve} to get entities back.
+     */
+    public static Stream<EnrollmentArchive.ArchivedEnrollment> streamEnrollments(Semester semester,
+                                                                                 Collection<Enrollment> live,
+                                                                                 EnrollmentArchive archive) {
+        Objects.requireNonNull(semester, "Semester cannot be null");
+        Objects.requireNonNull(live, "Enrollments cannot be null");
+        Objects.requireNonNull(archive, "Archive cannot be null");
+        return Stream.concat(archive.stream(semester),
+                live.stream().filter(e -> e.semester() == semester).map(EnrollmentArchive.ArchivedEnrollment::of));
+    }
+
+    /**
+     * Unique tie-breaker for enrollment orderings: student ID, course name, semester and
+     * enrollment date, since a student may take the same course again in a later term.
+     * The ISO date sorts chronologically as text.
+     */
+    private static String enrollmentKey(Enrollment e) {
+        return e.student().getID() + "/" + e.course().getName() + "/" + e.semester().ordinal()
+                + "/" + e.enrollmentDate();
+    }
+
     private static Course selectCourse(List<Course> courses) throws TooManyAttemptsException {
         System.out.println("Available courses:");
         for (int i = 0; i < courses.size(); i++) {
@@ -0,0 +1,307 @@
+package org.example.services;
+
+import org.example.entities.Enrollment;
+import org.example.entities.Student;
+import org.example.enums.GradeType;
+import org.example.utils.IntArrayList;
+import org.example.utils.IntObjectMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Service for bulk grade ingestion from exam-period score files.
+ * <p>
+ * Each line has the form {@code studentId,courseName,score} with a score between 0 and 100;
+ * blank lines and lines starting with {@code #} are skipped. The file is read in chunks,
+ * every chunk is split into partitions by student ID, and the partitions are applied in
+ * parallel, so one student's rows are always handled by one thread in file order. A score
+ * for a course the student took more than once goes to the latest active enrollment in it.
+ */
+public class GradeIngestionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GradeIngestionService.class);
+    private static final int CHUNK_ROWS = 1 << 16;
+    private static final int MAX_REJECTED_SAMPLES = 100;
+
+    /**
+     * Outcome of one ingestion run.
+     *
+     * @param rows rows read (excluding skipped lines)
+     * @param applied rows that changed a grade
+     * @param unchanged rows whose grade was already set
+     * @param rejected malformed rows or rows for unknown students/courses
+     * @param rejectedSamples the first rejected rows with their reason
+     * @param elapsed wall-clock time of the run
+     */
+    public record IngestionReport(long rows, long applied, long unchanged, long rejected,
+                                  List<String> rejectedSamples, Duration elapsed) {
+
+        public double rowsPerSecond() {
+            long nanos = elapsed.toNanos();
+            return nanos == 0 ? 0.0 : rows * 1_000_000_000.0 / nanos;
+        }
+    }
+
+    public static IngestionReport ingest(Path scoreFile, Collection<Student> students,
+                                         List<Enrollment> enrollments) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(scoreFile)) {
+            return ingest(reader, students, enrollments);
+        }
+    }
+
+    /**
+     * Applies all scores from {@code reader}: updates {@link Student#setGrade} and replaces
+     * the matching entries of {@code enrollments} (which must support {@link List#set}).
+     * A new {@link Enrollment} is only created when its grade actually changes.
+     */
+    public static IngestionReport ingest(BufferedReader reader, Collection<Student> students,
+                                         List<Enrollment> enrollments) throws IOException {
+        Objects.requireNonNull(reader, "Reader cannot be null");
+        Objects.requireNonNull(students, "Students cannot be null");
+        Objects.requireNonNull(enrollments, "Enrollments cannot be null");
+
+        long start = System.nanoTime();
+        LocalDateTime gradedAt = LocalDateTime.now();
+
+        IntObjectMap<Student> studentsById = new IntObjectMap<>(students.size());
+        for (Student s : students) studentsById.put(s.getID(), s);
+
+        IntObjectMap<IntArrayList> positionsById = new IntObjectMap<>(students.size());
+        for (int i = 0; i < enrollments.size(); i++) {
+            int id = enrollments.get(i).student().getID();
+            IntArrayList positions = positionsById.get(id);
+            if (positions == null) {
+                positions = new IntArrayList(4);
+                positionsById.put(id, positions);
+            }
+            positions.add(i);
+        }
+
+        int partitionCount = Math.max(1, ForkJoinPool.getCommonPoolParallelism());
+        Partition[] partitions = new Partition[partitionCount];
+        for (int p = 0; p < partitionCount; p++) {
+            partitions[p] = new Partition(CHUNK_ROWS / partitionCount + 1, studentsById,
+                    positionsById, enrollments, gradedAt);
+        }
+
+        long rows = 0;
+        long lineNumber = 0;
+        long parseRejected = 0;
+        List<String> parseSamples = new ArrayList<>();
+        int buffered = 0;
+        String line;
+
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || line.charAt(0) == '#') continue;
+            rows++;
+
+            int first = line.indexOf(',');
+            int last = line.lastIndexOf(',');
+            int studentId;
+            int score;
+            try {
+                if (first <= 0 || last == first) throw new NumberFormatException("expected 3 fields");
+                studentId = parseInt(line, 0, first);
+                score = parseInt(line, last + 1, line.length());
+            } catch (NumberFormatException e) {
+                parseRejected++;
+                sample(parseSamples, lineNumber, "malformed row");
+                continue;
+            }
+            if (score < 0 || score > 100) {
+                parseRejected++;
+                sample(parseSamples, lineNumber, "score out of range (" + score + ")");
+                continue;
+            }
+
+            partitions[Math.floorMod(studentId, partitionCount)]
+                    .add(line, lineNumber, studentId, first + 1, last, score);
+
+            if (++buffered >= CHUNK_ROWS) {
+                flush(partitions);
+                buffered = 0;
+            }
+        }
+        flush(partitions);
+
+        long applied = 0;
+        long unchanged = 0;
+        long rejected = parseRejected;
+        List<String> samples = new ArrayList<>(parseSamples);
+        for (Partition p : partitions) {
+            applied += p.applied;
+            unchanged += p.unchanged;
+            rejected += p.rejected;
+            for (String s : p.samples) sample(samples, s);
+        }
+
+        IngestionReport report = new IngestionReport(rows, applied, unchanged, rejected,
+                List.copyOf(samples), Duration.ofNanos(System.nanoTime() - start));
+        logger.info("Grade ingestion finished: {} rows, {} applied, {} unchanged, {} rejected ({} rows/s)",
+                rows, applied, unchanged, rejected, String.format("%.0f", report.rowsPerSecond()));
+        return report;
+    }
+
+    private static void flush(Partition[] partitions) {
+        if (partitions.length == 1) {
+            partitions[0].apply();
+            return;
+        }
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(partitions.length);
+        for (Partition p : partitions) tasks.add(ForkJoinTask.adapt(p::apply));
+        ForkJoinTask.invokeAll(tasks);
+    }
+
+    private static int parseInt(String line, int start, int end) {
+        while (start < end && Character.isWhitespace(line.charAt(start))) start++;
+        while (end > start && Character.isWhitespace(line.charAt(end - 1))) end--;
+        return Integer.parseInt(line, start, end, 10);
+    }
+
+    private static void sample(List<String> samples, long lineNumber, String reason) {
+        sample(samples, "line " + lineNumber + ": " + reason);
+    }
+
+    private static void sample(List<String> samples, String entry) {
+        if (samples.size() < MAX_REJECTED_SAMPLES) samples.add(entry);
+    }
+
+    /**
+     * Rows of one student partition, buffered in parallel arrays and reused across chunks.
+     */
+    private static final class Partition {
+        private final IntObjectMap<Student> studentsById;
+        private final IntObjectMap<IntArrayList> positionsById;
+        private final List<Enrollment> enrollments;
+        private final LocalDateTime gradedAt;
+        private final List<String> samples = new ArrayList<>();
+
+        private String[] lines;
+        private long[] lineNumbers;
+        private int[] studentIds;
+        private int[] courseStarts;
+        private int[] courseEnds;
+        private int[] scores;
+        private int size;
+
+        private long applied;
+        private long unchanged;
+        private long rejected;
+
+        Partition(int capacity, IntObjectMap<Student> studentsById,
+                  IntObjectMap<IntArrayList> positionsById, List<Enrollment> enrollments,
+                  LocalDateTime gradedAt) {
+            this.studentsById = studentsById;
+            this.positionsById = positionsById;
+            this.enrollments = enrollments;
+            this.gradedAt = gradedAt;
+            this.lines = new String[capacity];
+            this.lineNumbers = new long[capacity];
+            this.studentIds = new int[capacity];
+            this.courseStarts = new int[capacity];
+            this.courseEnds = new int[capacity];
+            this.scores = new int[capacity];
+        }
+
+        void add(String line, long lineNumber, int studentId, int courseStart, int courseEnd, int score) {
+            if (size == lines.length) grow();
+            lines[size] = line;
+            lineNumbers[size] = lineNumber;
+            studentIds[size] = studentId;
+            courseStarts[size] = courseStart;
+            courseEnds[size] = courseEnd;
+            scores[size] = score;
+            size++;
+        }
+
+        void apply() {
+            for (int i = 0; i < size; i++) {
+                applyRow(i);
+                lines[i] = null;
+            }
+            size = 0;
+        }
+
+        private void applyRow(int row) {
+            Student student = studentsById.get(studentIds[row]);
+            IntArrayList positions = positionsById.get(studentIds[row]);
+            if (student == null) {
+                reject(row, "unknown student " + studentIds[row]);
+                return;
+            }
+
+            int position = positions == null ? -1
+                    : findCourse(positions, lines[row], courseStarts[row], courseEnds[row]);
+            if (position < 0) {
+                reject(row, "student " + studentIds[row] + " is not enrolled in " +
+                        lines[row].substring(courseStarts[row], courseEnds[row]).trim());
+                return;
+            }
+
+            Enrollment enrollment = enrollments.get(position);
+            String courseName = enrollment.course().getName();
+            GradeType grade = GradeType.fromScore(scores[row]);
+
+            if (student.getGrade(courseName) != grade) student.setGrade(courseName, grade);
+            if (enrollment.grade() == grade) {
+                unchanged++;
+                return;
+            }
+            enrollments.set(position, enrollment.withGrade(grade, gradedAt));
+            applied++;
+        }
+
+        /**
+         * Picks the student's enrollment in the named course that a score applies to: the
+         * latest active one, or the latest one if the student has no active enrollment in it,
+         * so a repeated course never regrades an earlier term.
+         */
+        private int findCourse(IntArrayList positions, String line, int start, int end) {
+            while (start < end && line.charAt(start) == ' ') start++;
+            while (end > start && line.charAt(end - 1) == ' ') end--;
+            int length = end - start;
+
+            int best = -1;
+            for (int i = 0; i < positions.size(); i++) {
+                int position = positions.get(i);
+                Enrollment candidate = enrollments.get(position);
+                String name = candidate.course().getName();
+                if (name.length() != length || !line.regionMatches(true, start, name, 0, length)) continue;
+                if (best < 0 || isLater(candidate, enrollments.get(best))) best = position;
+            }
+            return best;
+        }
+
+        private static boolean isLater(Enrollment candidate, Enrollment best) {
+            boolean active = candidate.status().isActive();
+            if (active != best.status().isActive()) return active;
+            return !candidate.enrollmentDate().isBefore(best.enrollmentDate());
+        }
+
+        private void reject(int row, String reason) {
+            rejected++;
+            if (samples.size() < MAX_REJECTED_SAMPLES) samples.add("line " + lineNumbers[row] + ": " + reason);
+        }
+
+        private void grow() {
+            int capacity = lines.length * 2;
+            lines = Arrays.copyOf(lines, capacity);
+            lineNumbers = Arrays.copyOf(lineNumbers, capacity);
+            studentIds = Arrays.copyOf(studentIds, capacity);
+            courseStarts = Arrays.copyOf(courseStarts, capacity);
+            courseEnds = Arrays.copyOf(courseEnds, capacity);
+            scores = Arrays.copyOf(scores, capacity);
+        }
+    }
+}
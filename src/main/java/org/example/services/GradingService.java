@@ -1,13 +1,18 @@
 package org.example.services;
 
+import org.example.analytics.GpaHistogram;
 import org.example.entities.Enrollment;
 import org.example.entities.Student;
 import org.example.enums.GradeType;
+import org.example.storage.EnrollmentArchive;
+import org.example.storage.ShardedRegistry;
+import org.example.utils.SortedView;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service for managing grades and GPA calculations.
@@ -68,15 +73,43 @@ public class GradingService {
     public static Map<String, List<Student>> groupStudentsByGPARange(
             Collection<Student> students) {
         return students.stream()
-                .collect(Collectors.groupingBy(s -> {
-                    double gpa = s.calculateGPA();
-                    if (gpa >= 4.5) return "Excellent (4.5-5.0)";
-                    if (gpa >= 3.5) return "Very Good (3.5-4.4)";
-                    if (gpa >= 2.5) return "Good (2.5-3.4)";
-                    if (gpa >= 2.0) return "Satisfactory (2.0-2.4)";
-                    if (gpa > 0.0) return "Poor (<2.0)";
-                    return "Not Graded";
-                }));
+                .collect(Collectors.groupingBy(s -> gpaRange(s.calculateGPA())));
+    }
+
+    /**
+     * Yields students grouped by GPA range, best range first, one group at a time.
+     * Uses the same range labels as {@link #groupStudentsByGPARange}.
+     */
+    public static Stream<SortedView.Group<String, Student>> streamStudentsByGPARange(
+            Collection<Student> students) {
+        return UserService.viewStudentsByGPA(students).groups(s -> gpaRange(s.calculateGPA()));
+    }
+
+    private static String gpaRange(double gpa) {
+        if (gpa >= 4.5) return "Excellent (4.5-5.0)";
+        if (gpa >= 3.5) return "Very Good (3.5-4.4)";
+        if (gpa >= 2.5) return "Good (2.5-3.4)";
+        if (gpa >= 2.0) return "Satisfactory (2.0-2.4)";
+        if (gpa > 0.0) return "Poor (<2.0)";
+        return "Not Graded";
+    }
+
+    /**
+     * Counts students per GPA range without building the groups.
+     * Uses the same range labels as {@link #groupStudentsByGPARange}.
+     */
+    public static Map<String, Long> countStudentsByGPARange(Collection<Student> students) {
+        return GpaHistogram.of(students).rangeCounts();
+    }
+
+    /**
+     * Builds a GPA histogram that stays up to date with later grade changes.
+     */
+    public static GpaHistogram trackGPADistribution(Collection<Student> students) {
+        GpaHistogram histogram = GpaHistogram.of(students);
+        Student.addGradeListener(histogram);
+        logger.info("Tracking GPA distribution of {} students", students.size());
+        return histogram;
     }
 
     /**
@@ -88,6 +121,13 @@ public class GradingService {
                 .max(Comparator.comparingDouble(Student::calculateGPA));
     }
 
+    /**
+     * Finds the registry's top student by GPA from each shard's best.
+     */
+    public static Optional<Student> findTopStudentByGPA(ShardedRegistry registry) {
+        return Objects.requireNonNull(registry, "Registry cannot be null").findTopStudentByGPA();
+    }
+
     /**
      * Generates a grade distribution report.
      * Demonstrates groupingBy with counting collector.
@@ -100,4 +140,24 @@ public class GradingService {
                         Collectors.counting()
                 ));
     }
+
+    /**
+     * Counts the registry's enrollments per grade, shard by shard.
+     */
+    public static Map<GradeType, Long> getGradeDistribution(ShardedRegistry registry) {
+        return Objects.requireNonNull(registry, "Registry cannot be null").getGradeDistribution();
+    }
+
+    /**
+     * Grade distribution of the live enrollments plus every archived one. The archived part
+     * comes from the archive's summary index, so no segment is paged in.
+     */
+    public static Map<GradeType, Long> getGradeDistribution(
+            Collection<Enrollment> live, EnrollmentArchive archive) {
+        Objects.requireNonNull(archive, "Archive cannot be null");
+        Map<GradeType, Long> distribution = new EnumMap<>(GradeType.class);
+        distribution.putAll(getGradeDistribution(Objects.requireNonNull(live, "Enrollments cannot be null")));
+        archive.getGradeDistribution().forEach((grade, count) -> distribution.merge(grade, count, Long::sum));
+        return distribution;
+    }
 }
\ No newline at end of file
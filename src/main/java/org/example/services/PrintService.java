@@ -2,37 +2,61 @@ package org.example.services;
 
 import org.example.entities.*;
 import org.example.enums.GradeType;
+import org.example.utils.KeySort;
+import org.example.utils.TinyLfuCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Collection;
-import java.util.List;
-import java.util.Map;
+import java.time.Duration;
+import java.util.*;
+import java.util.function.ToLongFunction;
 import java.util.stream.Collectors;
 
 /**
  * Service for printing and displaying entity information with modern formatting.
+ * Reports read a {@link RegistrySnapshot}, so they stay consistent while enrollments continue.
  */
 public class PrintService {
 
     private static final Logger logger = LoggerFactory.getLogger(PrintService.class);
+    private static final TinyLfuCache<Student, Rendered> studentProfiles =
+            new TinyLfuCache<>(10_000, Duration.ofMinutes(30));
+    private static final TinyLfuCache<Course, Rendered> courseProfiles =
+            new TinyLfuCache<>(2_000, Duration.ofMinutes(30));
 
+    /**
+     * Rendered profile text plus the entity versions it was rendered from. A student profile
+     * also depends on the lessons of each enrolled course, keyed by lower-case course name.
+     */
+    private record Rendered(String text, long version, String[] courseNames, long[] lessonVersions) {
+
+        boolean isCurrent(long currentVersion, ToLongFunction<String> currentLessonVersion) {
+            if (version != currentVersion) return false;
+            for (int i = 0; i < courseNames.length; i++) {
+                if (currentLessonVersion.applyAsLong(courseNames[i]) != lessonVersions[i]) return false;
+            }
+            return true;
+        }
+    }
 
     /**
-     * Prints all users (professors and students) with their courses and details.
+     * Prints all users (professors and students) with their courses and details, as of
+     * {@code snapshot}, which must cover the students among {@code users}.
      */
-    public static void printUsers(List<User> users, List<Course> courses) {
-        if (users == null || courses == null) {
+    public static void printUsers(List<User> users, RegistrySnapshot snapshot) {
+        if (users == null || snapshot == null) {
             System.out.println("No users or courses to display.");
             return;
         }
 
-        Map<String, Course> courseMap = courses.stream()
+        Map<String, RegistrySnapshot.CourseView> courseMap = snapshot.courses().stream()
                 .collect(Collectors.toMap(
-                        c -> c.getName().toLowerCase(),
+                        c -> c.name().toLowerCase(),
                         c -> c,
                         (c1, c2) -> c1
                 ));
+        Map<Student, RegistrySnapshot.StudentView> studentMap = new IdentityHashMap<>();
+        for (RegistrySnapshot.StudentView v : snapshot.students()) studentMap.put(v.student(), v);
 
         logger.info("Printing all users and their courses.");
         System.out.println("\n========== ALL USERS ==========");
@@ -40,7 +64,7 @@ public class PrintService {
         for (User u : users) {
             switch (u) {
                 case Professor p -> printProfessor(p, courseMap);
-                case Student s -> printStudent(s, courseMap);
+                case Student s -> System.out.print(studentProfile(studentMap.get(s), courseMap));
                 case null, default -> {}
             }
             System.out.println();
@@ -49,13 +73,45 @@ public class PrintService {
     }
 
     /**
-     * Prints detailed student statistics.
+     * Prints one student's profile from the profile cache. {@code coursesByName} maps
+     * lower-case course names to courses, as built for {@link #printUsers}.
+     * A cached profile is reused until the student's version or the lesson version of one
+     * of their courses changes.
      */
-    public static void printStudentStatistics(Collection<Student> students) {
+    public static void printStudentProfile(Student student, Map<String, Course> coursesByName) {
+        Objects.requireNonNull(student, "Student cannot be null");
+        Objects.requireNonNull(coursesByName, "Course map cannot be null");
+        String text = studentProfiles.get(student,
+                r -> r.isCurrent(student.getVersion(), name -> lessonVersion(coursesByName.get(name))),
+                s -> {
+                    RegistrySnapshot.StudentView view = RegistrySnapshotter.viewOf(s);
+                    Map<String, RegistrySnapshot.CourseView> courseMap = new HashMap<>();
+                    for (String name : view.courses()) {
+                        Course c = coursesByName.get(name.toLowerCase());
+                        if (c != null) courseMap.put(name.toLowerCase(), RegistrySnapshotter.viewOf(c));
+                    }
+                    return renderStudent(view, courseMap);
+                }).text();
+        System.out.print(text);
+    }
+
+    public static TinyLfuCache.Stats getStudentProfileCacheStats() {
+        return studentProfiles.stats();
+    }
+
+    public static TinyLfuCache.Stats getCourseProfileCacheStats() {
+        return courseProfiles.stats();
+    }
+
+    /**
+     * Prints student statistics as of {@code snapshot}.
+     */
+    public static void printStudentStatistics(RegistrySnapshot snapshot) {
         System.out.println("\n========== STUDENT STATISTICS ==========");
 
+        List<RegistrySnapshot.StudentView> students = snapshot.students();
         double avgGPA = students.stream()
-                .mapToDouble(Student::calculateGPA)
+                .mapToDouble(RegistrySnapshot.StudentView::gpa)
                 .average()
                 .orElse(0.0);
 
@@ -63,33 +119,32 @@ public class PrintService {
         System.out.println("Average GPA: " + String.format("%.2f", avgGPA));
 
         System.out.println("\nTop 5 Students by GPA:");
-        UserService.sortStudentsByGPA(students).stream()
-                .limit(5)
-                .forEach(s -> System.out.println("  - " + s.getFirstName() + " " +
-                        s.getLastName() + " (GPA: " + String.format("%.2f", s.calculateGPA()) + ")"));
+        KeySort.of(students).byDoubleDescending(RegistrySnapshot.StudentView::gpa).top(5)
+                .forEach(s -> System.out.println("  - " + s.firstName() + " " +
+                        s.lastName() + " (GPA: " + String.format("%.2f", s.gpa()) + ")"));
 
         System.out.println("========================================\n");
     }
 
     /**
-     * Prints detailed course statistics.
+     * Prints course statistics as of {@code snapshot}.
      */
-    public static void printCourseStatistics(Collection<Course> courses) {
+    public static void printCourseStatistics(RegistrySnapshot snapshot) {
         System.out.println("\n========== COURSE STATISTICS ==========");
 
+        List<RegistrySnapshot.CourseView> courses = snapshot.courses();
         System.out.println("Total Courses: " + courses.size());
 
         double avgEnrollment = courses.stream()
-                .mapToInt(Course::getEnrollmentCount)
+                .mapToInt(RegistrySnapshot.CourseView::enrollmentCount)
                 .average()
                 .orElse(0.0);
         System.out.println("Average Enrollment per Course: " + String.format("%.1f", avgEnrollment));
 
         System.out.println("\nMost Popular Courses:");
-        CourseService.sortCoursesByEnrollment(courses).stream()
-                .limit(3)
-                .forEach(c -> System.out.println("  - " + c.getName() +
-                        " (" + c.getEnrollmentCount() + " students)"));
+        KeySort.of(courses).byIntDescending(RegistrySnapshot.CourseView::enrollmentCount).top(3)
+                .forEach(c -> System.out.println("  - " + c.name() +
+                        " (" + c.enrollmentCount() + " students)"));
 
         System.out.println("=======================================\n");
     }
@@ -107,7 +162,7 @@ public class PrintService {
         System.out.println("============================================\n");
     }
 
-    private static void printProfessor(Professor p, Map<String, Course> courseMap) {
+    private static void printProfessor(Professor p, Map<String, RegistrySnapshot.CourseView> courseMap) {
         System.out.println("👨‍🏫 PROFESSOR: " + p.getFirstName() + " " + p.getLastName());
         System.out.println("   Email: " + p.getEmail());
         System.out.println("   Teaching " + p.getTeachingCourses().size() + " course(s):");
@@ -115,40 +170,66 @@ public class PrintService {
         for (String courseName : p.getTeachingCourses()) {
             System.out.println("    • " + courseName);
 
-            Course c = courseMap.get(courseName.toLowerCase());
+            RegistrySnapshot.CourseView c = courseMap.get(courseName.toLowerCase());
             if (c != null) {
-                System.out.println("      Level: " + c.getLevel() +
-                        ", Students: " + c.getEnrollmentCount());
-                c.getLessons().forEach(l ->
-                        System.out.println("      - " + l.getName() + " (" + l.getType() + ")")
-                );
+                System.out.print(courseProfiles.get(c.course(),
+                        r -> r.isCurrent(c.version(), name -> 0),
+                        k -> renderCourse(c)).text());
             }
         }
     }
 
-    private static void printStudent(Student s, Map<String, Course> courseMap) {
-        System.out.println("👨‍🎓 STUDENT: " + s.getFirstName() + " " + s.getLastName());
-        System.out.println("   Email: " + s.getEmail());
-        System.out.println("   GPA: " + String.format("%.2f", s.calculateGPA()));
-        System.out.println("   Taking " + s.getCourseCount() + " course(s):");
+    private static String studentProfile(RegistrySnapshot.StudentView s,
+                                         Map<String, RegistrySnapshot.CourseView> courseMap) {
+        return studentProfiles.get(s.student(),
+                r -> r.isCurrent(s.version(), name -> {
+                    RegistrySnapshot.CourseView c = courseMap.get(name);
+                    return c == null ? -1 : c.lessonVersion();
+                }),
+                k -> renderStudent(s, courseMap)).text();
+    }
 
-        for (String courseName : s.getEnrolledCourses()) {
-            Course c = courseMap.get(courseName.toLowerCase());
-            GradeType grade = s.getGrade(courseName);
+    private static Rendered renderCourse(RegistrySnapshot.CourseView c) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("      Level: ").append(c.level()).append(", Students: ").append(c.enrollmentCount()).append('\n');
+        c.lessons().forEach(l -> sb.append("      - ").append(l.getName()).append(" (").append(l.getType()).append(")\n"));
+        return new Rendered(sb.toString(), c.version(), new String[0], new long[0]);
+    }
+
+    private static Rendered renderStudent(RegistrySnapshot.StudentView s,
+                                          Map<String, RegistrySnapshot.CourseView> courseMap) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("👨‍🎓 STUDENT: ").append(s.firstName()).append(" ").append(s.lastName()).append('\n');
+        sb.append("   Email: ").append(s.email()).append('\n');
+        sb.append("   GPA: ").append(String.format("%.2f", s.gpa())).append('\n');
+        sb.append("   Taking ").append(s.courseCount()).append(" course(s):\n");
+
+        String[] courseNames = new String[s.courseCount()];
+        long[] lessonVersions = new long[s.courseCount()];
+        int i = 0;
+        for (String courseName : s.courses()) {
+            RegistrySnapshot.CourseView c = courseMap.get(courseName.toLowerCase());
+            GradeType grade = s.grade(courseName);
+            courseNames[i] = courseName.toLowerCase();
+            lessonVersions[i++] = c == null ? -1 : c.lessonVersion();
 
             String gradeTernary = grade == GradeType.NOT_GRADED ?
                     "Not graded" : grade.name().replace("_", "+");
             if (c != null) {
-                System.out.println("    • " + c.getName() + " - " + c.getECTS() + " ECTS" +
-                        " (Grade: " + gradeTernary + ")");
+                sb.append("    • ").append(c.name()).append(" - ").append(c.ects()).append(" ECTS")
+                        .append(" (Grade: ").append(gradeTernary).append(")\n");
 
-                c.getLessons().forEach(l ->
-                        System.out.println("      - " + l.getName() + " (" + l.getType() + ")")
-                );
+                c.lessons().forEach(l ->
+                        sb.append("      - ").append(l.getName()).append(" (").append(l.getType()).append(")\n"));
             } else {
-                System.out.println("    • " + courseName + " - ECTS unknown" +
-                        " (Grade: " + gradeTernary + ")");
+                sb.append("    • ").append(courseName).append(" - ECTS unknown")
+                        .append(" (Grade: ").append(gradeTernary).append(")\n");
             }
         }
+        return new Rendered(sb.toString(), s.version(), courseNames, lessonVersions);
+    }
+
+    private static long lessonVersion(Course course) {
+        return course == null ? -1 : course.getLessonVersion();
     }
-}
\ No newline at end of file
+}
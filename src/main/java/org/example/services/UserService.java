@@ -2,7 +2,11 @@ package org.example.services;
 
 import org.example.entities.*;
 import org.example.exceptions.*;
+import org.example.storage.ShardedRegistry;
 import org.example.utils.InputHelper;
+import org.example.utils.IntKeyedSet;
+import org.example.utils.KeySort;
+import org.example.utils.SortedView;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.util.*;
@@ -16,9 +20,12 @@ public class UserService {
 
     private static final Logger logger = LoggerFactory.getLogger(UserService.class);
 
+    /**
+     * Reads professors from the console into a set keyed by professor ID, in input order.
+     */
     public static Set<Professor> createProfessors() throws TooManyAttemptsException {
-        Set<Professor> professors = new LinkedHashSet<>();
         int profNum = InputHelper.readPositiveInt("How many professors would you like to input?: ");
+        Set<Professor> professors = new IntKeyedSet<>(Professor::getID, profNum);
 
         for (int i = 0; i < profNum; i++) {
             logger.info("Professor input #{}", i + 1);
@@ -40,9 +47,12 @@ public class UserService {
         return professors;
     }
 
+    /**
+     * Reads students from the console into a set keyed by student ID, in input order.
+     */
     public static Set<Student> createStudents() throws TooManyAttemptsException {
-        Set<Student> students = new LinkedHashSet<>();
         int studNum = InputHelper.readPositiveInt("How many students would you like to input?: ");
+        Set<Student> students = new IntKeyedSet<>(Student::getID, studNum);
 
         for (int i = 0; i < studNum; i++) {
             logger.info("Student input #{}", i + 1);
@@ -77,22 +87,50 @@ public class UserService {
 
     /**
      * Sorts students by GPA (descending - highest first).
-     * Demonstrates Comparator and lambda expressions.
+     * GPA is calculated once per student, not on every comparison.
      */
     public static List<Student> sortStudentsByGPA(Collection<Student> students) {
-        return students.stream()
-                .sorted(Comparator.comparingDouble(Student::calculateGPA).reversed())
-                .toList();
+        return KeySort.of(students).byDoubleDescending(Student::calculateGPA).sort();
+    }
+
+    /**
+     * Returns the {@code k} students with the highest GPA without sorting the rest.
+     */
+    public static List<Student> topStudentsByGPA(Collection<Student> students, int k) {
+        return KeySort.of(students).byDoubleDescending(Student::calculateGPA).top(k);
+    }
+
+    /**
+     * Returns the registry's {@code k} students with the highest GPA, merged from each shard's top {@code k}.
+     */
+    public static List<Student> topStudentsByGPA(ShardedRegistry registry, int k) {
+        return Objects.requireNonNull(registry, "Registry cannot be null").topStudentsByGPA(k);
     }
 
     /**
      * Sorts students by name.
      */
     public static List<Student> sortStudentsByName(Collection<Student> students) {
-        return students.stream()
-                .sorted(Comparator.comparing(Student::getFirstName)
-                        .thenComparing(Student::getLastName))
-                .toList();
+        return KeySort.of(students)
+                .by(Student::getFirstName)
+                .by(Student::getLastName)
+                .sort();
+    }
+
+    /**
+     * Pageable view of students by GPA (descending). Build it once and fetch pages with
+     * {@link SortedView#page(String, int)}; each page costs O(log n + page size).
+     */
+    public static SortedView<Student> viewStudentsByGPA(Collection<Student> students) {
+        return SortedView.byDouble(students, Student::calculateGPA, true, UserService::studentKey);
+    }
+
+    /**
+     * Pageable view of students by first name, then last name.
+     */
+    public static SortedView<Student> viewStudentsByName(Collection<Student> students) {
+        return SortedView.byText(students, s -> s.getFirstName() + '\u0001' + s.getLastName(), false,
+                UserService::studentKey);
     }
 
     /**
@@ -101,12 +139,27 @@ public class UserService {
     public static Map<String, List<Student>> groupStudentsByCourseLoad(
             Collection<Student> students) {
         return students.stream()
-                .collect(Collectors.groupingBy(s -> {
-                    int count = s.getCourseCount();
-                    if (count <= 2) return "Light (1-2 courses)";
-                    if (count <= 4) return "Medium (3-4 courses)";
-                    return "Heavy (5+ courses)";
-                }));
+                .collect(Collectors.groupingBy(UserService::courseLoad));
+    }
+
+    /**
+     * Yields students grouped by course load, lightest first, one group at a time.
+     */
+    public static Stream<SortedView.Group<String, Student>> streamStudentsByCourseLoad(
+            Collection<Student> students) {
+        return SortedView.byDouble(students, Student::getCourseCount, false, UserService::studentKey)
+                .groups(UserService::courseLoad);
+    }
+
+    private static String courseLoad(Student s) {
+        int count = s.getCourseCount();
+        if (count <= 2) return "Light (1-2 courses)";
+        if (count <= 4) return "Medium (3-4 courses)";
+        return "Heavy (5+ courses)";
+    }
+
+    private static String studentKey(Student s) {
+        return String.valueOf(s.getID());
     }
 
     /**
@@ -0,0 +1,389 @@
+package org.example.storage;
+
+import org.example.entities.Course;
+import org.example.entities.Enrollment;
+import org.example.entities.Student;
+import org.example.enums.EnrollmentStatus;
+import org.example.enums.GradeType;
+import org.example.enums.Semester;
+import org.example.utils.TinyLfuCache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Cold storage for enrollments of closed semesters.
+ * <p>
+ * Each {@link #archive} call writes one immutable segment file to the archive directory:
+ * a small header with the segment's summary (counts by status and grade) followed by the
+ * enrollments in deflate-compressed columns. The summaries of all segments are kept in
+ * memory and answer count and distribution queries without touching the files; queries
+ * that need the enrollments themselves page segments in on demand through a bounded cache,
+ * so the archive's heap footprint is the summary index plus a few decoded segments.
+ * <p>
+ * Students are referenced by ID and courses by name, through a per-segment dictionary, so
+ * segments stay readable however the caller's collections change later. Timestamps are
+ * stored as UTC epoch seconds, as in {@link EnrollmentStore}.
+ */
+public final class EnrollmentArchive {
+
+    private static final int MAGIC = 0x454E5241;
+    private static final int VERSION = 2;
+    private static final String SUFFIX = ".seg";
+    private static final long NO_DATE = Long.MIN_VALUE;
+    private static final int DEFAULT_CACHED_SEGMENTS = 4;
+    private static final int FIXED_ROW_BYTES = 2 * Integer.BYTES + 2 + 2 * Long.BYTES;
+    private static final Duration PAGE_TTL = Duration.ofMinutes(10);
+
+    private static final Semester[] SEMESTERS = Semester.values();
+    private static final EnrollmentStatus[] STATUSES = EnrollmentStatus.values();
+    private static final GradeType[] GRADES = GradeType.values();
+
+    /**
+     * Summary index entry of one segment, read from its header.
+     */
+    public record SegmentSummary(long id, Semester semester, int enrollments,
+                                 Map<EnrollmentStatus, Integer> byStatus, Map<GradeType, Integer> byGrade) {
+        public SegmentSummary {
+            Map<EnrollmentStatus, Integer> statuses = new EnumMap<>(EnrollmentStatus.class);
+            Map<GradeType, Integer> grades = new EnumMap<>(GradeType.class);
+            statuses.putAll(byStatus);
+            grades.putAll(byGrade);
+            byStatus = Collections.unmodifiableMap(statuses);
+            byGrade = Collections.unmodifiableMap(grades);
+        }
+    }
+
+    /**
+     * One enrollment as stored in the archive, referring to its student by ID and its course
+     * by name. Those may no longer exist in the live collections, so rows are not resolved
+     * to entities unless the caller asks for it with {@link #resolve}.
+     */
+    public record ArchivedEnrollment(int studentId, String courseName, Semester semester, EnrollmentStatus status,
+                                     GradeType grade, LocalDateTime enrollmentDate, LocalDateTime completionDate) {
+
+        public static ArchivedEnrollment of(Enrollment e) {
+            return new ArchivedEnrollment(e.student().getID(), e.course().getName(), e.semester(), e.status(),
+                    e.grade(), e.enrollmentDate(), e.completionDate());
+        }
+
+        /**
+         * Rebuilds the enrollment from live entities, or returns empty if the student or the
+         * course cannot be found.
+         */
+        public Optional<Enrollment> resolve(IntFunction<Student> students, Function<String, Course> courses) {
+            Student student = students.apply(studentId);
+            Course course = courses.apply(courseName);
+            if (student == null || course == null) return Optional.empty();
+            return Optional.of(new Enrollment(student, course, semester, status, grade, enrollmentDate,
+                    completionDate));
+        }
+    }
+
+    /**
+     * Decoded columns of one segment; {@code courseRefs} index {@code courseNames}.
+     */
+    private record Page(Semester semester, int[] studentIds, int[] courseRefs, String[] courseNames,
+                        byte[] statuses, byte[] grades, long[] enrollmentDates, long[] completionDates) {
+        int size() { return studentIds.length; }
+    }
+
+    private final Path directory;
+    private final NavigableMap<Long, SegmentSummary> summaries = new TreeMap<>();
+    private final TinyLfuCache<Long, Page> pages;
+
+    private EnrollmentArchive(Path directory, int cachedSegments) {
+        this.directory = directory;
+        this.pages = new TinyLfuCache<>(cachedSegments, PAGE_TTL);
+    }
+
+    /**
+     * Opens the archive in {@code directory}, creating the directory if needed and
+     * indexing the segments already in it.
+     */
+    public static EnrollmentArchive open(Path directory) throws IOException {
+        return open(directory, DEFAULT_CACHED_SEGMENTS);
+    }
+
+    /**
+     * Opens the archive, keeping at most {@code cachedSegments} decoded segments on the heap.
+     */
+    public static EnrollmentArchive open(Path directory, int cachedSegments) throws IOException {
+        Objects.requireNonNull(directory, "Directory cannot be null");
+        if (cachedSegments <= 0) throw new IllegalArgumentException("Cached segments must be positive.");
+
+        EnrollmentArchive archive = new EnrollmentArchive(Files.createDirectories(directory), cachedSegments);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path file : files) {
+                try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+                    SegmentSummary summary = readSummary(in, file);
+                    archive.summaries.put(summary.id(), summary);
+                }
+            }
+        }
+        return archive;
+    }
+
+    /**
+     * Writes {@code enrollments} of {@code semester} as a new immutable segment and returns
+     * its summary. The enrollments must all be of that semester and no longer active; the
+     * caller drops them from its live collections afterwards.
+     */
+    public synchronized SegmentSummary archive(Semester semester, Collection<Enrollment> enrollments)
+            throws IOException {
+        Objects.requireNonNull(semester, "Semester cannot be null");
+        Objects.requireNonNull(enrollments, "Enrollments cannot be null");
+        if (enrollments.isEmpty()) throw new IllegalArgumentException("Nothing to archive for " + semester + ".");
+
+        int n = enrollments.size();
+        int[] byStatus = new int[STATUSES.length];
+        int[] byGrade = new int[GRADES.length];
+        Map<String, Integer> courseRefs = new LinkedHashMap<>();
+        List<Enrollment> rows = List.copyOf(enrollments);
+        for (Enrollment e : rows) {
+            if (e.semester() != semester)
+                throw new IllegalArgumentException("Enrollment of " + e.semester() + " cannot be archived with " + semester + ".");
+            if (e.status().isActive())
+                throw new IllegalArgumentException("Enrollment of student " + e.student().getID() + " in "
+                        + e.course().getName() + " is still " + e.status() + ".");
+            byStatus[e.status().ordinal()]++;
+            byGrade[e.grade().ordinal()]++;
+            courseRefs.putIfAbsent(e.course().getName(), courseRefs.size());
+        }
+        // Column by column: similar values end up next to each other and deflate much better.
+        ByteBuffer columns = ByteBuffer.allocate(n * FIXED_ROW_BYTES);
+        for (Enrollment e : rows) columns.putInt(e.student().getID());
+        for (Enrollment e : rows) columns.putInt(courseRefs.get(e.course().getName()));
+        for (Enrollment e : rows) columns.put((byte) e.status().ordinal());
+        for (Enrollment e : rows) columns.put((byte) e.grade().ordinal());
+        for (Enrollment e : rows) columns.putLong(toEpoch(e.enrollmentDate()));
+        for (Enrollment e : rows) columns.putLong(toEpoch(e.completionDate()));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(columns.capacity() + 32 * courseRefs.size());
+        try (DataOutputStream body = new DataOutputStream(bytes)) {
+            body.write(columns.array());
+            body.writeInt(courseRefs.size());
+            for (String name : courseRefs.keySet()) body.writeUTF(name);
+        }
+        byte[] raw = bytes.toByteArray();
+
+        long id = summaries.isEmpty() ? 1 : summaries.lastKey() + 1;
+        SegmentSummary summary = new SegmentSummary(id, semester, n, toMap(STATUSES, byStatus), toMap(GRADES, byGrade));
+        Path file = segmentFile(id);
+        Path temp = directory.resolve(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(temp))) {
+            writeSummary(summary, out);
+            CRC32C crc = new CRC32C();
+            crc.update(raw);
+            out.writeInt(raw.length);
+            out.writeInt((int) crc.getValue());
+            out.write(deflate(raw));
+        }
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+        file.toFile().setReadOnly();
+
+        summaries.put(id, summary);
+        return summary;
+    }
+
+    public synchronized List<SegmentSummary> getSummaries() {
+        return List.copyOf(summaries.values());
+    }
+
+    public synchronized List<SegmentSummary> getSummaries(Semester semester) {
+        Objects.requireNonNull(semester, "Semester cannot be null");
+        return summaries.values().stream().filter(s -> s.semester() == semester).toList();
+    }
+
+    /**
+     * Returns the number of archived enrollments of {@code semester}, from the summary index.
+     */
+    public long count(Semester semester) {
+        return getSummaries(semester).stream().mapToLong(SegmentSummary::enrollments).sum();
+    }
+
+    /**
+     * Returns the archived grade distribution of {@code semester}, from the summary index.
+     */
+    public Map<GradeType, Long> getGradeDistribution(Semester semester) {
+        Map<GradeType, Long> distribution = new EnumMap<>(GradeType.class);
+        for (SegmentSummary s : getSummaries(semester))
+            s.byGrade().forEach((grade, count) -> distribution.merge(grade, (long) count, Long::sum));
+        return distribution;
+    }
+
+    /**
+     * Returns the grade distribution of the whole archive, from the summary index.
+     */
+    public Map<GradeType, Long> getGradeDistribution() {
+        Map<GradeType, Long> distribution = new EnumMap<>(GradeType.class);
+        for (SegmentSummary s : getSummaries())
+            s.byGrade().forEach((grade, count) -> distribution.merge(grade, (long) count, Long::sum));
+        return distribution;
+    }
+
+    /**
+     * Streams the archived enrollments of {@code semester}, paging segments in as the
+     * stream reaches them.
+     *
+     * @throws UncheckedIOException if a segment cannot be read or fails its checksum
+     */
+    public Stream<ArchivedEnrollment> stream(Semester semester) {
+        return stream(getSummaries(semester));
+    }
+
+    /**
+     * Streams all archived enrollments in archive order.
+     */
+    public Stream<ArchivedEnrollment> stream() {
+        return stream(getSummaries());
+    }
+
+    public TinyLfuCache.Stats getPageStats() {
+        return pages.stats();
+    }
+
+    private Stream<ArchivedEnrollment> stream(List<SegmentSummary> segments) {
+        return segments.stream().flatMap(s -> {
+            Page page = pages.get(s.id(), p -> true, this::load);
+            return IntStream.range(0, page.size()).mapToObj(i -> new ArchivedEnrollment(
+                    page.studentIds()[i], page.courseNames()[page.courseRefs()[i]], page.semester(),
+                    STATUSES[page.statuses()[i]], GRADES[page.grades()[i]],
+                    fromEpoch(page.enrollmentDates()[i]), fromEpoch(page.completionDates()[i])));
+        });
+    }
+
+    private Page load(long id) {
+        Path file = segmentFile(id);
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+            SegmentSummary summary = readSummary(in, file);
+            int length = in.readInt();
+            int checksum = in.readInt();
+            int n = summary.enrollments();
+            if (length < n * FIXED_ROW_BYTES + Integer.BYTES) throw new IOException("Segment " + file + " is corrupt.");
+            byte[] raw = inflate(in, length, file);
+            CRC32C crc = new CRC32C();
+            crc.update(raw);
+            if ((int) crc.getValue() != checksum) throw new IOException("Checksum mismatch in segment " + file);
+
+            ByteBuffer body = ByteBuffer.wrap(raw);
+            int[] studentIds = new int[n], courseRefs = new int[n];
+            byte[] statuses = new byte[n], grades = new byte[n];
+            long[] enrolled = new long[n], completed = new long[n];
+            body.asIntBuffer().get(studentIds);
+            body.position(n * Integer.BYTES);
+            body.slice().asIntBuffer().get(courseRefs);
+            body.position(2 * n * Integer.BYTES);
+            body.get(statuses).get(grades);
+            body.slice().asLongBuffer().get(enrolled);
+            body.position(body.position() + n * Long.BYTES);
+            body.slice().asLongBuffer().get(completed);
+
+            DataInputStream dictionary = new DataInputStream(
+                    new ByteArrayInputStream(raw, n * FIXED_ROW_BYTES, length - n * FIXED_ROW_BYTES));
+            String[] courseNames = new String[dictionary.readInt()];
+            for (int c = 0; c < courseNames.length; c++) courseNames[c] = dictionary.readUTF();
+            return new Page(summary.semester(), studentIds, courseRefs, courseNames, statuses, grades,
+                    enrolled, completed);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path segmentFile(long id) {
+        return directory.resolve(String.format("segment-%08d%s", id, SUFFIX));
+    }
+
+    private static void writeSummary(SegmentSummary summary, DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(summary.id());
+        out.writeByte(summary.semester().ordinal());
+        out.writeInt(summary.enrollments());
+        for (EnrollmentStatus status : STATUSES) out.writeInt(summary.byStatus().getOrDefault(status, 0));
+        for (GradeType grade : GRADES) out.writeInt(summary.byGrade().getOrDefault(grade, 0));
+    }
+
+    private static SegmentSummary readSummary(DataInputStream in, Path file) throws IOException {
+        if (in.readInt() != MAGIC) throw new IOException("File " + file + " is not an enrollment archive segment.");
+        int version = in.readInt();
+        if (version != VERSION) throw new IOException("Segment " + file + " has unsupported version " + version + ".");
+        long id = in.readLong();
+        Semester semester = SEMESTERS[in.readByte()];
+        int enrollments = in.readInt();
+        int[] byStatus = new int[STATUSES.length];
+        int[] byGrade = new int[GRADES.length];
+        for (int i = 0; i < byStatus.length; i++) byStatus[i] = in.readInt();
+        for (int i = 0; i < byGrade.length; i++) byGrade[i] = in.readInt();
+        return new SegmentSummary(id, semester, enrollments, toMap(STATUSES, byStatus), toMap(GRADES, byGrade));
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 4 + 64);
+            byte[] chunk = new byte[1 << 16];
+            while (!deflater.finished()) out.write(chunk, 0, deflater.deflate(chunk));
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(InputStream in, int length, Path file) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(in.readAllBytes());
+            byte[] raw = new byte[length];
+            int read = 0;
+            while (read < length && !inflater.finished()) {
+                int n = inflater.inflate(raw, read, length - read);
+                if (n == 0 && inflater.needsInput()) break;
+                read += n;
+            }
+            if (read != length) throw new IOException("Segment " + file + " is truncated.");
+            return raw;
+        } catch (DataFormatException e) {
+            throw new IOException("Segment " + file + " is corrupt.", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static <E extends Enum<E>> Map<E, Integer> toMap(E[] keys, int[] counts) {
+        Map<E, Integer> map = new EnumMap<>(keys[0].getDeclaringClass());
+        for (int i = 0; i < keys.length; i++) if (counts[i] > 0) map.put(keys[i], counts[i]);
+        return map;
+    }
+
+    private static long toEpoch(LocalDateTime time) {
+        return time == null ? NO_DATE : time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime fromEpoch(long epoch) {
+        return epoch == NO_DATE ? null : LocalDateTime.ofEpochSecond(epoch, 0, ZoneOffset.UTC);
+    }
+}
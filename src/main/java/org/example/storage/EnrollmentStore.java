@@ -0,0 +1,178 @@
+package org.example.storage;
+
+import org.example.entities.Course;
+import org.example.entities.Enrollment;
+import org.example.entities.Student;
+import org.example.enums.EnrollmentStatus;
+import org.example.enums.GradeType;
+import org.example.enums.Semester;
+
+import java.io.IOException;
+import java.lang.foreign.ValueLayout;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Objects;
+import java.util.function.IntFunction;
+import java.util.stream.LongStream;
+
+/**
+ * Off-heap store of fixed-size enrollment records.
+ * <p>
+ * Students are referenced by ID and courses by their index in the caller's course list,
+ * enums are stored as ordinals and timestamps as UTC epoch seconds. A 50M-row archive
+ * therefore costs 1.6 GB of native memory and no heap objects at all.
+ */
+public final class EnrollmentStore extends RecordStore {
+
+    static final int RECORD_SIZE = 32;
+    private static final long STUDENT_ID = 0;
+    private static final long COURSE_ID = 4;
+    private static final long SEMESTER = 8;
+    private static final long STATUS = 9;
+    private static final long GRADE = 10;
+    private static final long ENROLLMENT_DATE = 16;
+    private static final long COMPLETION_DATE = 24;
+    private static final long NO_DATE = Long.MIN_VALUE;
+
+    private static final Semester[] SEMESTERS = Semester.values();
+    private static final EnrollmentStatus[] STATUSES = EnrollmentStatus.values();
+    private static final GradeType[] GRADES = GradeType.values();
+    private static final long CLOSE_CHUNK_ROWS = 1 << 16;
+
+    /**
+     * Numbers of rows moved by {@link #closeSemester}.
+     */
+    public record Transitions(long completed, long failed) {
+        public long total() { return completed + failed; }
+    }
+
+    private EnrollmentStore(long capacity) {
+        super(RECORD_SIZE, capacity);
+    }
+
+    private EnrollmentStore(long capacity, Path file) throws IOException {
+        super(RECORD_SIZE, capacity, file);
+    }
+
+    public static EnrollmentStore inMemory(long capacity) {
+        return new EnrollmentStore(capacity);
+    }
+
+    public static EnrollmentStore mapped(Path file, long capacity) throws IOException {
+        return new EnrollmentStore(capacity, file);
+    }
+
+    /**
+     * Appends an enrollment record and returns its row.
+     */
+    public synchronized long append(int studentId, int courseId, Semester semester,
+                                    EnrollmentStatus status, GradeType grade,
+                                    LocalDateTime enrollmentDate, LocalDateTime completionDate) {
+        Objects.requireNonNull(semester, "Semester cannot be null");
+        Objects.requireNonNull(status, "Status cannot be null");
+        Objects.requireNonNull(grade, "Grade cannot be null");
+        Objects.requireNonNull(enrollmentDate, "Enrollment date cannot be null");
+
+        long off = allocateSlot();
+        segment.set(ValueLayout.JAVA_INT, off + STUDENT_ID, studentId);
+        segment.set(ValueLayout.JAVA_INT, off + COURSE_ID, courseId);
+        segment.set(ValueLayout.JAVA_BYTE, off + SEMESTER, (byte) semester.ordinal());
+        segment.set(ValueLayout.JAVA_BYTE, off + STATUS, (byte) status.ordinal());
+        segment.set(ValueLayout.JAVA_BYTE, off + GRADE, (byte) grade.ordinal());
+        segment.set(ValueLayout.JAVA_LONG, off + ENROLLMENT_DATE, toEpoch(enrollmentDate));
+        segment.set(ValueLayout.JAVA_LONG, off + COMPLETION_DATE, toEpoch(completionDate));
+        return commitSlot();
+    }
+
+    /**
+     * Appends an on-heap enrollment, referencing its course by {@code courseId}.
+     */
+    public long append(Enrollment enrollment, int courseId) {
+        Objects.requireNonNull(enrollment, "Enrollment cannot be null");
+        return append(enrollment.student().getID(), courseId, enrollment.semester(),
+                enrollment.status(), enrollment.grade(),
+                enrollment.enrollmentDate(), enrollment.completionDate());
+    }
+
+    public int studentId(long row) { return segment.get(ValueLayout.JAVA_INT, offset(row) + STUDENT_ID); }
+    public int courseId(long row) { return segment.get(ValueLayout.JAVA_INT, offset(row) + COURSE_ID); }
+    public Semester semester(long row) { return SEMESTERS[segment.get(ValueLayout.JAVA_BYTE, offset(row) + SEMESTER)]; }
+    public EnrollmentStatus status(long row) { return STATUSES[segment.get(ValueLayout.JAVA_BYTE, offset(row) + STATUS)]; }
+    public GradeType grade(long row) { return GRADES[segment.get(ValueLayout.JAVA_BYTE, offset(row) + GRADE)]; }
+
+    public LocalDateTime enrollmentDate(long row) {
+        return fromEpoch(segment.get(ValueLayout.JAVA_LONG, offset(row) + ENROLLMENT_DATE));
+    }
+
+    public LocalDateTime completionDate(long row) {
+        return fromEpoch(segment.get(ValueLayout.JAVA_LONG, offset(row) + COMPLETION_DATE));
+    }
+
+    public void setStatus(long row, EnrollmentStatus status, LocalDateTime completionDate) {
+        long off = offset(row);
+        segment.set(ValueLayout.JAVA_BYTE, off + STATUS, (byte) status.ordinal());
+        segment.set(ValueLayout.JAVA_LONG, off + COMPLETION_DATE, toEpoch(completionDate));
+    }
+
+    public void setGrade(long row, GradeType grade) {
+        segment.set(ValueLayout.JAVA_BYTE, offset(row) + GRADE, (byte) grade.ordinal());
+    }
+
+    /**
+     * Closes {@code semester} in place: every {@code ACTIVE} row of it becomes
+     * {@code COMPLETED} if its grade is passing and {@code FAILED} otherwise, with
+     * {@code closedAt} as the completion date of all of them. Rows are processed in
+     * parallel chunks; rows appended while the close runs are not included. Status listeners
+     * are not notified here; {@code EnrollmentService.closeSemester} notifies them once.
+     */
+    public Transitions closeSemester(Semester semester, LocalDateTime closedAt) {
+        Objects.requireNonNull(semester, "Semester cannot be null");
+        Objects.requireNonNull(closedAt, "Close time cannot be null");
+        byte target = (byte) semester.ordinal();
+        long completionEpoch = toEpoch(closedAt);
+        long rows = size();
+        long chunks = (rows + CLOSE_CHUNK_ROWS - 1) / CLOSE_CHUNK_ROWS;
+
+        long[] counts = LongStream.range(0, chunks).parallel()
+                .mapToObj(chunk -> closeRows(chunk * CLOSE_CHUNK_ROWS,
+                        Math.min(rows, (chunk + 1) * CLOSE_CHUNK_ROWS), target, completionEpoch))
+                .reduce(new long[2], (a, b) -> new long[]{a[0] + b[0], a[1] + b[1]});
+        return new Transitions(counts[0], counts[1]);
+    }
+
+    private long[] closeRows(long from, long to, byte semester, long completionEpoch) {
+        byte active = (byte) EnrollmentStatus.ACTIVE.ordinal();
+        byte completed = (byte) EnrollmentStatus.COMPLETED.ordinal();
+        byte failed = (byte) EnrollmentStatus.FAILED.ordinal();
+        long[] counts = new long[2];
+        for (long row = from; row < to; row++) {
+            long off = offset(row);
+            if (segment.get(ValueLayout.JAVA_BYTE, off + SEMESTER) != semester
+                    || segment.get(ValueLayout.JAVA_BYTE, off + STATUS) != active) continue;
+
+            boolean passed = GRADES[segment.get(ValueLayout.JAVA_BYTE, off + GRADE)].isPassing();
+            segment.set(ValueLayout.JAVA_BYTE, off + STATUS, passed ? completed : failed);
+            segment.set(ValueLayout.JAVA_LONG, off + COMPLETION_DATE, completionEpoch);
+            counts[passed ? 0 : 1]++;
+        }
+        return counts;
+    }
+
+    /**
+     * Materialises a row as an {@link Enrollment}, resolving students by ID and
+     * courses by course index.
+     */
+    public Enrollment toEnrollment(long row, IntFunction<Student> students, IntFunction<Course> courses) {
+        return new Enrollment(students.apply(studentId(row)), courses.apply(courseId(row)),
+                semester(row), status(row), grade(row), enrollmentDate(row), completionDate(row));
+    }
+
+    private static long toEpoch(LocalDateTime time) {
+        return time == null ? NO_DATE : time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime fromEpoch(long epoch) {
+        return epoch == NO_DATE ? null : LocalDateTime.ofEpochSecond(epoch, 0, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,161 @@
+package org.example.storage;
+
+import org.example.exceptions.LimitExceededException;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * Base class for fixed-layout record stores kept outside the Java heap.
+ * <p>
+ * Records live in a single {@link MemorySegment} owned by a shared {@link Arena},
+ * either as plain native memory or as a memory-mapped file. The segment starts with
+ * a small header (magic, record size, record count) so that a mapped store can be
+ * reopened later with all of its records intact.
+ */
+public abstract class RecordStore implements AutoCloseable {
+
+    protected static final long HEADER_SIZE = 16;
+    private static final int MAGIC = 0x535A4F55;
+    private static final long MAGIC_OFFSET = 0;
+    private static final long RECORD_SIZE_OFFSET = 4;
+    private static final long COUNT_OFFSET = 8;
+
+    private final Arena arena;
+    private final FileChannel channel;
+    private final int recordSize;
+    private final long capacity;
+    protected final MemorySegment segment;
+    private volatile long count;
+
+    /**
+     * Allocates an in-memory store for {@code capacity} records.
+     */
+    protected RecordStore(int recordSize, long capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("Capacity must be positive.");
+
+        this.recordSize = recordSize;
+        this.capacity = capacity;
+        this.arena = Arena.ofShared();
+        this.channel = null;
+        this.segment = arena.allocate(HEADER_SIZE + recordSize * capacity, Long.BYTES);
+        writeHeader();
+    }
+
+    /**
+     * Maps {@code file} as a store for {@code capacity} records, keeping any records
+     * already written to it.
+     */
+    protected RecordStore(int recordSize, long capacity, Path file) throws IOException {
+        Objects.requireNonNull(file, "File cannot be null");
+        if (capacity <= 0) throw new IllegalArgumentException("Capacity must be positive.");
+
+        this.recordSize = recordSize;
+        this.capacity = capacity;
+        this.arena = Arena.ofShared();
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        boolean existing = channel.size() >= HEADER_SIZE;
+        try {
+            this.segment = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    HEADER_SIZE + recordSize * capacity, arena);
+        } catch (IOException | RuntimeException e) {
+            release();
+            throw e;
+        }
+
+        if (existing) {
+            readHeader(file);
+        } else {
+            writeHeader();
+        }
+    }
+
+    private void writeHeader() {
+        segment.set(ValueLayout.JAVA_INT, MAGIC_OFFSET, MAGIC);
+        segment.set(ValueLayout.JAVA_INT, RECORD_SIZE_OFFSET, recordSize);
+        segment.set(ValueLayout.JAVA_LONG, COUNT_OFFSET, 0L);
+        count = 0;
+    }
+
+    private void readHeader(Path file) {
+        if (segment.get(ValueLayout.JAVA_INT, MAGIC_OFFSET) != MAGIC ||
+                segment.get(ValueLayout.JAVA_INT, RECORD_SIZE_OFFSET) != recordSize) {
+            release();
+            throw new IllegalArgumentException("File " + file + " is not a compatible record store.");
+        }
+
+        long stored = segment.get(ValueLayout.JAVA_LONG, COUNT_OFFSET);
+        if (stored > capacity) {
+            release();
+            throw new IllegalArgumentException("File " + file + " holds " + stored +
+                    " records, more than the requested capacity (" + capacity + ").");
+        }
+        count = stored;
+    }
+
+    /**
+     * Reserves the next free record slot and returns its byte offset.
+     * Callers must hold the store's monitor while filling the slot.
+     */
+    protected long allocateSlot() {
+        if (count >= capacity)
+            throw new LimitExceededException("Record store has reached its capacity (" + capacity + ").");
+        return HEADER_SIZE + count * recordSize;
+    }
+
+    /**
+     * Publishes the slot returned by the last {@link #allocateSlot()} call.
+     */
+    protected long commitSlot() {
+        long index = count;
+        segment.set(ValueLayout.JAVA_LONG, COUNT_OFFSET, index + 1);
+        count = index + 1;
+        return index;
+    }
+
+    protected long offset(long index) {
+        Objects.checkIndex(index, count);
+        return HEADER_SIZE + index * recordSize;
+    }
+
+    public long size() { return count; }
+    public long capacity() { return capacity; }
+    public boolean isMapped() { return channel != null; }
+
+    /**
+     * Forces any changes of a mapped store to the underlying file.
+     */
+    public void flush() {
+        if (channel != null) segment.force();
+    }
+
+    @Override
+    public void close() {
+        release();
+    }
+
+    /**
+     * Frees the segment and file; also used by the constructors, which must not call the
+     * overridable {@link #close()} on a partially constructed subclass.
+     */
+    private void release() {
+        try {
+            if (arena.scope().isAlive()) arena.close();
+        } finally {
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,317 @@
+package org.example.storage;
+
+import org.example.entities.Course;
+import org.example.entities.Enrollment;
+import org.example.entities.Student;
+import org.example.enums.EnrollmentOutcome;
+import org.example.enums.EnrollmentStatus;
+import org.example.enums.GradeType;
+import org.example.enums.Semester;
+import org.example.exceptions.NotFoundException;
+import org.example.utils.IntKeyedSet;
+import org.example.utils.IntObjectMap;
+import org.example.utils.KeySort;
+
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+
+/**
+ * In-process registry split into shards, each guarded by its own lock.
+ * <p>
+ * Students are always placed by a hash of their ID. Enrollments follow their student
+ * ({@link Partitioning#STUDENT}), which keeps all of a student's enrollment state on one
+ * shard, or are placed by {@link Semester} ({@link Partitioning#SEMESTER}), which suits
+ * historical data queried per term. Writers to different shards never contend. Queries
+ * run on every shard in parallel, each under that shard's lock only, and merge the
+ * partial results; a query therefore sees each shard at a (possibly different) point in time.
+ * <p>
+ * Courses are shared by all shards, but their rosters are not: each shard keeps the roster
+ * entries of its own enrollments, and {@link #getRoster} and {@link #getEnrollmentCount(Course)}
+ * merge them. {@link #enroll} therefore never takes a course's monitor, so a popular course
+ * is not a point of contention between shards. The price is that enrollments made here are
+ * not added to {@link Course#getEnrolledStudents()} and do not fire course enrollment
+ * listeners; read rosters from the registry.
+ * <p>
+ * Enrollment rows are immutable; {@link #setGrade} and {@link #transition} replace a row on
+ * its shard. The only entity updates these methods make ({@link Student#tryEnroll},
+ * {@link Student#setGrade}) touch the student, which lives on one shard.
+ */
+public final class ShardedRegistry {
+
+    /**
+     * How enrollments are assigned to shards.
+     */
+    public enum Partitioning { STUDENT, SEMESTER }
+
+    private final Shard[] shards;
+    private final Partitioning partitioning;
+    private final List<Course> courses = new CopyOnWriteArrayList<>();
+
+    public ShardedRegistry(int shardCount, Partitioning partitioning) {
+        if (shardCount <= 0) throw new IllegalArgumentException("Shard count must be positive.");
+        this.partitioning = Objects.requireNonNull(partitioning, "Partitioning cannot be null");
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) shards[i] = new Shard();
+    }
+
+    /**
+     * Distributes existing students, courses and enrollments over {@code shardCount} shards.
+     */
+    public static ShardedRegistry of(Collection<Student> students, Collection<Course> courses,
+                                     Collection<Enrollment> enrollments, int shardCount, Partitioning partitioning) {
+        ShardedRegistry registry = new ShardedRegistry(shardCount, partitioning);
+        for (Student s : students) registry.addStudent(s);
+        registry.courses.addAll(courses);
+        for (Enrollment e : enrollments) {
+            Shard shard = registry.enrollmentShard(e.student().getID(), e.semester());
+            synchronized (shard) {
+                shard.add(e);
+            }
+        }
+        return registry;
+    }
+
+    /**
+     * Adds {@code student} to its shard.
+     *
+     * @throws IllegalArgumentException if a student with the same ID is already registered
+     */
+    public void addStudent(Student student) {
+        Objects.requireNonNull(student, "Student cannot be null");
+        Shard shard = studentShard(student.getID());
+        synchronized (shard) {
+            if (shard.students.containsKey(student.getID()))
+                throw new IllegalArgumentException("Student with ID " + student.getID() + " is already registered.");
+            shard.students.put(student.getID(), student);
+        }
+    }
+
+    public void addCourse(Course course) {
+        courses.add(Objects.requireNonNull(course, "Course cannot be null"));
+    }
+
+    public Student getStudent(int studentId) {
+        Shard shard = studentShard(studentId);
+        Student student;
+        synchronized (shard) {
+            student = shard.students.get(studentId);
+        }
+        if (student == null) throw new NotFoundException("Student with ID " + studentId + " not found.");
+        return student;
+    }
+
+    public List<Course> getCourses() { return Collections.unmodifiableList(courses); }
+
+    public int getShardCount() { return shards.length; }
+
+    public Partitioning getPartitioning() { return partitioning; }
+
+    /**
+     * Enrolls the student in the course and records the enrollment and the roster entry on
+     * its shard. Rejections are returned rather than thrown; unknown students are {@code NOT_FOUND}.
+     */
+    public EnrollmentOutcome enroll(int studentId, Course course, Semester semester) {
+        Objects.requireNonNull(course, "Course cannot be null");
+        Objects.requireNonNull(semester, "Semester cannot be null");
+        Shard home = studentShard(studentId);
+        Student student;
+        synchronized (home) {
+            student = home.students.get(studentId);
+        }
+        if (student == null) return EnrollmentOutcome.NOT_FOUND;
+
+        EnrollmentOutcome outcome = student.tryEnroll(course.getName());
+        if (outcome != EnrollmentOutcome.OK) return outcome;
+
+        Enrollment enrollment = new Enrollment(student, course, semester);
+        Shard shard = enrollmentShard(studentId, semester);
+        synchronized (shard) {
+            shard.add(enrollment);
+        }
+        return EnrollmentOutcome.OK;
+    }
+
+    /**
+     * Grades the student's enrollment in {@code course} for {@code semester}: updates the
+     * student's grade and replaces the row on its shard with {@link Enrollment#withGrade}.
+     * Returns {@code NOT_FOUND} if there is no such enrollment.
+     */
+    public EnrollmentOutcome setGrade(int studentId, Course course, Semester semester, GradeType grade) {
+        Objects.requireNonNull(grade, "Grade cannot be null");
+        Enrollment current = find(studentId, course, semester);
+        if (current == null) return EnrollmentOutcome.NOT_FOUND;
+        current.student().setGrade(course.getName(), grade);
+        return replace(studentId, course, semester, e -> e.withGrade(grade));
+    }
+
+    /**
+     * Moves the student's enrollment in {@code course} for {@code semester} to {@code status},
+     * replacing the row on its shard with {@link Enrollment#withStatus}. Returns
+     * {@code NOT_FOUND} if there is no such enrollment.
+     */
+    public EnrollmentOutcome transition(int studentId, Course course, Semester semester, EnrollmentStatus status) {
+        Objects.requireNonNull(status, "Status cannot be null");
+        return replace(studentId, course, semester, e -> e.withStatus(status));
+    }
+
+    public long getStudentCount() {
+        return scatter(s -> (long) s.students.size(), Long::sum);
+    }
+
+    public long getEnrollmentCount() {
+        return scatter(s -> (long) s.enrollments.size(), Long::sum);
+    }
+
+    /**
+     * Returns the number of students enrolled in {@code course} through this registry.
+     */
+    public long getEnrollmentCount(Course course) {
+        Objects.requireNonNull(course, "Course cannot be null");
+        return scatter(s -> {
+            IntKeyedSet<Student> roster = s.rosters.get(course);
+            return roster == null ? 0L : roster.size();
+        }, Long::sum);
+    }
+
+    /**
+     * Returns the students enrolled in {@code course} through this registry, shard by shard.
+     */
+    public List<Student> getRoster(Course course) {
+        Objects.requireNonNull(course, "Course cannot be null");
+        return scatter(s -> {
+            IntKeyedSet<Student> roster = s.rosters.get(course);
+            return roster == null ? List.<Student>of() : List.copyOf(roster);
+        }, ShardedRegistry::concat);
+    }
+
+    public Map<Semester, List<Enrollment>> groupEnrollmentsBySemester() {
+        return scatter(s -> group(s.enrollments, Enrollment::semester), ShardedRegistry::mergeGroups);
+    }
+
+    public Map<EnrollmentStatus, List<Enrollment>> groupEnrollmentsByStatus() {
+        return scatter(s -> group(s.enrollments, Enrollment::status), ShardedRegistry::mergeGroups);
+    }
+
+    public Map<GradeType, Long> getGradeDistribution() {
+        long[] counts = scatter(s -> {
+            long[] partial = new long[GradeType.values().length];
+            for (Enrollment e : s.enrollments) partial[e.grade().ordinal()]++;
+            return partial;
+        }, (a, b) -> {
+            for (int i = 0; i < a.length; i++) a[i] += b[i];
+            return a;
+        });
+        Map<GradeType, Long> result = new EnumMap<>(GradeType.class);
+        for (GradeType g : GradeType.values()) {
+            if (counts[g.ordinal()] > 0) result.put(g, counts[g.ordinal()]);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the {@code k} students with the highest GPA: each shard selects its own top
+     * {@code k}, and the partial lists are merged.
+     */
+    public List<Student> topStudentsByGPA(int k) {
+        if (k < 0) throw new IllegalArgumentException("k cannot be negative.");
+        List<Student> candidates = scatter(
+                s -> KeySort.of(s.students.values()).byDoubleDescending(Student::calculateGPA).top(k),
+                ShardedRegistry::concat);
+        return KeySort.of(candidates).byDoubleDescending(Student::calculateGPA).top(k);
+    }
+
+    public Optional<Student> findTopStudentByGPA() {
+        List<Student> top = topStudentsByGPA(1);
+        return top.isEmpty() ? Optional.empty() : Optional.of(top.getFirst());
+    }
+
+    /**
+     * Runs {@code partial} on every shard in parallel, each under its shard's lock, and
+     * folds the results with {@code merge}.
+     */
+    private <R> R scatter(Function<Shard, R> partial, BinaryOperator<R> merge) {
+        return Arrays.stream(shards).parallel()
+                .map(shard -> {
+                    synchronized (shard) {
+                        return partial.apply(shard);
+                    }
+                })
+                .reduce(merge)
+                .orElseThrow();
+    }
+
+    private Enrollment find(int studentId, Course course, Semester semester) {
+        Objects.requireNonNull(course, "Course cannot be null");
+        Objects.requireNonNull(semester, "Semester cannot be null");
+        Shard shard = enrollmentShard(studentId, semester);
+        synchronized (shard) {
+            Integer position = shard.positions.get(key(studentId, course.getName(), semester));
+            return position == null ? null : shard.enrollments.get(position);
+        }
+    }
+
+    /**
+     * Replaces the row under its shard's lock, so concurrent updates to the same shard apply
+     * in order. Status listeners fired by {@code update} run under that lock.
+     */
+    private EnrollmentOutcome replace(int studentId, Course course, Semester semester,
+                                      Function<Enrollment, Enrollment> update) {
+        Objects.requireNonNull(course, "Course cannot be null");
+        Objects.requireNonNull(semester, "Semester cannot be null");
+        Shard shard = enrollmentShard(studentId, semester);
+        synchronized (shard) {
+            Integer position = shard.positions.get(key(studentId, course.getName(), semester));
+            if (position == null) return EnrollmentOutcome.NOT_FOUND;
+            shard.enrollments.set(position, update.apply(shard.enrollments.get(position)));
+        }
+        return EnrollmentOutcome.OK;
+    }
+
+    private static String key(int studentId, String courseName, Semester semester) {
+        return studentId + "/" + courseName.toLowerCase() + "/" + semester.name();
+    }
+
+    private Shard studentShard(int studentId) {
+        int h = studentId * 0x9E3779B9;
+        return shards[Math.floorMod(h ^ (h >>> 16), shards.length)];
+    }
+
+    private Shard enrollmentShard(int studentId, Semester semester) {
+        return partitioning == Partitioning.STUDENT
+                ? studentShard(studentId)
+                : shards[semester.ordinal() % shards.length];
+    }
+
+    private static <K> Map<K, List<Enrollment>> group(List<Enrollment> enrollments, Function<Enrollment, K> key) {
+        Map<K, List<Enrollment>> groups = new HashMap<>();
+        for (Enrollment e : enrollments) groups.computeIfAbsent(key.apply(e), k -> new ArrayList<>()).add(e);
+        return groups;
+    }
+
+    private static <K> Map<K, List<Enrollment>> mergeGroups(Map<K, List<Enrollment>> a, Map<K, List<Enrollment>> b) {
+        b.forEach((k, list) -> a.merge(k, list, ShardedRegistry::concat));
+        return a;
+    }
+
+    private static <T> List<T> concat(List<T> a, List<T> b) {
+        List<T> result = new ArrayList<>(a.size() + b.size());
+        result.addAll(a);
+        result.addAll(b);
+        return result;
+    }
+
+    private static final class Shard {
+        private final IntObjectMap<Student> students = new IntObjectMap<>();
+        private final List<Enrollment> enrollments = new ArrayList<>();
+        private final Map<String, Integer> positions = new HashMap<>();
+        private final Map<Course, IntKeyedSet<Student>> rosters = new HashMap<>();
+
+        private void add(Enrollment e) {
+            positions.put(key(e.student().getID(), e.course().getName(), e.semester()), enrollments.size());
+            enrollments.add(e);
+            rosters.computeIfAbsent(e.course(), c -> new IntKeyedSet<>(Student::getID)).add(e.student());
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package org.example.storage;
+
+import org.example.entities.Student;
+import org.example.enums.GradeType;
+import org.example.exceptions.NotFoundException;
+import org.example.utils.IntIntMap;
+
+import java.io.IOException;
+import java.lang.foreign.ValueLayout;
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * Off-heap store of fixed-size student records.
+ * <p>
+ * Each record holds the student's ID, course limit, course count and the running
+ * grade point sum used for GPA, so GPA queries never touch the on-heap {@link Student}.
+ */
+public final class StudentStore extends RecordStore {
+
+    static final int RECORD_SIZE = 24;
+    private static final long ID = 0;
+    private static final long MAX_COURSES = 4;
+    private static final long COURSE_COUNT = 8;
+    private static final long GRADED_COUNT = 12;
+    private static final long GRADE_POINT_SUM = 16;
+
+    private final IntIntMap rowsById;
+
+    private StudentStore(long capacity) {
+        super(RECORD_SIZE, capacity);
+        this.rowsById = new IntIntMap();
+    }
+
+    private StudentStore(long capacity, Path file) throws IOException {
+        super(RECORD_SIZE, capacity, file);
+        this.rowsById = new IntIntMap((int) size());
+        for (int row = 0; row < size(); row++) rowsById.put(id(row), row);
+    }
+
+    public static StudentStore inMemory(long capacity) {
+        return new StudentStore(checkCapacity(capacity));
+    }
+
+    public static StudentStore mapped(Path file, long capacity) throws IOException {
+        return new StudentStore(checkCapacity(capacity), file);
+    }
+
+    /**
+     * Rows are addressed by {@code int} in the ID index, which bounds the capacity.
+     */
+    private static long checkCapacity(long capacity) {
+        if (capacity > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Capacity cannot exceed " + Integer.MAX_VALUE + " students.");
+        return capacity;
+    }
+
+    /**
+     * Copies a student into the store and returns its row.
+     *
+     * @throws IllegalArgumentException if a student with the same ID is already stored
+     */
+    public synchronized int append(Student student) {
+        Objects.requireNonNull(student, "Student cannot be null");
+        if (rowsById.containsKey(student.getID()))
+            throw new IllegalArgumentException("Student with ID " + student.getID() +
+                    " is already stored.");
+
+        int graded = 0;
+        double sum = 0.0;
+        for (GradeType g : student.getCourseGrades().values()) {
+            if (g == GradeType.NOT_GRADED || g == GradeType.INCOMPLETE) continue;
+            graded++;
+            sum += g.getGradePoint();
+        }
+
+        long off = allocateSlot();
+        segment.set(ValueLayout.JAVA_INT, off + ID, student.getID());
+        segment.set(ValueLayout.JAVA_INT, off + MAX_COURSES, student.getMaxCourses());
+        segment.set(ValueLayout.JAVA_INT, off + COURSE_COUNT, student.getCourseCount());
+        segment.set(ValueLayout.JAVA_INT, off + GRADED_COUNT, graded);
+        segment.set(ValueLayout.JAVA_DOUBLE, off + GRADE_POINT_SUM, sum);
+        int row = (int) commitSlot();
+        rowsById.put(student.getID(), row);
+        return row;
+    }
+
+    /**
+     * Returns the row of the student with the given ID.
+     */
+    public synchronized int rowOf(int studentId) {
+        int row = rowsById.get(studentId, -1);
+        if (row < 0) throw new NotFoundException("Student with ID " + studentId + " is not stored.");
+        return row;
+    }
+
+    public int id(int row) { return segment.get(ValueLayout.JAVA_INT, offset(row) + ID); }
+    public int maxCourses(int row) { return segment.get(ValueLayout.JAVA_INT, offset(row) + MAX_COURSES); }
+    public int courseCount(int row) { return segment.get(ValueLayout.JAVA_INT, offset(row) + COURSE_COUNT); }
+    public int gradedCount(int row) { return segment.get(ValueLayout.JAVA_INT, offset(row) + GRADED_COUNT); }
+
+    public double gpa(int row) {
+        long off = offset(row);
+        int graded = segment.get(ValueLayout.JAVA_INT, off + GRADED_COUNT);
+        return graded == 0 ? 0.0 : segment.get(ValueLayout.JAVA_DOUBLE, off + GRADE_POINT_SUM) / graded;
+    }
+
+    public void setCourseCount(int row, int courseCount) {
+        segment.set(ValueLayout.JAVA_INT, offset(row) + COURSE_COUNT, courseCount);
+    }
+
+    /**
+     * Replaces {@code oldGrade} with {@code newGrade} in the row's GPA accumulator.
+     */
+    public void updateGrade(int row, GradeType oldGrade, GradeType newGrade) {
+        long off = offset(row);
+        int graded = segment.get(ValueLayout.JAVA_INT, off + GRADED_COUNT);
+        double sum = segment.get(ValueLayout.JAVA_DOUBLE, off + GRADE_POINT_SUM);
+
+        if (counts(oldGrade)) {
+            graded--;
+            sum -= oldGrade.getGradePoint();
+        }
+        if (counts(newGrade)) {
+            graded++;
+            sum += newGrade.getGradePoint();
+        }
+
+        segment.set(ValueLayout.JAVA_INT, off + GRADED_COUNT, graded);
+        segment.set(ValueLayout.JAVA_DOUBLE, off + GRADE_POINT_SUM, sum);
+    }
+
+    private static boolean counts(GradeType grade) {
+        return grade != null && grade != GradeType.NOT_GRADED && grade != GradeType.INCOMPLETE;
+    }
+}
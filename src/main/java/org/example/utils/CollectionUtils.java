@@ -2,7 +2,6 @@ package org.example.utils;
 
 import java.util.*;
 import java.util.function.*;
-import java.util.stream.Collectors;
 
 /**
  * Generic utility class for common collection operations.
@@ -14,6 +13,14 @@ public final class CollectionUtils {
         throw new UnsupportedOperationException("Utility class");
     }
 
+    /**
+     * Starts a lazy, fused pipeline over the source.
+     * Chained filter/map/limit stages run in a single pass without intermediate lists.
+     */
+    public static <T> Pipeline<T> pipeline(Collection<? extends T> source) {
+        return Pipeline.of(source);
+    }
+
     /**
      * Filters elements based on a predicate.
      * Uses PECS: ? extends T (producer - reading from source)
@@ -25,9 +32,7 @@ public final class CollectionUtils {
         Objects.requireNonNull(source, "Source cannot be null");
         Objects.requireNonNull(predicate, "Predicate cannot be null");
 
-        return source.stream()
-                .filter(predicate)
-                .collect(Collectors.toList());
+        return CollectionUtils.<T>pipeline(source).filter(predicate).toList();
     }
 
     /**
@@ -41,9 +46,7 @@ public final class CollectionUtils {
         Objects.requireNonNull(source, "Source cannot be null");
         Objects.requireNonNull(mapper, "Mapper cannot be null");
 
-        return source.stream()
-                .map(mapper)
-                .collect(Collectors.toList());
+        return CollectionUtils.<T>pipeline(source).<R>map(mapper).toList();
     }
 
     /**
@@ -72,9 +75,7 @@ public final class CollectionUtils {
         Objects.requireNonNull(destination, "Destination cannot be null");
         Objects.requireNonNull(predicate, "Predicate cannot be null");
 
-        source.stream()
-                .filter(predicate)
-                .forEach(destination::add);
+        CollectionUtils.<T>pipeline(source).filter(predicate).into(destination);
     }
 
     /**
@@ -87,9 +88,7 @@ public final class CollectionUtils {
         Objects.requireNonNull(source, "Source cannot be null");
         Objects.requireNonNull(predicate, "Predicate cannot be null");
 
-        return source.stream()
-                .filter(predicate)
-                .count();
+        return CollectionUtils.<T>pipeline(source).filter(predicate).count();
     }
 
     /**
@@ -102,7 +101,6 @@ public final class CollectionUtils {
         Objects.requireNonNull(source, "Source cannot be null");
         Objects.requireNonNull(classifier, "Classifier cannot be null");
 
-        return source.stream()
-                .collect(Collectors.groupingBy(classifier));
+        return CollectionUtils.<T>pipeline(source).groupBy(classifier);
     }
 }
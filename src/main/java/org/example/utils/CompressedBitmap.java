@@ -0,0 +1,394 @@
+package org.example.utils;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Compressed bitmap of non-negative {@code int} values in the style of Roaring bitmaps.
+ * <p>
+ * Values are split into 65536-wide chunks by their high 16 bits. A chunk with at most
+ * 4096 values is stored as a sorted {@code char[]} (2 bytes per value); a denser chunk
+ * switches to a plain 8 KB bitmap. Sparse sets therefore cost a few bytes per value and
+ * dense sets at most one bit per possible value, and set operations between two dense
+ * chunks run word by word.
+ */
+public final class CompressedBitmap {
+
+    private static final int ARRAY_MAX = 4096;
+
+    private int[] keys = new int[0];
+    private Container[] containers = new Container[0];
+    private int chunkCount;
+
+    /**
+     * Adds {@code value} and returns {@code true} if it was not yet present.
+     */
+    public boolean add(int value) {
+        if (value < 0) throw new IllegalArgumentException("CompressedBitmap holds non-negative values only: " + value);
+        int i = chunkIndex(value >>> 16);
+        if (i < 0) {
+            i = -i - 1;
+            insertChunk(i, value >>> 16, new ArrayContainer());
+        }
+        Container c = containers[i];
+        boolean added = c.add((char) value);
+        if (added && c instanceof ArrayContainer a && a.size > ARRAY_MAX) containers[i] = a.toBitmap();
+        return added;
+    }
+
+    /**
+     * Adds all values in {@code [from, to)}, a chunk at a time: ranges that would not fit
+     * an array container are set word by word in a bitmap container.
+     */
+    public void addRange(int from, int to) {
+        if (from < 0 || to < from) throw new IllegalArgumentException("Invalid range [" + from + ", " + to + ")");
+        while (from < to) {
+            int key = from >>> 16;
+            int chunkEnd = (int) Math.min(to, ((long) key + 1) << 16);
+            int i = chunkIndex(key);
+            if (i < 0) {
+                i = -i - 1;
+                insertChunk(i, key, new ArrayContainer());
+            }
+            int low = from & 0xFFFF;
+            int high = chunkEnd - (key << 16);
+            if (containers[i] instanceof ArrayContainer a && a.size + (high - low) <= ARRAY_MAX) {
+                for (int v = low; v < high; v++) a.add((char) v);
+            } else {
+                BitmapContainer b = containers[i] instanceof ArrayContainer a ? a.toBitmap() : (BitmapContainer) containers[i];
+                b.addRange(low, high);
+                containers[i] = b;
+            }
+            from = chunkEnd;
+        }
+    }
+
+    public boolean remove(int value) {
+        if (value < 0) return false;
+        int i = chunkIndex(value >>> 16);
+        if (i < 0) return false;
+        Container c = containers[i];
+        boolean removed = c.remove((char) value);
+        if (removed) {
+            if (c.cardinality() == 0) {
+                removeChunk(i);
+            } else if (c instanceof BitmapContainer b && b.cardinality <= ARRAY_MAX / 2) {
+                containers[i] = b.toArray();
+            }
+        }
+        return removed;
+    }
+
+    public boolean contains(int value) {
+        if (value < 0) return false;
+        int i = chunkIndex(value >>> 16);
+        return i >= 0 && containers[i].contains((char) value);
+    }
+
+    public long cardinality() {
+        long total = 0;
+        for (int i = 0; i < chunkCount; i++) total += containers[i].cardinality();
+        return total;
+    }
+
+    public boolean isEmpty() { return chunkCount == 0; }
+
+    /**
+     * Visits all values in ascending order.
+     */
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < chunkCount; i++) containers[i].forEach(keys[i] << 16, action);
+    }
+
+    public CompressedBitmap and(CompressedBitmap other) {
+        CompressedBitmap result = new CompressedBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < chunkCount && j < other.chunkCount) {
+            if (keys[i] < other.keys[j]) i++;
+            else if (keys[i] > other.keys[j]) j++;
+            else {
+                Container c = containers[i].and(other.containers[j]);
+                if (c.cardinality() > 0) result.appendChunk(keys[i], c);
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    public CompressedBitmap andNot(CompressedBitmap other) {
+        CompressedBitmap result = new CompressedBitmap();
+        int j = 0;
+        for (int i = 0; i < chunkCount; i++) {
+            while (j < other.chunkCount && other.keys[j] < keys[i]) j++;
+            Container c = (j < other.chunkCount && other.keys[j] == keys[i])
+                    ? containers[i].andNot(other.containers[j])
+                    : containers[i].copy();
+            if (c.cardinality() > 0) result.appendChunk(keys[i], c);
+        }
+        return result;
+    }
+
+    public CompressedBitmap or(CompressedBitmap other) {
+        CompressedBitmap result = copy();
+        other.forEach(result::add);
+        return result;
+    }
+
+    /**
+     * Counts values present in both bitmaps without materialising the intersection.
+     */
+    public long andCardinality(CompressedBitmap other) {
+        long total = 0;
+        int i = 0;
+        int j = 0;
+        while (i < chunkCount && j < other.chunkCount) {
+            if (keys[i] < other.keys[j]) i++;
+            else if (keys[i] > other.keys[j]) j++;
+            else total += containers[i++].andCardinality(other.containers[j++]);
+        }
+        return total;
+    }
+
+    public CompressedBitmap copy() {
+        CompressedBitmap result = new CompressedBitmap();
+        for (int i = 0; i < chunkCount; i++) result.appendChunk(keys[i], containers[i].copy());
+        return result;
+    }
+
+    /**
+     * Approximate heap footprint of the value storage in bytes.
+     */
+    public long sizeInBytes() {
+        long bytes = 4L * keys.length + 8L * containers.length;
+        for (int i = 0; i < chunkCount; i++) bytes += containers[i].sizeInBytes();
+        return bytes;
+    }
+
+    private int chunkIndex(int key) {
+        return Arrays.binarySearch(keys, 0, chunkCount, key);
+    }
+
+    private void insertChunk(int index, int key, Container container) {
+        if (chunkCount == keys.length) {
+            int capacity = Math.max(4, chunkCount * 2);
+            keys = Arrays.copyOf(keys, capacity);
+            containers = Arrays.copyOf(containers, capacity);
+        }
+        System.arraycopy(keys, index, keys, index + 1, chunkCount - index);
+        System.arraycopy(containers, index, containers, index + 1, chunkCount - index);
+        keys[index] = key;
+        containers[index] = container;
+        chunkCount++;
+    }
+
+    private void appendChunk(int key, Container container) {
+        insertChunk(chunkCount, key, container);
+    }
+
+    private void removeChunk(int index) {
+        System.arraycopy(keys, index + 1, keys, index, chunkCount - index - 1);
+        System.arraycopy(containers, index + 1, containers, index, chunkCount - index - 1);
+        containers[--chunkCount] = null;
+    }
+
+    private abstract static sealed class Container permits ArrayContainer, BitmapContainer {
+        abstract boolean add(char value);
+        abstract boolean remove(char value);
+        abstract boolean contains(char value);
+        abstract int cardinality();
+        abstract void forEach(int high, IntConsumer action);
+        abstract Container copy();
+        abstract long sizeInBytes();
+
+        Container and(Container other) {
+            if (this instanceof BitmapContainer a && other instanceof BitmapContainer b) {
+                BitmapContainer result = new BitmapContainer();
+                for (int w = 0; w < a.words.length; w++) result.words[w] = a.words[w] & b.words[w];
+                result.recount();
+                return result.cardinality <= ARRAY_MAX ? result.toArray() : result;
+            }
+            Container small = cardinality() <= other.cardinality() ? this : other;
+            Container large = small == this ? other : this;
+            ArrayContainer result = new ArrayContainer();
+            small.forEach(0, v -> {
+                if (large.contains((char) v)) result.append((char) v);
+            });
+            return result;
+        }
+
+        int andCardinality(Container other) {
+            if (this instanceof BitmapContainer a && other instanceof BitmapContainer b) {
+                int total = 0;
+                for (int w = 0; w < a.words.length; w++) total += Long.bitCount(a.words[w] & b.words[w]);
+                return total;
+            }
+            Container small = cardinality() <= other.cardinality() ? this : other;
+            Container large = small == this ? other : this;
+            int[] total = {0};
+            small.forEach(0, v -> {
+                if (large.contains((char) v)) total[0]++;
+            });
+            return total[0];
+        }
+
+        Container andNot(Container other) {
+            if (this instanceof BitmapContainer a && other instanceof BitmapContainer b) {
+                BitmapContainer result = new BitmapContainer();
+                for (int w = 0; w < a.words.length; w++) result.words[w] = a.words[w] & ~b.words[w];
+                result.recount();
+                return result.cardinality <= ARRAY_MAX ? result.toArray() : result;
+            }
+            Container result = copy();
+            other.forEach(0, v -> result.remove((char) v));
+            return result instanceof BitmapContainer b && b.cardinality <= ARRAY_MAX ? b.toArray() : result;
+        }
+    }
+
+    private static final class ArrayContainer extends Container {
+        private char[] values = new char[4];
+        private int size;
+
+        @Override
+        boolean add(char value) {
+            int i = Arrays.binarySearch(values, 0, size, value);
+            if (i >= 0) return false;
+            i = -i - 1;
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            System.arraycopy(values, i, values, i + 1, size - i);
+            values[i] = value;
+            size++;
+            return true;
+        }
+
+        void append(char value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+
+        @Override
+        boolean remove(char value) {
+            int i = Arrays.binarySearch(values, 0, size, value);
+            if (i < 0) return false;
+            System.arraycopy(values, i + 1, values, i, size - i - 1);
+            size--;
+            return true;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, size, value) >= 0;
+        }
+
+        @Override
+        int cardinality() { return size; }
+
+        @Override
+        void forEach(int high, IntConsumer action) {
+            for (int i = 0; i < size; i++) action.accept(high | values[i]);
+        }
+
+        @Override
+        Container copy() {
+            ArrayContainer c = new ArrayContainer();
+            c.values = Arrays.copyOf(values, Math.max(4, size));
+            c.size = size;
+            return c;
+        }
+
+        @Override
+        long sizeInBytes() { return 2L * values.length; }
+
+        BitmapContainer toBitmap() {
+            BitmapContainer b = new BitmapContainer();
+            for (int i = 0; i < size; i++) b.words[values[i] >>> 6] |= 1L << values[i];
+            b.cardinality = size;
+            return b;
+        }
+    }
+
+    private static final class BitmapContainer extends Container {
+        private final long[] words = new long[1024];
+        private int cardinality;
+
+        @Override
+        boolean add(char value) {
+            long bit = 1L << value;
+            if ((words[value >>> 6] & bit) != 0) return false;
+            words[value >>> 6] |= bit;
+            cardinality++;
+            return true;
+        }
+
+        @Override
+        boolean remove(char value) {
+            long bit = 1L << value;
+            if ((words[value >>> 6] & bit) == 0) return false;
+            words[value >>> 6] &= ~bit;
+            cardinality--;
+            return true;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        int cardinality() { return cardinality; }
+
+        @Override
+        void forEach(int high, IntConsumer action) {
+            for (int w = 0; w < words.length; w++) {
+                long word = words[w];
+                while (word != 0) {
+                    action.accept(high | (w << 6) + Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+        }
+
+        @Override
+        Container copy() {
+            BitmapContainer c = new BitmapContainer();
+            System.arraycopy(words, 0, c.words, 0, words.length);
+            c.cardinality = cardinality;
+            return c;
+        }
+
+        @Override
+        long sizeInBytes() { return 8L * words.length; }
+
+        /**
+         * Sets all bits in {@code [low, high)}, {@code high} being at most 65536.
+         */
+        void addRange(int low, int high) {
+            int first = low >>> 6;
+            int last = (high - 1) >>> 6;
+            long firstMask = -1L << low;
+            long lastMask = -1L >>> (63 - ((high - 1) & 63));
+            if (first == last) {
+                words[first] |= firstMask & lastMask;
+            } else {
+                words[first] |= firstMask;
+                Arrays.fill(words, first + 1, last, -1L);
+                words[last] |= lastMask;
+            }
+            recount();
+        }
+
+        void recount() {
+            int total = 0;
+            for (long w : words) total += Long.bitCount(w);
+            cardinality = total;
+        }
+
+        ArrayContainer toArray() {
+            ArrayContainer a = new ArrayContainer();
+            a.values = new char[Math.max(4, cardinality)];
+            forEach(0, v -> a.values[a.size++] = (char) v);
+            return a;
+        }
+    }
+}
@@ -6,37 +6,76 @@ import org.example.enums.Semester;
 import org.example.exceptions.InvalidInputException;
 import org.example.exceptions.NegativeValueException;
 import org.example.exceptions.TooManyAttemptsException;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Scanner;
+import java.util.NoSuchElementException;
+import java.util.Objects;
 
 /**
  * Provides utility methods for reading and validating user input from the console.
  * Includes support for enums, positive integers, and non-empty strings.
+ * <p>
+ * Input is read line by line from {@code System.in} unless another source is set with
+ * {@link #setInput}, e.g. a script replaying a whole session. In headless mode prompts,
+ * menus and validation messages are not printed.
  */
 public class InputHelper {
 
-    private static final Scanner scanner = new Scanner(System.in);
+    private static BufferedReader source;
+    private static boolean headless;
 
-    public static void closeScanner(){
-        scanner.close();
+    /**
+     * Reads all further input from {@code reader}, closing the previous source.
+     */
+    public static synchronized void setInput(Reader reader) {
+        Objects.requireNonNull(reader, "Reader cannot be null");
+        closeScanner();
+        source = reader instanceof BufferedReader br ? br : new BufferedReader(reader, 1 << 16);
+    }
+
+    /**
+     * Replays the input script at {@code script}, one answer per line.
+     */
+    public static void setInput(Path script) throws IOException {
+        setInput(Files.newBufferedReader(Objects.requireNonNull(script, "Script cannot be null")));
+    }
+
+    public static void setHeadless(boolean headless) {
+        InputHelper.headless = headless;
+    }
+
+    public static boolean isHeadless() { return headless; }
+
+    public static synchronized void closeScanner(){
+        if (source == null) return;
+        try {
+            source.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            source = null;
+        }
     }
 
     public static int readPositiveInt(String msg) throws TooManyAttemptsException {
         int attempts = 0;
         while(true){
-            System.out.print(msg);
+            prompt(msg);
             try{
-                String input = scanner.nextLine();
-                if (!input.matches("\\d+"))
-                    throw new InvalidInputException("Enter numbers only!");
-                int value = Integer.parseInt(input);
+                int value = parseNumber(nextLine());
                 if (value < 0)
-                    throw new NegativeValueException("The number must be positive!");
+                    throw new InvalidInputException("Enter numbers only!");
                 return value;
             }catch (InvalidInputException | NegativeValueException e){
                 attempts++;
-                System.out.println("Error: " + e.getMessage());
+                reportError(e);
                 if(attempts >= 3)
                     throw new TooManyAttemptsException("Too many incorrect attempts.");
             }
@@ -46,15 +85,15 @@ public class InputHelper {
     public static String readNonEmptyString(String msg) throws TooManyAttemptsException {
         int attempts = 0;
         while (true) {
-            System.out.print(msg);
-            String input = scanner.nextLine().trim();
+            prompt(msg);
+            String input = nextLine().trim();
             try {
                 if (input.isEmpty())
                     throw new InvalidInputException("It must not be empty!");
                 return input;
             } catch (InvalidInputException e) {
                 attempts++;
-                System.out.println("Error: " + e.getMessage());
+                reportError(e);
                 if (attempts >= 3) {
                     throw new TooManyAttemptsException("Too many incorrect attempts.");
                 }
@@ -65,17 +104,16 @@ public class InputHelper {
     public static Semester readSemester(String msg) throws TooManyAttemptsException {
         int attempts = 0;
         while (true) {
-            System.out.print(msg);
+            prompt(msg);
             try {
-                String input = scanner.nextLine().trim();
-                if (!input.matches("\\d+"))
+                int num = parseNumber(nextLine().trim());
+                if (num < 0)
                     throw new InvalidInputException("Enter a number between 1 and 6!");
 
-                int num = Integer.parseInt(input);
                 return Semester.fromNumber(num);
             } catch (InvalidInputException | IllegalArgumentException e) {
                 attempts++;
-                System.out.println("Error: " + e.getMessage());
+                reportError(e);
                 if (attempts >= 3) {
                     throw new TooManyAttemptsException("Too many incorrect attempts.");
                 }
@@ -84,28 +122,29 @@ public class InputHelper {
     }
 
     public static CourseLevel readCourseLevel(String msg) throws TooManyAttemptsException {
-        System.out.println("Course Levels:");
         List<CourseLevel> levels = Arrays.asList(CourseLevel.values());
-        for (int i = 0; i < levels.size(); i++) {
-            System.out.println((i + 1) + ": " + levels.get(i).getDisplayName());
+        if (!headless) {
+            System.out.println("Course Levels:");
+            for (int i = 0; i < levels.size(); i++) {
+                System.out.println((i + 1) + ": " + levels.get(i).getDisplayName());
+            }
         }
 
         int attempts = 0;
         while (true) {
-            System.out.print(msg);
+            prompt(msg);
             try {
-                String input = scanner.nextLine().trim();
-                if (!input.matches("\\d+"))
+                int choice = parseNumber(nextLine().trim());
+                if (choice < 0)
                     throw new InvalidInputException("Enter a number!");
 
-                int choice = Integer.parseInt(input);
                 if (choice < 1 || choice > levels.size())
                     throw new InvalidInputException("Enter a number between 1 and " + levels.size());
 
                 return levels.get(choice - 1);
             } catch (InvalidInputException e) {
                 attempts++;
-                System.out.println("Error: " + e.getMessage());
+                reportError(e);
                 if (attempts >= 3) {
                     throw new TooManyAttemptsException("Too many incorrect attempts.");
                 }
@@ -114,28 +153,29 @@ public class InputHelper {
     }
 
     public static LessonType readLessonType(String msg) throws TooManyAttemptsException {
-        System.out.println("Lesson Types:");
         List<LessonType> types = Arrays.asList(LessonType.values());
-        for (int i = 0; i < types.size(); i++) {
-            System.out.println((i + 1) + ": " + types.get(i).getDisplayName());
+        if (!headless) {
+            System.out.println("Lesson Types:");
+            for (int i = 0; i < types.size(); i++) {
+                System.out.println((i + 1) + ": " + types.get(i).getDisplayName());
+            }
         }
 
         int attempts = 0;
         while (true) {
-            System.out.print(msg);
+            prompt(msg);
             try {
-                String input = scanner.nextLine().trim();
-                if (!input.matches("\\d+"))
+                int choice = parseNumber(nextLine().trim());
+                if (choice < 0)
                     throw new InvalidInputException("Enter a number!");
 
-                int choice = Integer.parseInt(input);
                 if (choice < 1 || choice > types.size())
                     throw new InvalidInputException("Enter a number between 1 and " + types.size());
 
                 return types.get(choice - 1);
             } catch (InvalidInputException e) {
                 attempts++;
-                System.out.println("Error: " + e.getMessage());
+                reportError(e);
                 if (attempts >= 3) {
                     throw new TooManyAttemptsException("Too many incorrect attempts.");
                 }
@@ -146,24 +186,58 @@ public class InputHelper {
     public static int readChoice(String msg, int maxChoice) throws TooManyAttemptsException {
         int attempts = 0;
         while (true) {
-            System.out.print(msg);
+            prompt(msg);
             try {
-                String input = scanner.nextLine().trim();
-                if (!input.matches("\\d+"))
+                int choice = parseNumber(nextLine().trim());
+                if (choice < 0)
                     throw new InvalidInputException("Enter a number!");
 
-                int choice = Integer.parseInt(input);
                 if (choice < 1 || choice > maxChoice)
                     throw new InvalidInputException("Enter a number between 1 and " + maxChoice);
 
                 return choice - 1;
             } catch (InvalidInputException e) {
                 attempts++;
-                System.out.println("Error: " + e.getMessage());
+                reportError(e);
                 if (attempts >= 3) {
                     throw new TooManyAttemptsException("Too many incorrect attempts.");
                 }
             }
         }
     }
-}
\ No newline at end of file
+
+    private static synchronized String nextLine() {
+        if (source == null) source = new BufferedReader(new InputStreamReader(System.in));
+        try {
+            String line = source.readLine();
+            if (line == null) throw new NoSuchElementException("No line found");
+            return line;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Parses a non-empty run of ASCII digits without regular expressions; returns -1 if the
+     * text is not such a run or does not fit in an {@code int}.
+     */
+    static int parseNumber(String text) {
+        int length = text.length();
+        if (length == 0 || length > 10) return -1;
+        long value = 0;
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            value = value * 10 + (c - '0');
+        }
+        return value > Integer.MAX_VALUE ? -1 : (int) value;
+    }
+
+    private static void prompt(String msg) {
+        if (!headless) System.out.print(msg);
+    }
+
+    private static void reportError(Exception e) {
+        if (!headless) System.out.println("Error: " + e.getMessage());
+    }
+}
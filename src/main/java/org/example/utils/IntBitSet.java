@@ -0,0 +1,88 @@
+package org.example.utils;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Set of non-negative {@code int} values backed by a growable bitmap.
+ * <p>
+ * Membership costs one bit per possible value, which suits dense ID ranges such as
+ * student IDs or roster positions. The cardinality is tracked on every change.
+ */
+public final class IntBitSet {
+
+    private long[] words;
+    private int cardinality;
+
+    public IntBitSet() {
+        this(64);
+    }
+
+    public IntBitSet(int expectedMaxValue) {
+        if (expectedMaxValue < 0) throw new IllegalArgumentException("Expected max value cannot be negative.");
+        this.words = new long[(expectedMaxValue >> 6) + 1];
+    }
+
+    /**
+     * Adds {@code value} and returns {@code true} if it was not yet present.
+     */
+    public boolean add(int value) {
+        checkValue(value);
+        int word = value >> 6;
+        if (word >= words.length) words = Arrays.copyOf(words, Math.max(word + 1, words.length << 1));
+
+        long bit = 1L << value;
+        if ((words[word] & bit) != 0) return false;
+        words[word] |= bit;
+        cardinality++;
+        return true;
+    }
+
+    public boolean contains(int value) {
+        if (value < 0) return false;
+        int word = value >> 6;
+        return word < words.length && (words[word] & (1L << value)) != 0;
+    }
+
+    /**
+     * Removes {@code value} and returns {@code true} if it was present.
+     */
+    public boolean remove(int value) {
+        if (!contains(value)) return false;
+        words[value >> 6] &= ~(1L << value);
+        cardinality--;
+        return true;
+    }
+
+    public int size() { return cardinality; }
+    public boolean isEmpty() { return cardinality == 0; }
+
+    public void clear() {
+        Arrays.fill(words, 0L);
+        cardinality = 0;
+    }
+
+    /**
+     * Visits all values in ascending order.
+     */
+    public void forEach(IntConsumer action) {
+        for (int w = 0; w < words.length; w++) {
+            long word = words[w];
+            while (word != 0) {
+                action.accept((w << 6) + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+    }
+
+    public int[] toArray() {
+        int[] result = new int[cardinality];
+        int[] next = {0};
+        forEach(v -> result[next[0]++] = v);
+        return result;
+    }
+
+    private static void checkValue(int value) {
+        if (value < 0) throw new IllegalArgumentException("IntBitSet holds non-negative values only: " + value);
+    }
+}
@@ -0,0 +1,31 @@
+package org.example.utils;
+
+/**
+ * Hashing helpers shared by the open-addressing primitive collections.
+ */
+final class IntHashing {
+
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private IntHashing() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Spreads the bits of {@code key} so that sequential IDs do not cluster.
+     */
+    static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Returns the power-of-two table size that holds {@code expectedSize} entries
+     * without exceeding {@code loadFactor}.
+     */
+    static int tableSize(int expectedSize, float loadFactor) {
+        long needed = (long) Math.ceil(Math.max(expectedSize, 2) / (double) loadFactor);
+        if (needed > MAX_CAPACITY) return MAX_CAPACITY;
+        return Integer.highestOneBit((int) needed - 1) << 1;
+    }
+}
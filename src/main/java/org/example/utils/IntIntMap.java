@@ -0,0 +1,172 @@
+package org.example.utils;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from {@code int} keys to {@code int} values.
+ * <p>
+ * Keys and values live in two parallel arrays with linear probing, so entries are
+ * never boxed and no object is allocated per entry. Key {@code 0} marks a free slot
+ * and is therefore stored separately.
+ */
+public final class IntIntMap {
+
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private int[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+    private boolean hasZeroKey;
+    private int zeroValue;
+
+    public IntIntMap() {
+        this(16);
+    }
+
+    public IntIntMap(int expectedSize) {
+        if (expectedSize < 0) throw new IllegalArgumentException("Expected size cannot be negative.");
+        int capacity = IntHashing.tableSize(expectedSize, LOAD_FACTOR);
+        this.keys = new int[capacity];
+        this.values = new int[capacity];
+        this.mask = capacity - 1;
+    }
+
+    public int get(int key, int defaultValue) {
+        if (key == 0) return hasZeroKey ? zeroValue : defaultValue;
+        int slot = find(key);
+        return slot < 0 ? defaultValue : values[slot];
+    }
+
+    public boolean containsKey(int key) {
+        return key == 0 ? hasZeroKey : find(key) >= 0;
+    }
+
+    /**
+     * Associates {@code value} with {@code key} and returns the previous value,
+     * or {@code defaultValue} if there was none.
+     */
+    public int put(int key, int value, int defaultValue) {
+        if (key == 0) {
+            int previous = hasZeroKey ? zeroValue : defaultValue;
+            if (!hasZeroKey) size++;
+            hasZeroKey = true;
+            zeroValue = value;
+            return previous;
+        }
+
+        int slot = IntHashing.mix(key) & mask;
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                int previous = values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > (mask + 1) * LOAD_FACTOR) rehash(keys.length << 1);
+        return defaultValue;
+    }
+
+    public void put(int key, int value) {
+        put(key, value, 0);
+    }
+
+    /**
+     * Adds {@code delta} to the value of {@code key} (starting from 0) and returns the result.
+     */
+    public int addTo(int key, int delta) {
+        int updated = get(key, 0) + delta;
+        put(key, updated, 0);
+        return updated;
+    }
+
+    public int remove(int key, int defaultValue) {
+        if (key == 0) {
+            if (!hasZeroKey) return defaultValue;
+            hasZeroKey = false;
+            size--;
+            return zeroValue;
+        }
+
+        int slot = find(key);
+        if (slot < 0) return defaultValue;
+        int previous = values[slot];
+        shiftKeys(slot);
+        size--;
+        return previous;
+    }
+
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        hasZeroKey = false;
+        size = 0;
+    }
+
+    public void forEach(IntIntConsumer action) {
+        if (hasZeroKey) action.accept(0, zeroValue);
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) action.accept(keys[i], values[i]);
+        }
+    }
+
+    private int find(int key) {
+        int slot = IntHashing.mix(key) & mask;
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) return slot;
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void shiftKeys(int slot) {
+        while (true) {
+            int last = slot;
+            slot = (slot + 1) & mask;
+            int key;
+            while (true) {
+                key = keys[slot];
+                if (key == 0) {
+                    keys[last] = 0;
+                    return;
+                }
+                int home = IntHashing.mix(key) & mask;
+                if (last <= slot ? last >= home || home > slot : last >= home && home > slot) break;
+                slot = (slot + 1) & mask;
+            }
+            keys[last] = key;
+            values[last] = values[slot];
+        }
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new int[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            int key = oldKeys[i];
+            if (key == 0) continue;
+            int slot = IntHashing.mix(key) & mask;
+            while (keys[slot] != 0) slot = (slot + 1) & mask;
+            keys[slot] = key;
+            values[slot] = oldValues[i];
+        }
+    }
+
+    /**
+     * Receives one key/value pair of an {@link IntIntMap}.
+     */
+    @FunctionalInterface
+    public interface IntIntConsumer {
+        void accept(int key, int value);
+    }
+}
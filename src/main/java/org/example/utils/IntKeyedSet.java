@@ -0,0 +1,169 @@
+package org.example.utils;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.ToIntFunction;
+
+/**
+ * Insertion-ordered set of elements identified by an {@code int} key, such as a person's ID.
+ * <p>
+ * Elements sit in one array in insertion order and an {@link IntIntMap} maps each key to its
+ * slot, so there is no entry object per element as in a {@code LinkedHashSet}. Removal
+ * leaves a hole that iteration skips; the array is compacted once holes outnumber elements.
+ * Two elements with the same key are duplicates; {@link #contains} and {@link #remove} also
+ * require the stored element to be {@code equals} to the argument.
+ */
+public final class IntKeyedSet<E> extends AbstractSet<E> {
+
+    private final ToIntFunction<? super E> key;
+    private final IntIntMap slots;
+    private Object[] elements;
+    private int end;
+    private int size;
+    private int modCount;
+
+    public IntKeyedSet(ToIntFunction<? super E> key) {
+        this(key, 16);
+    }
+
+    public IntKeyedSet(ToIntFunction<? super E> key, int expectedSize) {
+        if (expectedSize < 0) throw new IllegalArgumentException("Expected size cannot be negative.");
+        this.key = Objects.requireNonNull(key, "Key function cannot be null");
+        this.slots = new IntIntMap(expectedSize);
+        this.elements = new Object[Math.max(expectedSize, 4)];
+    }
+
+    /**
+     * Returns the element with key {@code k}, or {@code null} if there is none.
+     */
+    public E get(int k) {
+        int slot = slots.get(k, -1);
+        return slot < 0 ? null : elementAt(slot);
+    }
+
+    public boolean containsKey(int k) {
+        return slots.containsKey(k);
+    }
+
+    /**
+     * Adds {@code e} unless an element with the same key is present.
+     */
+    @Override
+    public boolean add(E e) {
+        Objects.requireNonNull(e, "Element cannot be null");
+        int k = key.applyAsInt(e);
+        if (slots.containsKey(k)) return false;
+        if (end == elements.length) elements = Arrays.copyOf(elements, elements.length << 1);
+        elements[end] = e;
+        slots.put(k, end++);
+        size++;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return slotOf(o) >= 0;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        int slot = slotOf(o);
+        if (slot < 0) return false;
+        removeAt(slot);
+        return true;
+    }
+
+    @Override
+    public int size() { return size; }
+
+    @Override
+    public void clear() {
+        Arrays.fill(elements, 0, end, null);
+        slots.clear();
+        end = 0;
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<>() {
+            private int next = advance(0);
+            private int last = -1;
+            private int expectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() { return next < end; }
+
+            @Override
+            public E next() {
+                if (modCount != expectedModCount) throw new ConcurrentModificationException();
+                if (next >= end) throw new NoSuchElementException();
+                last = next;
+                next = advance(next + 1);
+                return elementAt(last);
+            }
+
+            @Override
+            public void remove() {
+                if (last < 0) throw new IllegalStateException();
+                if (modCount != expectedModCount) throw new ConcurrentModificationException();
+                // a removal during iteration must not compact, or the cursor would point elsewhere
+                slots.remove(key.applyAsInt(elementAt(last)), -1);
+                elements[last] = null;
+                size--;
+                last = -1;
+                expectedModCount = ++modCount;
+            }
+        };
+    }
+
+    private int advance(int from) {
+        while (from < end && elements[from] == null) from++;
+        return from;
+    }
+
+    @SuppressWarnings("unchecked")
+    private int slotOf(Object o) {
+        if (o == null) return -1;
+        int k;
+        try {
+            k = key.applyAsInt((E) o);
+        } catch (ClassCastException e) {
+            return -1;
+        }
+        int slot = slots.get(k, -1);
+        return slot >= 0 && elements[slot].equals(o) ? slot : -1;
+    }
+
+    private void removeAt(int slot) {
+        slots.remove(key.applyAsInt(elementAt(slot)), -1);
+        elements[slot] = null;
+        size--;
+        modCount++;
+        if (end - size > size + 16) compact();
+    }
+
+    private void compact() {
+        int to = 0;
+        for (int from = 0; from < end; from++) {
+            Object e = elements[from];
+            if (e == null) continue;
+            elements[to] = e;
+            slots.put(key.applyAsInt(elementAt(to)), to);
+            to++;
+        }
+        Arrays.fill(elements, to, end, null);
+        end = to;
+    }
+
+    @SuppressWarnings("unchecked")
+    private E elementAt(int slot) {
+        return (E) elements[slot];
+    }
+}
@@ -0,0 +1,221 @@
+package org.example.utils;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Multi-key sort that extracts every sort key exactly once.
+ * <p>
+ * Each key column is evaluated once per element and turned into an {@code int} rank
+ * array (numeric keys directly, other keys by sorting their distinct values). The
+ * elements are then ordered by sorting packed {@code (rank, position)} longs with
+ * {@link Arrays#parallelSort(long[])}, one least-significant-key-first pass per column.
+ * The position in the low bits makes every pass, and thus the whole sort, stable.
+ * {@link #top(int)} selects the first {@code k} elements with a bounded heap instead.
+ *
+ * @param <T> element type
+ */
+public final class KeySort<T> {
+
+    private final Object[] elements;
+    private final List<int[]> columns = new ArrayList<>();
+
+    private KeySort(Collection<? extends T> source) {
+        this.elements = source.toArray();
+    }
+
+    public static <T> KeySort<T> of(Collection<? extends T> source) {
+        Objects.requireNonNull(source, "Source cannot be null");
+        return new KeySort<>(source);
+    }
+
+    public KeySort<T> byInt(ToIntFunction<? super T> key) {
+        return addIntColumn(key, false);
+    }
+
+    public KeySort<T> byIntDescending(ToIntFunction<? super T> key) {
+        return addIntColumn(key, true);
+    }
+
+    public KeySort<T> byDouble(ToDoubleFunction<? super T> key) {
+        return addDoubleColumn(key, false);
+    }
+
+    public KeySort<T> byDoubleDescending(ToDoubleFunction<? super T> key) {
+        return addDoubleColumn(key, true);
+    }
+
+    public <U extends Comparable<? super U>> KeySort<T> by(Function<? super T, ? extends U> key) {
+        return addComparableColumn(key, false);
+    }
+
+    public <U extends Comparable<? super U>> KeySort<T> byDescending(Function<? super T, ? extends U> key) {
+        return addComparableColumn(key, true);
+    }
+
+    /**
+     * Returns all elements in key order.
+     */
+    public List<T> sort() {
+        int n = elements.length;
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+
+        long[] packed = new long[n];
+        for (int c = columns.size() - 1; c >= 0; c--) {
+            int[] ranks = columns.get(c);
+            for (int pos = 0; pos < n; pos++) {
+                packed[pos] = ((long) ranks[order[pos]] << 32) | pos;
+            }
+            Arrays.parallelSort(packed);
+
+            int[] next = new int[n];
+            for (int pos = 0; pos < n; pos++) next[pos] = order[(int) packed[pos]];
+            order = next;
+        }
+        return materialise(order, n);
+    }
+
+    /**
+     * Returns the first {@code k} elements in key order without sorting the rest.
+     */
+    public List<T> top(int k) {
+        if (k < 0) throw new IllegalArgumentException("k cannot be negative.");
+        int n = elements.length;
+        if (k == 0) return List.of();
+        if ((long) k * 4 >= n) {
+            List<T> all = sort();
+            return all.subList(0, Math.min(k, n));
+        }
+
+        // max-heap on key order: the root is the worst of the current best k
+        int[] heap = new int[k];
+        int size = 0;
+        for (int i = 0; i < n; i++) {
+            if (size < k) {
+                heap[size] = i;
+                siftUp(heap, size++);
+            } else if (compare(i, heap[0]) < 0) {
+                heap[0] = i;
+                siftDown(heap, size);
+            }
+        }
+
+        int[] order = new int[size];
+        for (int last = size - 1; last >= 0; last--) {
+            order[last] = heap[0];
+            heap[0] = heap[last];
+            siftDown(heap, last);
+        }
+        return materialise(order, size);
+    }
+
+    private int compare(int a, int b) {
+        for (int[] ranks : columns) {
+            int cmp = Integer.compare(ranks[a], ranks[b]);
+            if (cmp != 0) return cmp;
+        }
+        return Integer.compare(a, b);
+    }
+
+    private void siftUp(int[] heap, int pos) {
+        int value = heap[pos];
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            if (compare(heap[parent], value) >= 0) break;
+            heap[pos] = heap[parent];
+            pos = parent;
+        }
+        heap[pos] = value;
+    }
+
+    private void siftDown(int[] heap, int size) {
+        int pos = 0;
+        int value = heap[0];
+        while (true) {
+            int child = 2 * pos + 1;
+            if (child >= size) break;
+            if (child + 1 < size && compare(heap[child + 1], heap[child]) > 0) child++;
+            if (compare(value, heap[child]) >= 0) break;
+            heap[pos] = heap[child];
+            pos = child;
+        }
+        heap[pos] = value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<T> materialise(int[] order, int count) {
+        Object[] result = new Object[count];
+        for (int i = 0; i < count; i++) result[i] = elements[order[i]];
+        return (List<T>) Collections.unmodifiableList(Arrays.asList(result));
+    }
+
+    @SuppressWarnings("unchecked")
+    private KeySort<T> addIntColumn(ToIntFunction<? super T> key, boolean descending) {
+        Objects.requireNonNull(key, "Key cannot be null");
+        int[] ranks = new int[elements.length];
+        for (int i = 0; i < elements.length; i++) {
+            int value = key.applyAsInt((T) elements[i]);
+            ranks[i] = descending ? ~value : value;
+        }
+        columns.add(ranks);
+        return this;
+    }
+
+    @SuppressWarnings("unchecked")
+    private KeySort<T> addDoubleColumn(ToDoubleFunction<? super T> key, boolean descending) {
+        Objects.requireNonNull(key, "Key cannot be null");
+        long[] bits = new long[elements.length];
+        for (int i = 0; i < elements.length; i++) {
+            long b = Double.doubleToLongBits(key.applyAsDouble((T) elements[i]));
+            bits[i] = b ^ ((b >> 63) & Long.MAX_VALUE);
+        }
+
+        long[] distinct = bits.clone();
+        Arrays.parallelSort(distinct);
+        int count = dedupe(distinct);
+
+        int[] ranks = new int[elements.length];
+        for (int i = 0; i < elements.length; i++) {
+            int rank = Arrays.binarySearch(distinct, 0, count, bits[i]);
+            ranks[i] = descending ? count - 1 - rank : rank;
+        }
+        columns.add(ranks);
+        return this;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private <U extends Comparable<? super U>> KeySort<T> addComparableColumn(
+            Function<? super T, ? extends U> key, boolean descending) {
+        Objects.requireNonNull(key, "Key cannot be null");
+        Comparable[] values = new Comparable[elements.length];
+        for (int i = 0; i < elements.length; i++) {
+            values[i] = Objects.requireNonNull(key.apply((T) elements[i]), "Sort key cannot be null");
+        }
+
+        Comparable[] distinct = values.clone();
+        Arrays.parallelSort(distinct);
+        int count = 0;
+        for (int i = 0; i < distinct.length; i++) {
+            if (count == 0 || distinct[count - 1].compareTo(distinct[i]) != 0) distinct[count++] = distinct[i];
+        }
+
+        int[] ranks = new int[elements.length];
+        for (int i = 0; i < elements.length; i++) {
+            int rank = Arrays.binarySearch(distinct, 0, count, values[i]);
+            ranks[i] = descending ? count - 1 - rank : rank;
+        }
+        columns.add(ranks);
+        return this;
+    }
+
+    private static int dedupe(long[] sorted) {
+        int count = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (count == 0 || sorted[count - 1] != sorted[i]) sorted[count++] = sorted[i];
+        }
+        return count;
+    }
+}
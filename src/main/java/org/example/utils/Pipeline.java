@@ -0,0 +1,253 @@
+package org.example.utils;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.*;
+
+/**
+ * Lazy, fused pipeline over a collection.
+ * <p>
+ * Intermediate operations ({@link #filter}, {@link #map}, {@link #limit}) only compose
+ * a chain of sinks; nothing runs until a terminal operation walks the source once and
+ * pushes each element through the whole chain, so no intermediate list is ever built.
+ * In parallel mode the source spliterator is split on the common fork-join pool and
+ * partial results are merged in encounter order.
+ *
+ * @param <T> element type produced by the pipeline
+ */
+public final class Pipeline<T> {
+
+    private static final int MIN_SPLIT_SIZE = 1 << 13;
+
+    private final Collection<?> source;
+    private final Function<Sink<? super T>, Sink<Object>> chain;
+    private final long sizeBound;
+    private final boolean exactSize;
+    private final boolean limited;
+    private final boolean parallel;
+
+    private Pipeline(Collection<?> source, Function<Sink<? super T>, Sink<Object>> chain,
+                     long sizeBound, boolean exactSize, boolean limited, boolean parallel) {
+        this.source = source;
+        this.chain = chain;
+        this.sizeBound = sizeBound;
+        this.exactSize = exactSize;
+        this.limited = limited;
+        this.parallel = parallel;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> Pipeline<T> of(Collection<? extends T> source) {
+        Objects.requireNonNull(source, "Source cannot be null");
+        return new Pipeline<>(source, sink -> (Sink<Object>) sink, source.size(), true, false, false);
+    }
+
+    /**
+     * Keeps only elements matching the predicate.
+     */
+    public Pipeline<T> filter(Predicate<? super T> predicate) {
+        Objects.requireNonNull(predicate, "Predicate cannot be null");
+        return new Pipeline<>(source,
+                down -> chain.apply(v -> !predicate.test(v) || down.accept(v)),
+                sizeBound, false, limited, parallel);
+    }
+
+    /**
+     * Transforms elements with the mapping function.
+     */
+    public <R> Pipeline<R> map(Function<? super T, ? extends R> mapper) {
+        Objects.requireNonNull(mapper, "Mapper cannot be null");
+        return new Pipeline<>(source,
+                down -> chain.apply(v -> down.accept(mapper.apply(v))),
+                sizeBound, exactSize, limited, parallel);
+    }
+
+    /**
+     * Stops the traversal after {@code maxSize} elements reach this stage.
+     * A limited pipeline always runs sequentially to keep encounter order.
+     */
+    public Pipeline<T> limit(long maxSize) {
+        if (maxSize < 0) throw new IllegalArgumentException("Limit cannot be negative.");
+        return new Pipeline<>(source, down -> {
+            long[] remaining = {maxSize};
+            return chain.apply(v -> {
+                if (remaining[0] <= 0) return false;
+                remaining[0]--;
+                return down.accept(v) && remaining[0] > 0;
+            });
+        }, Math.min(sizeBound, maxSize), exactSize && maxSize >= sizeBound, true, parallel);
+    }
+
+    /**
+     * Splits the source across the common fork-join pool for terminal operations.
+     */
+    public Pipeline<T> parallel() {
+        return new Pipeline<>(source, chain, sizeBound, exactSize, limited, true);
+    }
+
+    public Pipeline<T> sequential() {
+        return new Pipeline<>(source, chain, sizeBound, exactSize, limited, false);
+    }
+
+    public List<T> toList() {
+        return toList(exactSize ? (int) sizeBound : 10);
+    }
+
+    /**
+     * Collects into an {@link ArrayList} presized for {@code expectedSize} elements. In
+     * parallel mode each split gets its proportional share of {@code expectedSize}.
+     */
+    public List<T> toList(int expectedSize) {
+        if (expectedSize < 0) throw new IllegalArgumentException("Expected size cannot be negative.");
+        long total = source.size();
+        return evaluate(portion -> new ArrayList<>(portion >= total ? expectedSize
+                : (int) Math.min(expectedSize, expectedSize * portion / total + 1)), List::add, (a, b) -> {
+            a.addAll(b);
+            return a;
+        });
+    }
+
+    public <C extends Collection<? super T>> C into(C destination) {
+        Objects.requireNonNull(destination, "Destination cannot be null");
+        if (!parallel || limited) {
+            run(v -> {
+                destination.add(v);
+                return true;
+            });
+            return destination;
+        }
+        destination.addAll(toList());
+        return destination;
+    }
+
+    public long count() {
+        return evaluate(portion -> new long[1], (c, v) -> c[0]++, (a, b) -> {
+            a[0] += b[0];
+            return a;
+        })[0];
+    }
+
+    public <K> Map<K, List<T>> groupBy(Function<? super T, ? extends K> classifier) {
+        Objects.requireNonNull(classifier, "Classifier cannot be null");
+        return evaluate(portion -> new HashMap<>(),
+                (map, v) -> map.computeIfAbsent(classifier.apply(v), k -> new ArrayList<>()).add(v),
+                (a, b) -> {
+                    b.forEach((k, list) -> a.merge(k, list, (l1, l2) -> {
+                        l1.addAll(l2);
+                        return l1;
+                    }));
+                    return a;
+                });
+    }
+
+    /**
+     * Counts elements per key without materialising the groups.
+     */
+    public <K> Map<K, Long> countBy(Function<? super T, ? extends K> classifier) {
+        Objects.requireNonNull(classifier, "Classifier cannot be null");
+        return evaluate(portion -> new HashMap<>(),
+                (map, v) -> map.merge(classifier.apply(v), 1L, Long::sum),
+                (a, b) -> {
+                    b.forEach((k, n) -> a.merge(k, n, Long::sum));
+                    return a;
+                });
+    }
+
+    public Optional<T> findFirst() {
+        List<T> first = new ArrayList<>(1);
+        run(v -> {
+            first.add(v);
+            return false;
+        });
+        return first.isEmpty() ? Optional.empty() : Optional.ofNullable(first.getFirst());
+    }
+
+    public void forEach(Consumer<? super T> action) {
+        Objects.requireNonNull(action, "Action cannot be null");
+        if (parallel && !limited) {
+            evaluate(portion -> null, (ignored, v) -> action.accept(v), (a, b) -> a);
+            return;
+        }
+        run(v -> {
+            action.accept(v);
+            return true;
+        });
+    }
+
+    private void run(Sink<? super T> terminal) {
+        Sink<Object> head = chain.apply(terminal);
+        for (Object element : source) {
+            if (!head.accept(element)) return;
+        }
+    }
+
+    /**
+     * Runs the pipeline into containers created by {@code supplier}, which receives the
+     * number of source elements the container will see: the whole source when sequential,
+     * one split's share in parallel mode.
+     */
+    private <A> A evaluate(LongFunction<A> supplier, BiConsumer<A, ? super T> accumulator,
+                           BinaryOperator<A> combiner) {
+        if (!parallel || limited || source.size() < MIN_SPLIT_SIZE) {
+            A container = supplier.apply(source.size());
+            run(v -> {
+                accumulator.accept(container, v);
+                return true;
+            });
+            return container;
+        }
+
+        long threshold = Math.max(MIN_SPLIT_SIZE,
+                source.size() / (ForkJoinPool.getCommonPoolParallelism() * 4L));
+        return ForkJoinPool.commonPool().invoke(
+                new SplitTask<>(source.spliterator(), threshold, supplier, accumulator, combiner));
+    }
+
+    private final class SplitTask<A> extends RecursiveTask<A> {
+        private final Spliterator<?> spliterator;
+        private final long threshold;
+        private final LongFunction<A> supplier;
+        private final BiConsumer<A, ? super T> accumulator;
+        private final BinaryOperator<A> combiner;
+
+        SplitTask(Spliterator<?> spliterator, long threshold, LongFunction<A> supplier,
+                  BiConsumer<A, ? super T> accumulator, BinaryOperator<A> combiner) {
+            this.spliterator = spliterator;
+            this.threshold = threshold;
+            this.supplier = supplier;
+            this.accumulator = accumulator;
+            this.combiner = combiner;
+        }
+
+        @Override
+        protected A compute() {
+            if (spliterator.estimateSize() > threshold) {
+                Spliterator<?> prefix = spliterator.trySplit();
+                if (prefix != null) {
+                    SplitTask<A> left = new SplitTask<>(prefix, threshold, supplier, accumulator, combiner);
+                    SplitTask<A> right = new SplitTask<>(spliterator, threshold, supplier, accumulator, combiner);
+                    left.fork();
+                    A rightResult = right.compute();
+                    return combiner.apply(left.join(), rightResult);
+                }
+            }
+
+            A container = supplier.apply(spliterator.estimateSize());
+            Sink<Object> head = chain.apply(v -> {
+                accumulator.accept(container, v);
+                return true;
+            });
+            spliterator.forEachRemaining(head::accept);
+            return container;
+        }
+    }
+
+    /**
+     * Receives one element of the fused chain; returns {@code false} to stop the traversal.
+     */
+    @FunctionalInterface
+    interface Sink<T> {
+        boolean accept(T value);
+    }
+}
@@ -0,0 +1,200 @@
+package org.example.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Sorted snapshot of a collection with keyset pagination.
+ * <p>
+ * The view is sorted once by {@code (key, tie)} with {@link KeySort} and keeps the extracted
+ * keys next to the elements. A page is addressed by an opaque cursor holding the key and
+ * tie-breaker of the last element seen, so fetching the next page is a binary search plus
+ * a copy of the page: O(log n + page size). Because cursors carry values rather than
+ * positions, a cursor from an older view still resumes at the right place in a rebuilt one.
+ *
+ * @param <T> element type
+ */
+public final class SortedView<T> {
+
+    /**
+     * One page of results; {@code nextCursor} is {@code null} on the last page.
+     */
+    public record Page<T>(List<T> items, String nextCursor) {
+        public boolean hasNext() { return nextCursor != null; }
+    }
+
+    /**
+     * A run of consecutive elements sharing a group label; {@code members} is a view, not a copy.
+     */
+    public record Group<K, T>(K key, List<T> members) {
+    }
+
+    private final List<T> elements;
+    private final double[] numericKeys;
+    private final String[] textKeys;
+    private final String[] ties;
+    private final boolean descending;
+
+    private SortedView(List<T> elements, double[] numericKeys, String[] textKeys, String[] ties, boolean descending) {
+        this.elements = Collections.unmodifiableList(elements);
+        this.numericKeys = numericKeys;
+        this.textKeys = textKeys;
+        this.ties = ties;
+        this.descending = descending;
+    }
+
+    /**
+     * Sorts by a numeric key; {@code tie} must be unique per element and breaks ties ascending.
+     */
+    public static <T> SortedView<T> byDouble(Collection<? extends T> source, ToDoubleFunction<? super T> key,
+                                             boolean descending, Function<? super T, String> tie) {
+        Objects.requireNonNull(key, "Key cannot be null");
+        Objects.requireNonNull(tie, "Tie-breaker cannot be null");
+        KeySort<T> sort = KeySort.of(source);
+        sort = descending ? sort.byDoubleDescending(key) : sort.byDouble(key);
+        List<T> sorted = sort.by(tie).sort();
+
+        double[] keys = new double[sorted.size()];
+        String[] ties = new String[sorted.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = key.applyAsDouble(sorted.get(i));
+            ties[i] = tie.apply(sorted.get(i));
+        }
+        return new SortedView<>(sorted, keys, null, ties, descending);
+    }
+
+    /**
+     * Sorts by a text key; {@code tie} must be unique per element and breaks ties ascending.
+     */
+    public static <T> SortedView<T> byText(Collection<? extends T> source, Function<? super T, String> key,
+                                           boolean descending, Function<? super T, String> tie) {
+        Objects.requireNonNull(key, "Key cannot be null");
+        Objects.requireNonNull(tie, "Tie-breaker cannot be null");
+        KeySort<T> sort = KeySort.of(source);
+        sort = descending ? sort.byDescending(key) : sort.by(key);
+        List<T> sorted = sort.by(tie).sort();
+
+        String[] keys = new String[sorted.size()];
+        String[] ties = new String[sorted.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = key.apply(sorted.get(i));
+            ties[i] = tie.apply(sorted.get(i));
+        }
+        return new SortedView<>(sorted, null, keys, ties, descending);
+    }
+
+    public int size() { return elements.size(); }
+
+    /**
+     * Returns up to {@code size} elements after {@code cursor} ({@code null} for the first page).
+     */
+    public Page<T> page(String cursor, int size) {
+        if (size <= 0) throw new IllegalArgumentException("Page size must be positive.");
+        int from = cursor == null ? 0 : seek(cursor);
+        int to = Math.min(elements.size(), from + size);
+        List<T> items = List.copyOf(elements.subList(from, to));
+        return new Page<>(items, to < elements.size() && to > from ? cursorAt(to - 1) : null);
+    }
+
+    /**
+     * Returns page {@code number} (0-based) by offset; use cursors when the data may change between requests.
+     */
+    public Page<T> page(int number, int size) {
+        if (number < 0) throw new IllegalArgumentException("Page number cannot be negative.");
+        if (size <= 0) throw new IllegalArgumentException("Page size must be positive.");
+        long from = (long) number * size;
+        if (from >= elements.size()) return new Page<>(List.of(), null);
+        int to = (int) Math.min(elements.size(), from + size);
+        return new Page<>(List.copyOf(elements.subList((int) from, to)), to < elements.size() ? cursorAt(to - 1) : null);
+    }
+
+    /**
+     * Streams all elements in order, lazily.
+     */
+    public Stream<T> stream() {
+        return elements.stream();
+    }
+
+    /**
+     * Streams the elements after {@code cursor}, lazily.
+     */
+    public Stream<T> stream(String cursor) {
+        return elements.subList(cursor == null ? 0 : seek(cursor), elements.size()).stream();
+    }
+
+    /**
+     * Lazily yields runs of consecutive elements with the same {@code label}. The label must
+     * be constant over equal sort keys (e.g. a range of the key), so every group is one run.
+     */
+    public <K> Stream<Group<K, T>> groups(Function<? super T, ? extends K> label) {
+        Objects.requireNonNull(label, "Label cannot be null");
+        Iterator<Group<K, T>> runs = new Iterator<>() {
+            private int start;
+
+            @Override
+            public boolean hasNext() {
+                return start < elements.size();
+            }
+
+            @Override
+            public Group<K, T> next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                K key = label.apply(elements.get(start));
+                int end = start + 1;
+                while (end < elements.size() && Objects.equals(label.apply(elements.get(end)), key)) end++;
+                Group<K, T> group = new Group<>(key, elements.subList(start, end));
+                start = end;
+                return group;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(runs, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Index of the first element strictly after the cursor position.
+     */
+    private int seek(String cursor) {
+        String[] parts = decode(cursor);
+        boolean numeric = parts[0].equals("n");
+        if (numeric != (numericKeys != null))
+            throw new IllegalArgumentException("Cursor does not belong to this view.");
+        double numericKey = numeric ? Double.longBitsToDouble(Long.parseUnsignedLong(parts[1], 16)) : 0;
+        String textKey = numeric ? null : parts[1];
+        String tie = parts[2];
+
+        int lo = 0;
+        int hi = elements.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            int cmp = numeric ? Double.compare(numericKeys[mid], numericKey) : textKeys[mid].compareTo(textKey);
+            if (descending) cmp = -cmp;
+            if (cmp == 0) cmp = ties[mid].compareTo(tie);
+            if (cmp <= 0) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    private String cursorAt(int index) {
+        String key = numericKeys != null
+                ? "n\u0000" + Long.toHexString(Double.doubleToLongBits(numericKeys[index]))
+                : "t\u0000" + textKeys[index];
+        byte[] bytes = (key + "\u0000" + ties[index]).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static String[] decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\u0000", 3);
+            if (parts.length != 3) throw new IllegalArgumentException("Malformed cursor.");
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed cursor: " + cursor, e);
+        }
+    }
+}
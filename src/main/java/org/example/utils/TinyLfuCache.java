@@ -0,0 +1,290 @@
+package org.example.utils;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Bounded read-through cache with W-TinyLFU eviction and expire-after-write.
+ * <p>
+ * New entries enter a small LRU window (1% of the capacity). Entries falling out of the
+ * window compete with the least recently used entry of the main segmented LRU, and the one
+ * with the higher estimated access frequency stays. Frequencies come from a count-min sketch
+ * of 4-bit counters that is halved periodically, so the cache keeps entries that are popular
+ * now rather than ever. Values can also be validated on every hit (e.g. against entity
+ * version counters), which replaces stale entries precisely instead of waiting for expiry.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public final class TinyLfuCache<K, V> {
+
+    /**
+     * Cumulative cache counters.
+     */
+    public record Stats(long hits, long misses, long invalidations, long evictions, long expirations) {
+        public double hitRate() {
+            long requests = hits + misses;
+            return requests == 0 ? 0.0 : (double) hits / requests;
+        }
+    }
+
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+
+    private final int maximumSize;
+    private final int windowMax;
+    private final int protectedMax;
+    private final long ttlNanos;
+    private final LongSupplier nanoTicker;
+    private final Map<K, Node<K, V>> nodes = new HashMap<>();
+    private final AccessQueue<K, V> window = new AccessQueue<>();
+    private final AccessQueue<K, V> probation = new AccessQueue<>();
+    private final AccessQueue<K, V> protectedQueue = new AccessQueue<>();
+    private final FrequencySketch sketch;
+
+    private long hits;
+    private long misses;
+    private long invalidations;
+    private long evictions;
+    private long expirations;
+
+    public TinyLfuCache(int maximumSize, Duration timeToLive) {
+        this(maximumSize, timeToLive, System::nanoTime);
+    }
+
+    public TinyLfuCache(int maximumSize, Duration timeToLive, LongSupplier nanoTicker) {
+        if (maximumSize <= 0) throw new IllegalArgumentException("Maximum size must be positive.");
+        Objects.requireNonNull(timeToLive, "Time to live cannot be null");
+        if (timeToLive.isNegative() || timeToLive.isZero()) throw new IllegalArgumentException("Time to live must be positive.");
+        this.maximumSize = maximumSize;
+        this.windowMax = Math.max(1, maximumSize / 100);
+        this.protectedMax = (int) ((maximumSize - windowMax) * 0.8);
+        this.ttlNanos = timeToLive.toNanos();
+        this.nanoTicker = Objects.requireNonNull(nanoTicker, "Ticker cannot be null");
+        this.sketch = new FrequencySketch(maximumSize);
+    }
+
+    /**
+     * Returns the cached value for {@code key} if present, not expired and accepted by
+     * {@code isCurrent}; otherwise loads it with {@code loader} and caches the result.
+     * The loader runs outside the cache lock.
+     */
+    public V get(K key, Predicate<? super V> isCurrent, Function<? super K, ? extends V> loader) {
+        Objects.requireNonNull(key, "Key cannot be null");
+        Objects.requireNonNull(isCurrent, "Validator cannot be null");
+        Objects.requireNonNull(loader, "Loader cannot be null");
+
+        synchronized (this) {
+            sketch.increment(key.hashCode());
+            Node<K, V> node = nodes.get(key);
+            if (node != null) {
+                if (nanoTicker.getAsLong() - node.writeTime >= ttlNanos) {
+                    expirations++;
+                    unlink(node);
+                    nodes.remove(key);
+                } else if (!isCurrent.test(node.value)) {
+                    invalidations++;
+                } else {
+                    hits++;
+                    onAccess(node);
+                    return node.value;
+                }
+            }
+            misses++;
+        }
+
+        V value = Objects.requireNonNull(loader.apply(key), "Loader returned null");
+        put(key, value);
+        return value;
+    }
+
+    /**
+     * Drops {@code key} from the cache.
+     */
+    public synchronized void invalidate(K key) {
+        Node<K, V> node = nodes.remove(key);
+        if (node != null) unlink(node);
+    }
+
+    public synchronized int size() {
+        return nodes.size();
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(hits, misses, invalidations, evictions, expirations);
+    }
+
+    private synchronized void put(K key, V value) {
+        long now = nanoTicker.getAsLong();
+        Node<K, V> node = nodes.get(key);
+        if (node != null) {
+            node.value = value;
+            node.writeTime = now;
+            onAccess(node);
+            return;
+        }
+
+        node = new Node<>(key, value, now);
+        nodes.put(key, node);
+        window.addFirst(node, WINDOW);
+        if (window.size > windowMax) {
+            Node<K, V> candidate = window.removeLast();
+            probation.addFirst(candidate, PROBATION);
+            if (nodes.size() > maximumSize) evict(candidate);
+        }
+    }
+
+    /**
+     * Keeps either the window's overflow {@code candidate} or the probation victim,
+     * whichever the sketch estimates to be accessed more often.
+     */
+    private void evict(Node<K, V> candidate) {
+        Node<K, V> victim = probation.last();
+        if (victim == candidate) victim = protectedQueue.size > 0 ? protectedQueue.last() : candidate;
+        Node<K, V> loser = sketch.frequency(candidate.key.hashCode()) > sketch.frequency(victim.key.hashCode())
+                ? victim : candidate;
+        unlink(loser);
+        nodes.remove(loser.key);
+        evictions++;
+    }
+
+    private void onAccess(Node<K, V> node) {
+        switch (node.queue) {
+            case WINDOW -> window.moveToFirst(node);
+            case PROBATION -> {
+                probation.remove(node);
+                protectedQueue.addFirst(node, PROTECTED);
+                if (protectedQueue.size > protectedMax) probation.addFirst(protectedQueue.removeLast(), PROBATION);
+            }
+            default -> protectedQueue.moveToFirst(node);
+        }
+    }
+
+    private void unlink(Node<K, V> node) {
+        switch (node.queue) {
+            case WINDOW -> window.remove(node);
+            case PROBATION -> probation.remove(node);
+            default -> protectedQueue.remove(node);
+        }
+    }
+
+    private static final class Node<K, V> {
+        private final K key;
+        private V value;
+        private long writeTime;
+        private int queue;
+        private Node<K, V> prev;
+        private Node<K, V> next;
+
+        Node(K key, V value, long writeTime) {
+            this.key = key;
+            this.value = value;
+            this.writeTime = writeTime;
+        }
+    }
+
+    /**
+     * Intrusive doubly linked LRU list; first is most recently used.
+     */
+    private static final class AccessQueue<K, V> {
+        private final Node<K, V> head = new Node<>(null, null, 0);
+        private int size;
+
+        AccessQueue() {
+            head.prev = head;
+            head.next = head;
+        }
+
+        void addFirst(Node<K, V> node, int queue) {
+            node.queue = queue;
+            node.prev = head;
+            node.next = head.next;
+            head.next.prev = node;
+            head.next = node;
+            size++;
+        }
+
+        void remove(Node<K, V> node) {
+            node.prev.next = node.next;
+            node.next.prev = node.prev;
+            node.prev = null;
+            node.next = null;
+            size--;
+        }
+
+        void moveToFirst(Node<K, V> node) {
+            int queue = node.queue;
+            remove(node);
+            addFirst(node, queue);
+        }
+
+        Node<K, V> last() {
+            return head.prev;
+        }
+
+        Node<K, V> removeLast() {
+            Node<K, V> node = head.prev;
+            remove(node);
+            return node;
+        }
+    }
+
+    /**
+     * Count-min sketch of 4-bit counters, four per key, halved every {@code 10 * capacity} increments.
+     */
+    private static final class FrequencySketch {
+        private static final long[] SEEDS = {
+                0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+        };
+        private static final long RESET_MASK = 0x7777777777777777L;
+
+        private final long[] table;
+        private final int sampleSize;
+        private int additions;
+
+        FrequencySketch(int capacity) {
+            int size = Integer.highestOneBit(Math.max(16, capacity - 1)) << 1;
+            this.table = new long[size];
+            this.sampleSize = 10 * Math.max(capacity, 16);
+        }
+
+        void increment(int hash) {
+            boolean added = false;
+            for (int i = 0; i < 4; i++) {
+                long h = spread(hash, i);
+                int index = (int) (h >>> 40) & (table.length - 1);
+                int offset = ((int) h & 15) << 2;
+                if (((table[index] >>> offset) & 15L) != 15L) {
+                    table[index] += 1L << offset;
+                    added = true;
+                }
+            }
+            if (added && ++additions >= sampleSize) {
+                for (int i = 0; i < table.length; i++) table[i] = (table[i] >>> 1) & RESET_MASK;
+                additions /= 2;
+            }
+        }
+
+        int frequency(int hash) {
+            int min = 15;
+            for (int i = 0; i < 4; i++) {
+                long h = spread(hash, i);
+                int index = (int) (h >>> 40) & (table.length - 1);
+                int offset = ((int) h & 15) << 2;
+                min = Math.min(min, (int) ((table[index] >>> offset) & 15L));
+            }
+            return min;
+        }
+
+        private static long spread(int hash, int i) {
+            long h = (hash + SEEDS[i]) * SEEDS[(i + 1) & 3];
+            return h ^ (h >>> 29);
+        }
+    }
+}
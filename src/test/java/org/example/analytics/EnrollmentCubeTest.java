@@ -0,0 +1,56 @@
+package org.example.analytics;
+
+import org.example.entities.Course;
+import org.example.entities.Enrollment;
+import org.example.entities.Professor;
+import org.example.entities.Student;
+import org.example.enums.CourseLevel;
+import org.example.enums.EnrollmentStatus;
+import org.example.enums.GradeType;
+import org.example.enums.Semester;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnrollmentCubeTest {
+
+    private final Professor professor = new Professor.ProfessorBuilder("Marko", "Babic", 100).build();
+    private final Course course = new Course("Algebra", professor, 10, 6, CourseLevel.values()[0]);
+
+    @Test
+    void attachedCubeFollowsGradingUntilClosed() {
+        Enrollment first = enrollment(1);
+        Enrollment second = enrollment(2);
+        try (EnrollmentCube cube = EnrollmentCube.of(List.of(course), List.of(first, second)).attach()) {
+            first.withGrade(GradeType.A);
+            second.withGrade(GradeType.INCOMPLETE);
+
+            assertEquals(1, cube.count(EnrollmentCube.Slice.all().statuses(EnrollmentStatus.COMPLETED)));
+            assertEquals(1, cube.count(EnrollmentCube.Slice.all().grades(GradeType.INCOMPLETE)));
+            assertEquals(0, cube.count(EnrollmentCube.Slice.all().grades(GradeType.NOT_GRADED)));
+            assertEquals(2, cube.count(EnrollmentCube.Slice.all()));
+
+            cube.close();
+            second.withGrade(GradeType.F);
+            assertEquals(0, cube.count(EnrollmentCube.Slice.all().statuses(EnrollmentStatus.FAILED)));
+        }
+    }
+
+    @Test
+    void attachedCubeRollsOverOnSemesterClose() {
+        Enrollment graded = enrollment(1).withGrade(GradeType.INCOMPLETE);
+        try (EnrollmentCube cube = EnrollmentCube.of(List.of(course), List.of(graded, enrollment(2))).attach()) {
+            Enrollment.notifySemesterClosed(Semester.FIRST, 0, 2, LocalDateTime.now());
+            assertEquals(0, cube.count(EnrollmentCube.Slice.all().statuses(EnrollmentStatus.ACTIVE)));
+            assertEquals(2, cube.count(EnrollmentCube.Slice.all().statuses(EnrollmentStatus.FAILED)));
+        }
+    }
+
+    private Enrollment enrollment(int studentId) {
+        Student student = new Student.StudentBuilder("First", "Last", studentId).build();
+        return new Enrollment(student, course, Semester.FIRST);
+    }
+}
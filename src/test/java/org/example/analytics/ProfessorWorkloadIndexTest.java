@@ -0,0 +1,51 @@
+package org.example.analytics;
+
+import org.example.entities.Course;
+import org.example.entities.Professor;
+import org.example.entities.Student;
+import org.example.enums.CourseLevel;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProfessorWorkloadIndexTest {
+
+    private final Professor first = new Professor.ProfessorBuilder("Marko", "Babic", 1).username("shared").build();
+    private final Professor second = new Professor.ProfessorBuilder("Iva", "Novak", 2).username("shared").build();
+
+    @Test
+    void attachedIndexCountsEnrollmentsUntilClosed() {
+        Course algebra = course("Algebra", first);
+        Course logic = course("Logic", first);
+        Course physics = course("Physics", second);
+        Student student = new Student.StudentBuilder("Ana", "Horvat", 10).build();
+
+        ProfessorWorkloadIndex index = ProfessorWorkloadIndex.of(List.of(algebra, logic)).attach();
+        try {
+            index.addCourse(physics);
+            index.addCourse(physics);
+            algebra.enrollStudent(student);
+            logic.enrollStudent(student);
+            physics.enrollStudent(student);
+
+            assertEquals(Map.of(1, List.of(algebra, logic), 2, List.of(physics)), index.groupByProfessor());
+            ProfessorWorkloadIndex.Workload workload = index.getWorkload(1);
+            assertEquals(2, workload.courses());
+            assertEquals(2, workload.students());
+            assertEquals(12, workload.ects());
+        } finally {
+            index.close();
+        }
+
+        algebra.enrollStudent(new Student.StudentBuilder("Ivo", "Kovac", 11).build());
+        assertEquals(2, index.getWorkload(1).students());
+        assertNull(index.getWorkload(3));
+    }
+
+    private static Course course(String name, Professor professor) {
+        return new Course(name, professor, 10, 6, CourseLevel.values()[0]);
+    }
+}
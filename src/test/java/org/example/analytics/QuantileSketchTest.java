@@ -0,0 +1,84 @@
+package org.example.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuantileSketchTest {
+
+    private static final double ACCURACY = 0.01;
+    private static final double[] QUANTILES = {0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99, 0.999};
+
+    @Test
+    void quantilesAreWithinRelativeAccuracy() {
+        double[] values = logNormal(100_000, new Random(32));
+        QuantileSketch sketch = new QuantileSketch(ACCURACY);
+        for (double v : values) sketch.add(v);
+        assertAccurate(sketch, values);
+    }
+
+    @Test
+    void mergedPartitionsMatchOneSketchOverAllValues() {
+        double[] values = logNormal(120_000, new Random(33));
+        QuantileSketch whole = new QuantileSketch(ACCURACY);
+        QuantileSketch merged = new QuantileSketch(ACCURACY);
+        // partitions with very different ranges force the merge target to grow at both ends
+        QuantileSketch[] parts = {new QuantileSketch(ACCURACY), new QuantileSketch(ACCURACY), new QuantileSketch(ACCURACY)};
+        Arrays.sort(values);
+        for (int i = 0; i < values.length; i++) {
+            whole.add(values[i]);
+            parts[(int) ((long) i * parts.length / values.length)].add(values[i]);
+        }
+        merged.merge(parts[1]);
+        merged.merge(parts[2]);
+        merged.merge(parts[0]);
+
+        assertEquals(whole.count(), merged.count());
+        assertEquals(whole.min(), merged.min());
+        assertEquals(whole.max(), merged.max());
+        for (double q : QUANTILES) assertEquals(whole.quantile(q), merged.quantile(q), 0.0, "q=" + q);
+        assertAccurate(merged, values);
+    }
+
+    @Test
+    void mergeRejectsDifferentAccuracy() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new QuantileSketch(0.01).merge(new QuantileSketch(0.02)));
+    }
+
+    @Test
+    void emptyAndNonPositiveValues() {
+        QuantileSketch sketch = new QuantileSketch(ACCURACY);
+        assertTrue(Double.isNaN(sketch.quantile(0.5)));
+        assertEquals(0.0, sketch.cdf(1.0));
+
+        sketch.add(0.0, 3);
+        sketch.add(-2.0);
+        sketch.add(4.0);
+        assertEquals(5, sketch.count());
+        assertEquals(-2.0, sketch.quantile(0));
+        assertEquals(0.0, sketch.quantile(0.5));
+        assertEquals(4.0, sketch.quantile(1));
+        assertEquals(0.8, sketch.cdf(0.0), 1e-12);
+        assertEquals(1.0, sketch.cdf(4.0), 1e-12);
+    }
+
+    private static void assertAccurate(QuantileSketch sketch, double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        for (double q : QUANTILES) {
+            double exact = sorted[(int) Math.ceil(q * sorted.length) - 1];
+            double estimate = sketch.quantile(q);
+            assertEquals(exact, estimate, exact * ACCURACY * (1 + 1e-9), "q=" + q);
+        }
+    }
+
+    private static double[] logNormal(int n, Random random) {
+        double[] values = new double[n];
+        for (int i = 0; i < n; i++) values[i] = Math.exp(random.nextGaussian() * 2);
+        return values;
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.entities;
+
+import org.example.enums.CourseLevel;
+import org.example.enums.GradeType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RegistrySnapshotterTest {
+
+    private final Professor professor = new Professor.ProfessorBuilder("Marko", "Babic", 100).build();
+
+    @Test
+    void unchangedEntitiesShareViewsAcrossSnapshots() {
+        List<Student> students = students(10);
+        List<Course> courses = List.of(new Course("Algebra", professor, 10, 6, CourseLevel.values()[0]));
+        RegistrySnapshotter snapshotter = new RegistrySnapshotter(students, courses);
+
+        RegistrySnapshot first = snapshotter.snapshot();
+        students.get(3).setGrade("Algebra", GradeType.A);
+        RegistrySnapshot second = snapshotter.snapshot();
+
+        assertTrue(first.consistent() && second.consistent());
+        assertEquals(first.epoch() + 1, second.epoch());
+        assertEquals(12, snapshotter.getCopiedViews());
+        assertEquals(10, snapshotter.getReusedViews());
+        assertNotSame(first.students().get(3), second.students().get(3));
+        assertSame(first.students().get(4), second.students().get(4));
+        assertSame(first.courses().getFirst(), second.courses().getFirst());
+        assertEquals(GradeType.NOT_GRADED, first.students().get(3).grade("Algebra"));
+        assertEquals(GradeType.A, second.students().get(3).grade("Algebra"));
+    }
+
+    @Test
+    void snapshotsStayReadableWhileWritersRun() throws InterruptedException {
+        List<Student> students = students(200);
+        for (Student s : students) s.setGrade("Algebra", GradeType.A);
+        RegistrySnapshotter snapshotter = new RegistrySnapshotter(students, List.of());
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread writer = Thread.ofPlatform().start(() -> {
+            GradeType[] grades = {GradeType.A, GradeType.B, GradeType.C};
+            for (int i = 0; running.get(); i++) students.get(i % 200).setGrade("Algebra", grades[i % 3]);
+        });
+        try {
+            for (int i = 0; i < 100; i++) {
+                RegistrySnapshot snapshot = snapshotter.snapshot();
+                assertEquals(200, snapshot.students().size());
+                for (RegistrySnapshot.StudentView v : snapshot.students()) {
+                    assertTrue(v.version() <= v.student().getVersion());
+                    assertEquals(v.grade("Algebra").getGradePoint(), v.gpa(), 1e-9);
+                }
+            }
+        } finally {
+            running.set(false);
+            writer.join();
+        }
+        assertTrue(snapshotter.snapshot().consistent());
+    }
+
+    private static List<Student> students(int n) {
+        List<Student> students = new ArrayList<>();
+        for (int id = 1; id <= n; id++) {
+            Student s = new Student.StudentBuilder("First" + id, "Last", id).build();
+            s.enrollCourses("Algebra");
+            students.add(s);
+        }
+        return students;
+    }
+}
@@ -0,0 +1,70 @@
+package org.example.query;
+
+import org.example.entities.Course;
+import org.example.entities.Enrollment;
+import org.example.entities.Professor;
+import org.example.entities.Student;
+import org.example.enums.CourseLevel;
+import org.example.enums.GradeType;
+import org.example.enums.Semester;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TableTest {
+
+    private final Professor professor = new Professor.ProfessorBuilder("Marko", "Babic", 100).build();
+    private final Course algebra = new Course("Algebra", professor, 10, 6, CourseLevel.values()[0]);
+
+    @Test
+    void gradingDropsOnlyTheGpaIndex() {
+        List<Student> students = new ArrayList<>();
+        for (int id = 1; id <= 100; id++) {
+            Student s = new Student.StudentBuilder("First" + id, "Last", id).build();
+            s.enrollCourses("Algebra");
+            students.add(s);
+        }
+        try (Table<Student> table = Table.students(students)) {
+            Index<Student> byId = table.index(table.column("id"));
+            Index<Student> byGpa = table.index(table.column("gpa"));
+            assertEquals(0, table.query().where(Condition.gt("gpa", 4.0)).count());
+
+            students.get(41).setGrade("Algebra", GradeType.A_PLUS);
+
+            assertSame(byId, table.index(table.column("id")));
+            assertNotSame(byGpa, table.index(table.column("gpa")));
+            assertEquals(List.of(students.get(41)), table.query().where(Condition.gt("gpa", 4.0)).list());
+        }
+    }
+
+    @Test
+    void unrelatedChangesKeepIndexesAndOwnMutationsDropThem() {
+        List<Enrollment> rows = new ArrayList<>();
+        for (int id = 1; id <= 50; id++) {
+            rows.add(new Enrollment(new Student.StudentBuilder("First", "Last", id).build(), algebra, Semester.FIRST));
+        }
+        try (Table<Enrollment> table = Table.enrollments(rows)) {
+            Index<Enrollment> byStudent = table.index(table.column("studentId"));
+
+            Enrollment elsewhere = new Enrollment(new Student.StudentBuilder("A", "B", 999).build(), algebra,
+                    Semester.SECOND);
+            elsewhere.withGrade(GradeType.B);
+            assertSame(byStudent, table.index(table.column("studentId")));
+
+            Enrollment before = rows.get(6);
+            Enrollment after = before.withGrade(GradeType.A);
+            table.replace(before, after);
+            assertSame(after, rows.get(6));
+            assertEquals(List.of(after), table.query().where(Condition.eq("studentId", 7)).list());
+
+            assertTrue(table.add(elsewhere));
+            assertEquals(List.of(elsewhere), table.query().where(Condition.eq("studentId", 999)).list());
+            assertTrue(table.remove(elsewhere));
+            assertTrue(table.query().where(Condition.eq("studentId", 999)).list().isEmpty());
+            assertThrows(IllegalArgumentException.class, () -> table.replace(elsewhere, after));
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package org.example.replication;
+
+import org.example.enums.CourseLevel;
+import org.example.enums.GradeType;
+import org.example.enums.LessonType;
+import org.example.enums.Semester;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChangeStreamTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 10, 1, 9, 30, 15, 123_456_789);
+
+    private static final List<ChangeRecord> RECORDS = List.of(
+            new ChangeRecord.StudentRegistered(1, "Ana", "Horvat", "ahorvat", "ana@example.org", 5),
+            new ChangeRecord.StudentRegistered(2, "Ivo", "Kovac", null, null, 3),
+            new ChangeRecord.CourseRegistered("Algebra", 10, "Marko", "Babic", "mbabic", 4, 12, 6,
+                    CourseLevel.values()[0]),
+            new ChangeRecord.CourseRegistered("Logic", 11, "Iva", "Novak", null, 2, 8, 5, CourseLevel.values()[0]),
+            new ChangeRecord.Enrolled(1, "Algebra", Semester.values()[0], NOW),
+            new ChangeRecord.Graded(1, "Algebra", GradeType.values()[0], NOW.plusDays(90)),
+            new ChangeRecord.LessonAdded("Algebra", "Intro", 90, LessonType.values()[0], NOW),
+            new ChangeRecord.LessonAdded("Algebra", "Groups", 45, LessonType.values()[0], null),
+            new ChangeRecord.CourseCarried(2, "Logic", GradeType.values()[0]));
+
+    @Test
+    void everyRecordTypeRoundTripsThroughAFrame() throws IOException {
+        List<byte[]> entries = new ArrayList<>();
+        for (int i = 0; i < RECORDS.size(); i++) entries.add(ChangeStream.encode(1_000L + i, RECORDS.get(i)));
+
+        ChangeStream.Batch batch = ChangeStream.readFrame(input(frame(40, entries, 60)));
+
+        assertEquals(40, batch.firstOffset());
+        assertEquals(60, batch.headOffset());
+        assertEquals(RECORDS.size(), batch.entries().size());
+        for (int i = 0; i < RECORDS.size(); i++) {
+            assertEquals(1_000L + i, batch.entries().get(i).commitMillis());
+            assertEquals(RECORDS.get(i), batch.entries().get(i).record());
+        }
+    }
+
+    @Test
+    void emptyHeartbeatFrameIsValid() throws IOException {
+        ChangeStream.Batch batch = ChangeStream.readFrame(input(frame(7, List.of(), 7)));
+        assertTrue(batch.entries().isEmpty());
+        assertEquals(7, batch.headOffset());
+    }
+
+    @Test
+    void corruptedPayloadOrHeaderFailsTheChecksum() throws IOException {
+        byte[] frame = frame(3, List.of(ChangeStream.encode(5, RECORDS.get(0))), 4);
+        int payloadStart = 4 + 8 + 4 + 8 + 8 + 4;
+
+        for (int at : new int[]{payloadStart + 10, 4, frame.length - 1}) {
+            byte[] corrupted = frame.clone();
+            corrupted[at] ^= 0x01;
+            IOException e = assertThrows(IOException.class, () -> ChangeStream.readFrame(input(corrupted)));
+            assertTrue(e.getMessage().contains("Checksum"), e.getMessage());
+        }
+
+        byte[] badMagic = frame.clone();
+        badMagic[0] ^= 0x01;
+        assertThrows(IOException.class, () -> ChangeStream.readFrame(input(badMagic)));
+    }
+
+    @Test
+    void primaryResumesFromTheRequestedOffset() throws IOException {
+        try (ReplicationPrimary primary = new ReplicationPrimary(0)) {
+            for (int id = 1; id <= 5; id++) {
+                primary.registerStudent(new org.example.entities.Student.StudentBuilder("First" + id, "Last", id)
+                        .username("user" + id).build());
+            }
+            assertEquals(5, primary.getHeadOffset());
+
+            try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), primary.getPort())) {
+                DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+                out.writeLong(3);
+                out.flush();
+                ChangeStream.Batch batch = ChangeStream.readFrame(new DataInputStream(socket.getInputStream()));
+
+                assertEquals(3, batch.firstOffset());
+                assertEquals(5, batch.headOffset());
+                assertEquals(List.of(4, 5), batch.entries().stream()
+                        .map(e -> ((ChangeRecord.StudentRegistered) e.record()).id()).toList());
+            }
+        }
+    }
+
+    private static byte[] frame(long firstOffset, List<byte[]> entries, long headOffset) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ChangeStream.writeFrame(new DataOutputStream(bytes), firstOffset, entries, headOffset);
+        return bytes.toByteArray();
+    }
+
+    private static DataInputStream input(byte[] bytes) {
+        return new DataInputStream(new ByteArrayInputStream(bytes));
+    }
+}
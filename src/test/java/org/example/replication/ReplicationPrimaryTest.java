@@ -0,0 +1,53 @@
+package org.example.replication;
+
+import org.example.entities.Course;
+import org.example.entities.Professor;
+import org.example.entities.Student;
+import org.example.enums.CourseLevel;
+import org.example.enums.EnrollmentOutcome;
+import org.example.enums.Semester;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicationPrimaryTest {
+
+    @Test
+    void recordThatCannotBeEncodedLeavesStateUntouched() throws IOException {
+        try (ReplicationPrimary primary = new ReplicationPrimary(0)) {
+            Student unnamed = new Student.StudentBuilder(null, "Last", 1).build();
+            assertThrows(NullPointerException.class, () -> primary.registerStudent(unnamed));
+            assertEquals(0, primary.getHeadOffset());
+            assertTrue(primary.getStudents().isEmpty());
+
+            primary.registerStudent(new Student.StudentBuilder("First", "Last", 1).build());
+            assertEquals(1, primary.getHeadOffset());
+        }
+    }
+
+    @Test
+    void replicaCopiesProfessorUsernameAndComparesCourses() throws Exception {
+        Professor professor = new Professor.ProfessorBuilder("Marko", "Babic", 10).username("mbabic").build();
+        Professor anonymous = new Professor.ProfessorBuilder("Iva", "Novak", 11).build();
+        try (ReplicationPrimary primary = new ReplicationPrimary(0);
+             ReplicationReplica replica = new ReplicationReplica("localhost", primary.getPort())) {
+            primary.registerStudent(new Student.StudentBuilder("Ana", "Horvat", 1).username("ahorvat").build());
+            primary.registerCourse(new Course("Algebra", professor, 10, 6, CourseLevel.values()[0]));
+            primary.registerCourse(new Course("Logic", anonymous, 10, 5, CourseLevel.values()[0]));
+            assertEquals(EnrollmentOutcome.OK, primary.enroll(1, "Algebra", Semester.values()[0]));
+            assertThrows(IllegalArgumentException.class, () -> primary.registerStudent(
+                    new Student.StudentBuilder("Ana", "Horvat", 1).build()));
+
+            assertTrue(replica.awaitOffset(primary.getHeadOffset(), 5_000));
+            Course algebra = replica.findCourse("Algebra").orElseThrow();
+            Course logic = replica.findCourse("Logic").orElseThrow();
+            assertEquals("mbabic", algebra.getProfessor().getUsername());
+            assertNull(logic.getProfessor().getUsername());
+            assertEquals(primary.getCourses(), replica.getCourses());
+            assertNotEquals(algebra, logic);
+            assertEquals(primary.getEnrollments().size(), replica.getEnrollments().size());
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package org.example.storage;
+
+import org.example.entities.Course;
+import org.example.entities.Enrollment;
+import org.example.entities.Professor;
+import org.example.entities.Student;
+import org.example.enums.CourseLevel;
+import org.example.enums.EnrollmentStatus;
+import org.example.enums.GradeType;
+import org.example.enums.Semester;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnrollmentArchiveTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 10, 1, 9, 0);
+    private static final GradeType[] GRADES = {GradeType.A_PLUS, GradeType.B, GradeType.C, GradeType.F};
+
+    @TempDir
+    Path directory;
+
+    private final Professor professor = new Professor.ProfessorBuilder("Marko", "Babic", 100)
+            .username("mbabic").build();
+    private final List<Course> courses = List.of(
+            new Course("Algebra", professor, 10, 6, CourseLevel.values()[0]),
+            new Course("Logic", professor, 10, 5, CourseLevel.values()[0]));
+
+    @Test
+    void segmentsRoundTripAcrossReopen() throws IOException {
+        List<Enrollment> first = enrollments(Semester.FIRST, 200);
+        List<Enrollment> second = enrollments(Semester.SECOND, 50);
+
+        EnrollmentArchive archive = EnrollmentArchive.open(directory, 1);
+        EnrollmentArchive.SegmentSummary summary = archive.archive(Semester.FIRST, first);
+        archive.archive(Semester.SECOND, second);
+        assertEquals(200, summary.enrollments());
+        assertEquals(50, summary.byGrade().get(GradeType.F));
+        assertEquals(50, summary.byStatus().get(EnrollmentStatus.FAILED));
+
+        EnrollmentArchive reopened = EnrollmentArchive.open(directory);
+        assertEquals(archive.getSummaries(), reopened.getSummaries());
+        assertEquals(200, reopened.count(Semester.FIRST));
+        assertEquals(Map.of(GradeType.A_PLUS, 50L, GradeType.B, 50L, GradeType.C, 50L, GradeType.F, 50L),
+                reopened.getGradeDistribution(Semester.FIRST));
+
+        assertEquals(rows(first), reopened.stream(Semester.FIRST).toList());
+        List<EnrollmentArchive.ArchivedEnrollment> all = new ArrayList<>(rows(first));
+        all.addAll(rows(second));
+        assertEquals(all, reopened.stream().toList());
+    }
+
+    @Test
+    void rowsSurviveMissingStudentsAndCourses() throws IOException {
+        EnrollmentArchive archive = EnrollmentArchive.open(directory);
+        List<Enrollment> enrollments = enrollments(Semester.THIRD, 4);
+        archive.archive(Semester.THIRD, enrollments);
+
+        List<EnrollmentArchive.ArchivedEnrollment> rows = archive.stream(Semester.THIRD).toList();
+        assertEquals(4, rows.size());
+
+        Student kept = enrollments.getFirst().student();
+        long resolved = rows.stream()
+                .map(r -> r.resolve(id -> id == kept.getID() ? kept : null, name -> courses.getFirst()))
+                .filter(Optional::isPresent)
+                .count();
+        assertEquals(1, resolved);
+        assertTrue(rows.getFirst().resolve(id -> kept, name -> null).isEmpty());
+    }
+
+    @Test
+    void rejectsActiveOrMismatchedEnrollments() throws IOException {
+        EnrollmentArchive archive = EnrollmentArchive.open(directory);
+        Student student = new Student.StudentBuilder("Ana", "Horvat", 1).build();
+        Enrollment active = new Enrollment(student, courses.getFirst(), Semester.FIRST);
+
+        assertThrows(IllegalArgumentException.class, () -> archive.archive(Semester.FIRST, List.of(active)));
+        assertThrows(IllegalArgumentException.class,
+                () -> archive.archive(Semester.SECOND, enrollments(Semester.FIRST, 1)));
+        assertThrows(IllegalArgumentException.class, () -> archive.archive(Semester.FIRST, List.of()));
+        assertTrue(archive.getSummaries().isEmpty());
+    }
+
+    @Test
+    void corruptedSegmentFailsOnRead() throws IOException {
+        EnrollmentArchive archive = EnrollmentArchive.open(directory);
+        archive.archive(Semester.FIRST, enrollments(Semester.FIRST, 100));
+
+        Path segment;
+        try (var files = Files.list(directory)) {
+            segment = files.filter(f -> f.toString().endsWith(".seg")).findFirst().orElseThrow();
+        }
+        segment.toFile().setWritable(true);
+        byte[] bytes = Files.readAllBytes(segment);
+        bytes[bytes.length - 3] ^= 0x5A;
+        Files.write(segment, bytes);
+
+        EnrollmentArchive reopened = EnrollmentArchive.open(directory);
+        assertEquals(100, reopened.count(Semester.FIRST));
+        assertThrows(UncheckedIOException.class, () -> reopened.stream(Semester.FIRST).count());
+    }
+
+    private List<Enrollment> enrollments(Semester semester, int n) {
+        List<Enrollment> enrollments = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            Student student = new Student.StudentBuilder("First" + i, "Last", 1_000 + i).build();
+            GradeType grade = GRADES[i % GRADES.length];
+            enrollments.add(new Enrollment(student, courses.get(i % courses.size()), semester,
+                    grade.isPassing() ? EnrollmentStatus.COMPLETED : EnrollmentStatus.FAILED, grade,
+                    START.plusMinutes(i), START.plusDays(100).plusSeconds(i)));
+        }
+        return enrollments;
+    }
+
+    private static List<EnrollmentArchive.ArchivedEnrollment> rows(List<Enrollment> enrollments) {
+        return enrollments.stream().map(EnrollmentArchive.ArchivedEnrollment::of).toList();
+    }
+}
@@ -0,0 +1,98 @@
+package org.example.storage;
+
+import org.example.entities.Course;
+import org.example.entities.Enrollment;
+import org.example.entities.Professor;
+import org.example.entities.Student;
+import org.example.enums.CourseLevel;
+import org.example.enums.EnrollmentOutcome;
+import org.example.enums.EnrollmentStatus;
+import org.example.enums.GradeType;
+import org.example.enums.Semester;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardedRegistryTest {
+
+    private final Professor professor = new Professor.ProfessorBuilder("Marko", "Babic", 1).username("mbabic").build();
+    private final Course algebra = new Course("Algebra", professor, 10, 6, CourseLevel.BEGINNER);
+    private final Course logic = new Course("Logic", professor, 10, 5, CourseLevel.BEGINNER);
+
+    @Test
+    void duplicateStudentIdIsRejected() {
+        ShardedRegistry registry = new ShardedRegistry(4, ShardedRegistry.Partitioning.STUDENT);
+        registry.addStudent(student(10));
+
+        assertThrows(IllegalArgumentException.class, () -> registry.addStudent(student(10)));
+        assertEquals(1, registry.getStudentCount());
+    }
+
+    @Test
+    void rosterIsMergedAcrossShardsAndCourseIsUntouched() {
+        ShardedRegistry registry = new ShardedRegistry(4, ShardedRegistry.Partitioning.STUDENT);
+        registry.addCourse(algebra);
+        for (int id = 10; id < 30; id++) registry.addStudent(student(id));
+
+        for (int id = 10; id < 30; id++) assertEquals(EnrollmentOutcome.OK, registry.enroll(id, algebra, Semester.FIRST));
+        assertEquals(EnrollmentOutcome.DUPLICATE, registry.enroll(10, algebra, Semester.SECOND));
+        assertEquals(EnrollmentOutcome.NOT_FOUND, registry.enroll(99, algebra, Semester.FIRST));
+
+        assertEquals(20, registry.getEnrollmentCount(algebra));
+        assertEquals(0, registry.getEnrollmentCount(logic));
+        Set<Integer> ids = registry.getRoster(algebra).stream().map(Student::getID).collect(Collectors.toSet());
+        assertEquals(20, ids.size());
+        assertTrue(ids.contains(10) && ids.contains(29));
+        assertTrue(algebra.getEnrolledStudents().isEmpty());
+    }
+
+    @Test
+    void gradeAndTransitionReplaceTheRow() {
+        ShardedRegistry registry = new ShardedRegistry(3, ShardedRegistry.Partitioning.SEMESTER);
+        Student ana = student(10);
+        registry.addStudent(ana);
+        registry.enroll(10, algebra, Semester.FIRST);
+        registry.enroll(10, logic, Semester.SECOND);
+
+        assertEquals(EnrollmentOutcome.OK, registry.setGrade(10, algebra, Semester.FIRST, GradeType.A));
+        assertEquals(EnrollmentOutcome.OK, registry.transition(10, logic, Semester.SECOND, EnrollmentStatus.DROPPED));
+        assertEquals(EnrollmentOutcome.NOT_FOUND, registry.setGrade(10, algebra, Semester.SECOND, GradeType.B));
+
+        assertEquals(GradeType.A, ana.getGrade("Algebra"));
+        assertEquals(Map.of(GradeType.A, 1L, GradeType.NOT_GRADED, 1L), registry.getGradeDistribution());
+        Map<EnrollmentStatus, List<Enrollment>> byStatus = registry.groupEnrollmentsByStatus();
+        assertEquals(algebra, byStatus.get(EnrollmentStatus.COMPLETED).getFirst().course());
+        assertEquals(logic, byStatus.get(EnrollmentStatus.DROPPED).getFirst().course());
+        assertEquals(Set.of(Semester.FIRST, Semester.SECOND), registry.groupEnrollmentsBySemester().keySet());
+    }
+
+    @Test
+    void topStudentsAreMergedFromEveryShard() {
+        Student low = student(10);
+        Student mid = student(11);
+        Student high = student(12);
+        List<Enrollment> enrollments = List.of(
+                new Enrollment(low, algebra, Semester.FIRST),
+                new Enrollment(mid, algebra, Semester.FIRST),
+                new Enrollment(high, algebra, Semester.FIRST));
+        ShardedRegistry registry = ShardedRegistry.of(List.of(low, mid, high), List.of(algebra), enrollments,
+                3, ShardedRegistry.Partitioning.STUDENT);
+        for (Student s : List.of(low, mid, high)) s.tryEnroll("Algebra");
+        registry.setGrade(10, algebra, Semester.FIRST, GradeType.D);
+        registry.setGrade(11, algebra, Semester.FIRST, GradeType.B);
+        registry.setGrade(12, algebra, Semester.FIRST, GradeType.A_PLUS);
+
+        assertEquals(List.of(high, mid), registry.topStudentsByGPA(2));
+        assertEquals(high, registry.findTopStudentByGPA().orElseThrow());
+        assertEquals(3, registry.getEnrollmentCount(algebra));
+    }
+
+    private static Student student(int id) {
+        return new Student.StudentBuilder("Student", "No" + id, id).username("s" + id).build();
+    }
+}
@@ -0,0 +1,104 @@
+package org.example.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompressedBitmapTest {
+
+    @Test
+    void chunkSwitchesToBitmapWhenDenseAndBackWhenSparse() {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        for (int v = 0; v < 100; v++) bitmap.add(v * 2);
+        assertTrue(bitmap.sizeInBytes() < 1_024, "a sparse chunk is an array of chars");
+        for (int v = 100; v < 4096; v++) bitmap.add(v * 2);
+        bitmap.add(1);
+        assertTrue(bitmap.sizeInBytes() >= 8_192, "4097 values switch the chunk to an 8 KB bitmap");
+        assertEquals(4097, bitmap.cardinality());
+
+        for (int v = 0; v < 4096 - 1_000; v++) bitmap.remove(v * 2);
+        assertTrue(bitmap.sizeInBytes() < 8_192, "a chunk that drops to half the array limit goes back to an array");
+        assertEquals(1_001, bitmap.cardinality());
+        assertTrue(bitmap.contains(1));
+        assertTrue(bitmap.contains(8_190));
+        assertFalse(bitmap.contains(0));
+    }
+
+    @Test
+    void removingTheLastValueDropsTheChunk() {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        bitmap.add(70_000);
+        assertTrue(bitmap.remove(70_000));
+        assertTrue(bitmap.isEmpty());
+        assertFalse(bitmap.remove(70_000));
+        assertFalse(bitmap.remove(-1));
+    }
+
+    @Test
+    void addRangeAcrossChunkBoundaries() {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        bitmap.add(65_530);
+        bitmap.addRange(65_500, 65_600);
+        bitmap.addRange(130_000, 200_000);
+        bitmap.addRange(5, 5);
+        assertEquals(100 + 70_000, bitmap.cardinality());
+        assertTrue(bitmap.contains(65_535));
+        assertTrue(bitmap.contains(65_536));
+        assertFalse(bitmap.contains(65_600));
+        assertTrue(bitmap.contains(199_999));
+        assertFalse(bitmap.contains(200_000));
+        assertThrows(IllegalArgumentException.class, () -> bitmap.addRange(10, 5));
+        assertThrows(IllegalArgumentException.class, () -> bitmap.add(-1));
+    }
+
+    @Test
+    void matchesTreeSetUnderRandomOperations() {
+        Random random = new Random(34);
+        for (int round = 0; round < 20; round++) {
+            // narrow universes make dense chunks, wide ones sparse chunks
+            int universe = round % 2 == 0 ? 200_000 : 5_000_000;
+            TreeSet<Integer> refA = new TreeSet<>(), refB = new TreeSet<>();
+            CompressedBitmap a = new CompressedBitmap(), b = new CompressedBitmap();
+            for (int i = 0; i < 30_000; i++) {
+                int v = random.nextInt(universe);
+                switch (random.nextInt(4)) {
+                    case 0 -> { assertEquals(refA.add(v), a.add(v)); }
+                    case 1 -> { assertEquals(refB.add(v), b.add(v)); }
+                    case 2 -> { assertEquals(refA.remove(v), a.remove(v)); }
+                    default -> {
+                        int to = Math.min(universe, v + random.nextInt(3_000));
+                        b.addRange(v, to);
+                        for (int x = v; x < to; x++) refB.add(x);
+                    }
+                }
+            }
+            assertEquals(List.copyOf(refA), values(a));
+            assertEquals(List.copyOf(refB), values(b));
+
+            TreeSet<Integer> and = new TreeSet<>(refA);
+            and.retainAll(refB);
+            TreeSet<Integer> andNot = new TreeSet<>(refA);
+            andNot.removeAll(refB);
+            TreeSet<Integer> or = new TreeSet<>(refA);
+            or.addAll(refB);
+            assertEquals(List.copyOf(and), values(a.and(b)));
+            assertEquals(and.size(), a.andCardinality(b));
+            assertEquals(and.size(), b.andCardinality(a));
+            assertEquals(List.copyOf(andNot), values(a.andNot(b)));
+            assertEquals(List.copyOf(or), values(a.or(b)));
+            assertEquals(List.copyOf(refA), values(a.copy()));
+        }
+    }
+
+    private static List<Integer> values(CompressedBitmap bitmap) {
+        List<Integer> values = new ArrayList<>();
+        bitmap.forEach(values::add);
+        assertEquals(values.size(), bitmap.cardinality());
+        return values;
+    }
+}
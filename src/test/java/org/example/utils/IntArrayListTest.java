@@ -0,0 +1,37 @@
+package org.example.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntArrayListTest {
+
+    @Test
+    void growsFromZeroCapacity() {
+        IntArrayList list = new IntArrayList(0);
+        for (int i = 0; i < 100; i++) list.add(i);
+        assertEquals(100, list.size());
+        assertEquals(99, list.get(99));
+        assertEquals(4_950, list.stream().sum());
+    }
+
+    @Test
+    void checksIndexesAgainstSizeNotCapacity() {
+        IntArrayList list = new IntArrayList(16);
+        list.add(1);
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.set(1, 2));
+    }
+
+    @Test
+    void removeLastAndSort() {
+        IntArrayList list = IntArrayList.of(5, 3, 9, 1);
+        assertEquals(1, list.removeLast());
+        list.sort();
+        assertArrayEquals(new int[]{3, 5, 9}, list.toArray());
+        assertEquals(1, list.indexOf(5));
+        assertFalse(list.contains(1));
+        list.clear();
+        assertThrows(IllegalStateException.class, list::removeLast);
+    }
+}
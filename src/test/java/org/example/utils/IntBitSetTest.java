@@ -0,0 +1,35 @@
+package org.example.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntBitSetTest {
+
+    @Test
+    void tracksCardinalityAndGrows() {
+        IntBitSet set = new IntBitSet(10);
+        assertTrue(set.add(3));
+        assertFalse(set.add(3));
+        assertTrue(set.add(1_000));
+        assertEquals(2, set.size());
+        assertTrue(set.contains(1_000));
+        assertFalse(set.contains(999));
+        assertFalse(set.contains(-1));
+        assertTrue(set.remove(3));
+        assertFalse(set.remove(3));
+        assertEquals(1, set.size());
+    }
+
+    @Test
+    void visitsValuesInAscendingOrder() {
+        IntBitSet set = new IntBitSet();
+        for (int v : new int[]{130, 5, 64, 63, 0}) set.add(v);
+        assertArrayEquals(new int[]{0, 5, 63, 64, 130}, set.toArray());
+    }
+
+    @Test
+    void rejectsNegativeValues() {
+        assertThrows(IllegalArgumentException.class, () -> new IntBitSet().add(-1));
+    }
+}
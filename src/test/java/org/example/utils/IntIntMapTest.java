@@ -0,0 +1,94 @@
+package org.example.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntIntMapTest {
+
+    @Test
+    void putGetAndRemove() {
+        IntIntMap map = new IntIntMap();
+        assertEquals(-1, map.put(7, 70, -1));
+        assertEquals(70, map.put(7, 71, -1));
+        assertEquals(71, map.get(7, -1));
+        assertEquals(-1, map.get(8, -1));
+        assertEquals(71, map.remove(7, -1));
+        assertEquals(-1, map.remove(7, -1));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    void zeroKeyIsStoredOutsideTheTable() {
+        IntIntMap map = new IntIntMap();
+        assertFalse(map.containsKey(0));
+        map.put(0, 5);
+        assertTrue(map.containsKey(0));
+        assertEquals(5, map.get(0, -1));
+        assertEquals(1, map.size());
+        assertEquals(5, map.remove(0, -1));
+        assertFalse(map.containsKey(0));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    void removeShiftsBackCollidingKeysAcrossTheTableEnd() {
+        // Expected size 4 gives a table of 8 slots; all keys below share the last home slot,
+        // so the cluster wraps around to the start of the table.
+        IntIntMap map = new IntIntMap(4);
+        int[] cluster = keysWithHome(7, 8, 3);
+        for (int key : cluster) map.put(key, key * 10);
+
+        map.remove(cluster[0], -1);
+        assertFalse(map.containsKey(cluster[0]));
+        assertEquals(cluster[1] * 10, map.get(cluster[1], -1));
+        assertEquals(cluster[2] * 10, map.get(cluster[2], -1));
+
+        map.remove(cluster[1], -1);
+        assertEquals(cluster[2] * 10, map.get(cluster[2], -1));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void addToAccumulates() {
+        IntIntMap map = new IntIntMap();
+        assertEquals(3, map.addTo(42, 3));
+        assertEquals(1, map.addTo(42, -2));
+        assertEquals(1, map.get(42, 0));
+    }
+
+    @Test
+    void matchesHashMapUnderRandomOperations() {
+        Random random = new Random(27);
+        IntIntMap map = new IntIntMap();
+        Map<Integer, Integer> reference = new HashMap<>();
+        for (int i = 0; i < 200_000; i++) {
+            int key = random.nextInt(2_000) - 1_000;
+            if (random.nextInt(3) == 0) {
+                assertEquals(reference.getOrDefault(key, -1), map.remove(key, -1));
+                reference.remove(key);
+            } else {
+                int value = random.nextInt();
+                assertEquals(reference.getOrDefault(key, -1), map.put(key, value, -1));
+                reference.put(key, value);
+            }
+        }
+        assertEquals(reference.size(), map.size());
+        Map<Integer, Integer> visited = new HashMap<>();
+        map.forEach(visited::put);
+        assertEquals(reference, visited);
+    }
+
+    static int[] keysWithHome(int home, int capacity, int count) {
+        int[] keys = new int[count];
+        int found = 0;
+        for (int key = 1; found < count; key++) {
+            if ((IntHashing.mix(key) & (capacity - 1)) == home) keys[found++] = key;
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,75 @@
+package org.example.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntKeyedSetTest {
+
+    private record Item(int id, String name) {
+    }
+
+    @Test
+    void keepsInsertionOrderAndRejectsDuplicateKeys() {
+        IntKeyedSet<Item> set = new IntKeyedSet<>(Item::id);
+        assertTrue(set.add(new Item(3, "c")));
+        assertTrue(set.add(new Item(1, "a")));
+        assertFalse(set.add(new Item(3, "other")));
+        assertEquals(List.of(new Item(3, "c"), new Item(1, "a")), new ArrayList<>(set));
+        assertEquals(new Item(1, "a"), set.get(1));
+        assertNull(set.get(2));
+    }
+
+    @Test
+    void containsAndRemoveRequireAnEqualElement() {
+        IntKeyedSet<Item> set = new IntKeyedSet<>(Item::id);
+        set.add(new Item(1, "a"));
+        assertFalse(set.contains(new Item(1, "b")));
+        assertFalse(set.remove(new Item(1, "b")));
+        assertFalse(set.contains("not an item"));
+        assertTrue(set.remove(new Item(1, "a")));
+        assertTrue(set.isEmpty());
+    }
+
+    @Test
+    void iteratorRemoveAndFailFast() {
+        IntKeyedSet<Item> set = new IntKeyedSet<>(Item::id);
+        for (int i = 0; i < 10; i++) set.add(new Item(i, "n" + i));
+        for (Iterator<Item> it = set.iterator(); it.hasNext(); ) {
+            if (it.next().id() % 2 == 0) it.remove();
+        }
+        assertEquals(5, set.size());
+        assertEquals(List.of(1, 3, 5, 7, 9), set.stream().map(Item::id).toList());
+
+        Iterator<Item> it = set.iterator();
+        it.next();
+        set.add(new Item(42, "x"));
+        assertThrows(ConcurrentModificationException.class, it::next);
+    }
+
+    @Test
+    void matchesLinkedHashMapAcrossCompactions() {
+        Random random = new Random(27);
+        IntKeyedSet<Item> set = new IntKeyedSet<>(Item::id, 0);
+        Map<Integer, Item> reference = new LinkedHashMap<>();
+        for (int i = 0; i < 50_000; i++) {
+            int id = random.nextInt(500);
+            if (random.nextBoolean()) {
+                Item item = new Item(id, "n" + id);
+                assertEquals(reference.putIfAbsent(id, item) == null, set.add(item));
+            } else {
+                assertEquals(reference.remove(id) != null, set.remove(new Item(id, "n" + id)));
+            }
+        }
+        assertEquals(new ArrayList<>(reference.values()), new ArrayList<>(set));
+        for (Item item : reference.values()) assertSame(reference.get(item.id()), set.get(item.id()));
+    }
+}
@@ -0,0 +1,63 @@
+package org.example.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntObjectMapTest {
+
+    @Test
+    void rejectsNullValues() {
+        assertThrows(NullPointerException.class, () -> new IntObjectMap<String>().put(1, null));
+    }
+
+    @Test
+    void zeroKeyIsStoredOutsideTheTable() {
+        IntObjectMap<String> map = new IntObjectMap<>();
+        assertNull(map.put(0, "zero"));
+        assertEquals("zero", map.get(0));
+        assertEquals(1, map.size());
+        assertEquals("zero", map.remove(0));
+        assertNull(map.get(0));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    void removeShiftsBackCollidingKeysAcrossTheTableEnd() {
+        IntObjectMap<String> map = new IntObjectMap<>(4);
+        int[] cluster = IntIntMapTest.keysWithHome(7, 8, 3);
+        for (int key : cluster) map.put(key, "v" + key);
+
+        assertEquals("v" + cluster[0], map.remove(cluster[0]));
+        assertEquals("v" + cluster[1], map.get(cluster[1]));
+        assertEquals("v" + cluster[2], map.get(cluster[2]));
+        assertEquals("v" + cluster[2], map.remove(cluster[2]));
+        assertEquals("v" + cluster[1], map.get(cluster[1]));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void matchesHashMapUnderRandomOperations() {
+        Random random = new Random(27);
+        IntObjectMap<Integer> map = new IntObjectMap<>();
+        Map<Integer, Integer> reference = new HashMap<>();
+        for (int i = 0; i < 200_000; i++) {
+            int key = random.nextInt(2_000) - 1_000;
+            if (random.nextInt(3) == 0) {
+                assertEquals(reference.remove(key), map.remove(key));
+            } else {
+                Integer value = random.nextInt();
+                assertEquals(reference.put(key, value), map.put(key, value));
+            }
+        }
+        assertEquals(reference.size(), map.size());
+        Map<Integer, Integer> visited = new HashMap<>();
+        map.forEach(visited::put);
+        assertEquals(reference, visited);
+        assertEquals(reference.size(), map.values().size());
+    }
+}
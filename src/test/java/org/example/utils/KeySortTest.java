@@ -0,0 +1,86 @@
+package org.example.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeySortTest {
+
+    private record Row(int id, int group, double score, String name) {
+    }
+
+    private static final Comparator<Row> ORDER = Comparator.comparingInt(Row::group)
+            .thenComparing(Comparator.comparingDouble(Row::score).reversed())
+            .thenComparing(Row::name);
+
+    @Test
+    void sortMatchesStableComparatorSort() {
+        List<Row> rows = rows(5_000, new Random(29));
+        List<Row> expected = new ArrayList<>(rows);
+        expected.sort(ORDER);
+
+        List<Row> sorted = KeySort.of(rows).byInt(Row::group).byDoubleDescending(Row::score).by(Row::name).sort();
+        assertEquals(expected, sorted);
+    }
+
+    @Test
+    void equalKeysKeepInputOrder() {
+        List<Row> rows = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) rows.add(new Row(i, i % 3, 1.0, "same"));
+        List<Row> sorted = KeySort.of(rows).byIntDescending(Row::group).sort();
+        for (int i = 1; i < sorted.size(); i++) {
+            Row a = sorted.get(i - 1), b = sorted.get(i);
+            if (a.group() == b.group()) assertTrue(a.id() < b.id(), "unstable at " + i);
+            else assertTrue(a.group() > b.group());
+        }
+    }
+
+    @Test
+    void doubleKeysFollowDoubleCompare() {
+        double[] values = {3.5, -0.0, 0.0, Double.NaN, -7.25, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, 3.5};
+        List<Double> input = new ArrayList<>();
+        for (double v : values) input.add(v);
+        List<Double> expected = new ArrayList<>(input);
+        expected.sort(Double::compare);
+        assertEquals(expected, KeySort.of(input).byDouble(Double::doubleValue).sort());
+    }
+
+    @Test
+    void intKeysHandleExtremes() {
+        List<Integer> input = List.of(0, Integer.MIN_VALUE, -1, Integer.MAX_VALUE, 1);
+        assertEquals(List.of(Integer.MIN_VALUE, -1, 0, 1, Integer.MAX_VALUE),
+                KeySort.of(input).byInt(Integer::intValue).sort());
+        assertEquals(List.of(Integer.MAX_VALUE, 1, 0, -1, Integer.MIN_VALUE),
+                KeySort.of(input).byIntDescending(Integer::intValue).sort());
+    }
+
+    @Test
+    void topMatchesPrefixOfSortForHeapAndSortPaths() {
+        List<Row> rows = rows(2_000, new Random(7));
+        List<Row> full = KeySort.of(rows).byInt(Row::group).byDoubleDescending(Row::score).sort();
+        for (int k : new int[]{0, 1, 10, 100, 499, 500, 1_999, 2_000, 5_000}) {
+            assertEquals(full.subList(0, Math.min(k, full.size())),
+                    KeySort.of(rows).byInt(Row::group).byDoubleDescending(Row::score).top(k), "k=" + k);
+        }
+        assertThrows(IllegalArgumentException.class, () -> KeySort.of(rows).byInt(Row::id).top(-1));
+    }
+
+    @Test
+    void emptyInput() {
+        assertEquals(List.of(), KeySort.of(List.<Row>of()).byInt(Row::id).sort());
+        assertEquals(List.of(), KeySort.of(List.<Row>of()).byInt(Row::id).top(3));
+    }
+
+    private static List<Row> rows(int n, Random random) {
+        List<Row> rows = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            rows.add(new Row(i, random.nextInt(20) - 10, random.nextInt(50) / 4.0, "n" + random.nextInt(100)));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TinyLfuCacheTest {
+
+    private static final Duration HOUR = Duration.ofHours(1);
+
+    @Test
+    void neverExceedsMaximumSize() {
+        TinyLfuCache<Integer, String> cache = new TinyLfuCache<>(100, HOUR);
+        for (int i = 0; i < 10_000; i++) {
+            cache.get(i, v -> true, k -> "v" + k);
+            assertTrue(cache.size() <= 100);
+        }
+        assertEquals(100, cache.size());
+        assertEquals(9_900, cache.stats().evictions());
+    }
+
+    @Test
+    void frequentKeysSurviveAScanOfOneHitKeys() {
+        TinyLfuCache<Integer, String> cache = new TinyLfuCache<>(100, HOUR);
+        for (int round = 0; round < 10; round++) {
+            for (int hot = 0; hot < 50; hot++) cache.get(hot, v -> true, k -> "v" + k);
+        }
+        for (int cold = 1_000; cold < 21_000; cold++) cache.get(cold, v -> true, k -> "v" + k);
+
+        AtomicInteger reloads = new AtomicInteger();
+        for (int hot = 0; hot < 50; hot++) {
+            cache.get(hot, v -> true, k -> {
+                reloads.incrementAndGet();
+                return "v" + k;
+            });
+        }
+        assertTrue(reloads.get() <= 2, "hot keys evicted by a scan: " + reloads.get());
+    }
+
+    @Test
+    void entriesExpireAfterWrite() {
+        AtomicLong now = new AtomicLong();
+        TinyLfuCache<String, Integer> cache = new TinyLfuCache<>(10, Duration.ofSeconds(5), now::get);
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("a", v -> true, k -> loads.incrementAndGet());
+        now.addAndGet(Duration.ofSeconds(4).toNanos());
+        assertEquals(1, cache.get("a", v -> true, k -> loads.incrementAndGet()));
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertEquals(2, cache.get("a", v -> true, k -> loads.incrementAndGet()));
+
+        TinyLfuCache.Stats stats = cache.stats();
+        assertEquals(1, stats.hits());
+        assertEquals(2, stats.misses());
+        assertEquals(1, stats.expirations());
+    }
+
+    @Test
+    void staleValuesAreReloaded() {
+        TinyLfuCache<String, Integer> cache = new TinyLfuCache<>(10, HOUR);
+        AtomicInteger version = new AtomicInteger(1);
+        assertEquals(1, cache.get("k", v -> v == version.get(), k -> version.get()));
+        version.set(2);
+        assertEquals(2, cache.get("k", v -> v == version.get(), k -> version.get()));
+        assertEquals(2, cache.get("k", v -> v == version.get(), k -> -1));
+        assertEquals(1, cache.stats().invalidations());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void invalidateAndArgumentChecks() {
+        TinyLfuCache<String, String> cache = new TinyLfuCache<>(10, HOUR);
+        cache.get("k", v -> true, k -> "one");
+        cache.invalidate("k");
+        cache.invalidate("missing");
+        assertEquals("two", cache.get("k", v -> true, k -> "two"));
+        assertThrows(NullPointerException.class, () -> cache.get("x", v -> true, k -> null));
+        assertThrows(IllegalArgumentException.class, () -> new TinyLfuCache<>(0, HOUR));
+        assertThrows(IllegalArgumentException.class, () -> new TinyLfuCache<>(1, Duration.ZERO));
+    }
+}